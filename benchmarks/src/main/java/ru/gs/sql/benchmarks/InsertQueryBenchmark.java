@@ -0,0 +1,92 @@
+package ru.gs.sql.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+/**
+ * Throughput of building and rendering INSERT statements with mixed value types.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InsertQueryBenchmark {
+
+    private static final String[] FIELD_NAMES = new String[]{"id", "name", "family", "salary", "birth", "hired"};
+
+    @Param({"6", "24"})
+    public int valueCount;
+
+    private List<String> fieldNames;
+    private List<Object> values;
+
+    @Setup
+    public void setUp() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2011, Calendar.SEPTEMBER, 15, 0, 22, 13);
+        calendar.set(Calendar.MILLISECOND, 870);
+        Date date = calendar.getTime();
+
+        fieldNames = new ArrayList<String>();
+        values = new ArrayList<Object>();
+        for (int i = 0; i < valueCount; i++) {
+            fieldNames.add(FIELD_NAMES[i % FIELD_NAMES.length] + i);
+            switch (i % FIELD_NAMES.length) {
+                case 0:
+                    values.add(Long.valueOf(12345678912345L + i));
+                    break;
+                case 1:
+                    values.add("Ivan");
+                    break;
+                case 2:
+                    values.add("Petrov");
+                    break;
+                case 3:
+                    values.add(Integer.valueOf(1500 + i));
+                    break;
+                default:
+                    values.add(date);
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public String fieldNameListAndValues() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.addInsertableFieldNames(fieldNames);
+        query.addValues(values);
+        return query.getQueryString();
+    }
+
+    @Benchmark
+    public String incrementalFieldNamesAndValues() throws SQLCreationException {
+        InsertQuery query = new InsertQuery();
+        query.addTableName("employee");
+        query.startAddingInsertableFieldNames();
+        for (String name : fieldNames) {
+            query.addInsertableFieldName(name);
+        }
+        query.stopAddingInsertableFieldNames();
+        query.addValues(values);
+        return query.getQueryString();
+    }
+}
@@ -0,0 +1,95 @@
+package ru.gs.sql.benchmarks;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.QueryTemplate;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.WildcardPosition;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+/**
+ * Throughput of building and rendering typical SELECT statements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectQueryBenchmark {
+
+    private Date birth;
+    private QueryTemplate predicateChainTemplate;
+
+    @Setup
+    public void setUp() throws SQLCreationException {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2011, Calendar.SEPTEMBER, 15, 0, 22, 13);
+        calendar.set(Calendar.MILLISECOND, 870);
+        birth = calendar.getTime();
+
+        SelectQuery query = new SelectQuery();
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addField("id").addField("name").addField("family").addField("sex").addField("birth");
+        query.addFrom("employee");
+        query.addWhere();
+        query.isEquals("department", "");
+        query.andIsEquals("sex", "");
+        query.andBetween("age", 0, 0);
+        query.andLike("family", "", '%', WildcardPosition.AT_END);
+        query.orNotLike("name", "");
+        predicateChainTemplate = query.compileTemplate();
+    }
+
+    @Benchmark
+    public String simpleEquals() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addField("name").addField("family");
+        query.addFrom("employee");
+        query.addWhere();
+        query.isEquals("id", 143L);
+        return query.getQueryString();
+    }
+
+    @Benchmark
+    public String predicateChain() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addField("name").addField("family").addField("sex").addField("birth");
+        query.addFrom("employee");
+        query.addWhere();
+        query.isEquals("department", "Sales");
+        query.andIsEquals("sex", "M");
+        query.andBetween("age", 18, 65);
+        query.andLike("family", "Petr", '%', WildcardPosition.AT_END);
+        query.orNotLike("name", "Ivan");
+        return query.getQueryString();
+    }
+
+    @Benchmark
+    public String predicateChainTemplate() {
+        return predicateChainTemplate.render("Sales", "M", 18, 65, "Petr%", "Ivan");
+    }
+
+    @Benchmark
+    public String dateBetween() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addField("name");
+        query.addFrom("employee");
+        query.addWhere();
+        query.between("birth", birth, birth);
+        query.andNotBetween("hired", birth, birth);
+        return query.getQueryString();
+    }
+}
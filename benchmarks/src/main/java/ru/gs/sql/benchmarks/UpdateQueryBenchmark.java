@@ -0,0 +1,59 @@
+package ru.gs.sql.benchmarks;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.gs.sql.UpdateQuery;
+
+/**
+ * Throughput of building and rendering UPDATE statements, including Date values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UpdateQueryBenchmark {
+
+    private Date birth;
+
+    @Setup
+    public void setUp() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2011, Calendar.SEPTEMBER, 15, 0, 22, 13);
+        calendar.set(Calendar.MILLISECOND, 870);
+        birth = calendar.getTime();
+    }
+
+    @Benchmark
+    public String mixedSet() {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.addSet("name", "Anton");
+        query.addSet("age", 45);
+        query.addSet("salary", 12345678912345L);
+        query.addSet("birth", birth);
+        return query.getQueryString();
+    }
+
+    @Benchmark
+    public String dateHeavySet() {
+        UpdateQuery query = new UpdateQuery();
+        query.addTableName("employee").addSet();
+        query.addSet("birth", birth);
+        query.addSet("hired", birth);
+        query.addSet("fired", birth);
+        query.addSet("updated", birth);
+        return query.getQueryString();
+    }
+}
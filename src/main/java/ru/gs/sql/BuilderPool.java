@@ -0,0 +1,77 @@
+package ru.gs.sql;
+
+/**
+ * Per-thread pool of the StringBuilders queries are rendered into. A query
+ * takes the builder of the current thread, renders into it, copies the text
+ * into the result String and gives the builder back, so in steady state
+ * rendering allocates nothing but the result and the builder is not grown
+ * again.<br><br>
+ *
+ * Builders that grew beyond the maximum capacity are not kept, so one huge
+ * statement does not pin a huge buffer to the thread. Nested rendering on
+ * one thread gets a fresh builder. Threads that render rarely, like virtual
+ * threads created per task, gain nothing from the pool; set the maximum
+ * capacity to 0 to turn it off.
+ */
+public final class BuilderPool {
+
+    /**
+     * Default maximum capacity of a kept builder, in chars.
+     */
+    public static final int DEFAULT_MAX_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> POOLED = new ThreadLocal<StringBuilder>();
+    private static volatile int maxCapacity = DEFAULT_MAX_CAPACITY;
+
+    private BuilderPool() {
+    }
+
+    /**
+     * @return Maximum capacity of a builder that is kept for reuse, in chars
+     */
+    public static int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * @param maxCapacity Maximum capacity of a builder that is kept for
+     * reuse, in chars, 0 to turn pooling off
+     * @throws IllegalArgumentException When maxCapacity is negative
+     */
+    public static void setMaxCapacity(int maxCapacity) {
+        if (maxCapacity < 0) {
+            throw new IllegalArgumentException("Maximum capacity cannot be negative");
+        }
+        BuilderPool.maxCapacity = maxCapacity;
+        if (maxCapacity == 0) {
+            POOLED.remove();
+        }
+    }
+
+    /**
+     * @param minimumCapacity Expected length of the text
+     * @return Empty builder of the current thread, or a new one when it is
+     * in use or pooling is off
+     */
+    static StringBuilder acquire(int minimumCapacity) {
+        StringBuilder builder = POOLED.get();
+        if (builder == null) {
+            return new StringBuilder(Math.max(16, minimumCapacity));
+        }
+        POOLED.set(null);
+        builder.ensureCapacity(minimumCapacity);
+        return builder;
+    }
+
+    /**
+     * Gives the builder back to the current thread, if it is not too big.
+     *
+     * @param builder Builder taken with acquire(), it must not be used afterwards
+     */
+    static void release(StringBuilder builder) {
+        if (builder.capacity() <= maxCapacity) {
+            builder.setLength(0);
+            POOLED.set(builder);
+        }
+    }
+}
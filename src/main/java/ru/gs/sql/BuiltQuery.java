@@ -0,0 +1,68 @@
+package ru.gs.sql;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable finished query: SQL text and its parameters. The hash code is
+ * computed once, so built queries are cheap HashMap keys and set elements.
+ * Two built queries are equal when their text and parameters are equal.
+ *
+ * @see CommonQuery#build()
+ */
+public final class BuiltQuery implements Query {
+
+    private final String queryString;
+    private final List<QueryParameter> parameters;
+    private int hash;
+
+    BuiltQuery(String queryString, List<QueryParameter> parameters) {
+        this.queryString = queryString;
+        this.parameters = parameters.isEmpty()
+                ? Collections.<QueryParameter>emptyList()
+                : Collections.unmodifiableList(parameters);
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+
+    public List<QueryParameter> getParameters() {
+        return parameters;
+    }
+
+    public void writeTo(Appendable out) throws IOException {
+        out.append(queryString);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof BuiltQuery) {
+            BuiltQuery other = (BuiltQuery) obj;
+            return hashCode() == other.hashCode()
+                    && queryString.equals(other.queryString)
+                    && parameters.equals(other.parameters);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * queryString.hashCode() + parameters.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return queryString;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.gs.sql;
+
+/**
+ * Data file format of a bulk loader, written by BulkLoadWriter.
+ *
+ * @see BulkLoadWriter
+ */
+public enum BulkLoadFormat {
+
+    /**
+     * PostgreSQL COPY text format: fields separated by tabs, NULL as <b>\N</b>,
+     * backslash, tab, CR and LF escaped with backslash.
+     */
+    COPY_TEXT,
+    /**
+     * PostgreSQL COPY CSV format: fields separated by commas, NULL as an empty
+     * unquoted field, fields with commas, quotes or line breaks and empty
+     * strings in double quotes.
+     */
+    COPY_CSV,
+    /**
+     * MySQL LOAD DATA default format: fields separated by tabs, NULL as
+     * <b>\N</b>, backslash, tab, CR, LF and NUL escaped with backslash.
+     */
+    LOAD_DATA
+}
@@ -0,0 +1,409 @@
+package ru.gs.sql;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import ru.gs.sql.dialect.Dialect;
+
+/**
+ * Writes rows of an InsertQuery as a data file of a native bulk loader,
+ * PostgreSQL COPY or MySQL LOAD DATA, and renders the statement that loads
+ * it. Loaders parse such files much faster than INSERT statements.<br><br>
+ *
+ * Values are written like literals of the query: dates and times in its
+ * <b>dateTimeFormat</b>, BigDecimal without exponent, enums by name, other
+ * objects by toString(). Null is written as the NULL marker of the format.
+ * Each row is collected in a reusable buffer and then appended to the
+ * StatementWriter, so any number of rows is written in constant memory.<br><br>
+ *
+ * Example:<br>
+ * InsertQuery query = new InsertQuery("employee");<br>
+ * query.addInsertableFieldNames(new String[]{"name", "hired"});<br>
+ * StatementWriter out = new StatementWriter(FileChannel.open(path, WRITE, CREATE));<br>
+ * BulkLoadWriter writer = new BulkLoadWriter(query, BulkLoadFormat.COPY_CSV, out);<br>
+ * for (...) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;writer.writeRow(row);<br>
+ * }<br>
+ * writer.close();<br>
+ * String statement = writer.getLoadStatement(null);<br><br>
+ *
+ * Result:<br>
+ * COPY employee (name,hired) FROM STDIN WITH (FORMAT csv, ENCODING 'UTF8')<br><br>
+ *
+ * Instances are not thread safe.
+ *
+ * @see BulkLoadFormat
+ */
+public class BulkLoadWriter implements Flushable, Closeable {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final InsertQuery query;
+    private final BulkLoadFormat format;
+    private final StatementWriter out;
+    private final char separator;
+    private final StringBuilder row = new StringBuilder(256);
+    private final StringBuilder text = new StringBuilder(64);
+    private long rowCount;
+
+    /**
+     * @param query Query with table name and insertable field names, its
+     * dateTimeFormat is used for values and its dialect for identifiers of
+     * the load statement
+     * @param format Data file format
+     * @param out Target for the data file
+     */
+    public BulkLoadWriter(InsertQuery query, BulkLoadFormat format, StatementWriter out) {
+        if (query == null || format == null || out == null) {
+            throw new IllegalArgumentException("Query, format and output cannot be null");
+        }
+        this.query = query;
+        this.format = format;
+        this.out = out;
+        this.separator = format == BulkLoadFormat.COPY_CSV ? ',' : '\t';
+    }
+
+    /**
+     * @return Data file format
+     */
+    public BulkLoadFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @return Number of rows written so far
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Renders the statement that loads the data file into the query table,
+     * for the charset of the StatementWriter, UTF-8 when it writes chars.<br><br>
+     *
+     * Example:<br>
+     * writer.getLoadStatement("/tmp/employee.txt");<br><br>
+     *
+     * Result:<br>
+     * COPY_TEXT: COPY employee (name,hired) FROM '/tmp/employee.txt' WITH (ENCODING 'UTF8')<br>
+     * COPY_CSV: COPY employee (name,hired) FROM '/tmp/employee.txt' WITH (FORMAT csv, ENCODING 'UTF8')<br>
+     * LOAD_DATA: LOAD DATA LOCAL INFILE '/tmp/employee.txt' INTO TABLE employee CHARACTER SET utf8mb4 (name,hired)
+     *
+     * @param fileName Data file name; null for COPY FROM STDIN, for example
+     * with the CopyManager of the PostgreSQL driver
+     * @return Load statement
+     * @throws IllegalArgumentException When fileName is null for LOAD_DATA,
+     * or the loader has no name for the charset
+     * @see #getLoadStatement(String, Charset)
+     */
+    public String getLoadStatement(String fileName) {
+        Charset charset = out.getCharset();
+        return getLoadStatement(fileName, charset == null ? StandardCharsets.UTF_8 : charset);
+    }
+
+    /**
+     * Renders the statement that loads the data file into the query table.
+     * The file name is quoted by the rules of the loading engine, whatever
+     * the dialect of the query is.
+     *
+     * @param fileName Data file name; null for COPY FROM STDIN
+     * @param charset Charset the data file is encoded with: UTF-8,
+     * ISO-8859-1, US-ASCII, windows-1251, windows-1252 or KOI8-R
+     * @return Load statement
+     * @throws IllegalArgumentException When fileName is null for LOAD_DATA,
+     * or the loader has no name for the charset
+     * @see #getLoadStatement(String)
+     */
+    public String getLoadStatement(String fileName, Charset charset) {
+        StringBuilder statement = new StringBuilder(64);
+        if (format == BulkLoadFormat.LOAD_DATA) {
+            if (fileName == null) {
+                throw new IllegalArgumentException("LOAD DATA needs a file name");
+            }
+            statement.append("LOAD DATA LOCAL INFILE ");
+            Dialect.MYSQL.appendStringLiteral(statement, fileName);
+            statement.append(" INTO TABLE");
+            query.appendTableName(statement);
+            statement.append(" CHARACTER SET ").append(charsetName(charset, true));
+            query.appendFieldNames(statement);
+            return statement.toString();
+        }
+        statement.append("COPY");
+        query.appendTableName(statement);
+        query.appendFieldNames(statement);
+        if (fileName == null) {
+            statement.append(" FROM STDIN");
+        } else {
+            statement.append(" FROM ");
+            Dialect.POSTGRESQL.appendStringLiteral(statement, fileName);
+        }
+        statement.append(format == BulkLoadFormat.COPY_CSV ? " WITH (FORMAT csv, " : " WITH (");
+        statement.append("ENCODING '").append(charsetName(charset, false)).append("')");
+        return statement.toString();
+    }
+
+    /**
+     * @return Name of charset in MySQL or in PostgreSQL
+     */
+    private static String charsetName(Charset charset, boolean mysql) {
+        switch (charset.name()) {
+            case "UTF-8":
+                return mysql ? "utf8mb4" : "UTF8";
+            case "ISO-8859-1":
+                return mysql ? "latin1" : "LATIN1";
+            case "US-ASCII":
+                return mysql ? "ascii" : "SQL_ASCII";
+            case "windows-1251":
+                return mysql ? "cp1251" : "WIN1251";
+            case "windows-1252":
+                return mysql ? "latin1" : "WIN1252";
+            case "KOI8-R":
+                return mysql ? "koi8r" : "KOI8R";
+            default:
+                throw new IllegalArgumentException("Charset " + charset.name() + " cannot be used for bulk loads");
+        }
+    }
+
+    /**
+     * Writes the rows added to the query by addRow methods, or its VALUES
+     * when there are no rows. Together with InsertQuery.clearRows() it
+     * allows to fill the query in portions.
+     *
+     * @return This writer
+     * @throws IOException When the output fails
+     * @throws IllegalArgumentException When a value cannot be written in the format
+     */
+    public BulkLoadWriter writeRows() throws IOException {
+        List<Object> rows = query.getRowValues();
+        for (int i = 0; i < rows.size(); i++) {
+            Object values = rows.get(i);
+            if (values instanceof long[]) {
+                writeRow((long[]) values);
+            } else if (values instanceof int[]) {
+                writeRow((int[]) values);
+            } else {
+                writeRow((Object[]) values);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param values Values in insertable field names order
+     * @return This writer
+     * @throws IOException When the output fails
+     * @throws IllegalArgumentException When the number of values differs from
+     * the number of field names, or a value cannot be written in the format
+     */
+    public BulkLoadWriter writeRow(List<Object> values) throws IOException {
+        return writeRow(values.toArray());
+    }
+
+    /**
+     * @param values Values in insertable field names order
+     * @return This writer
+     * @throws IOException When the output fails
+     * @throws IllegalArgumentException When the number of values differs from
+     * the number of field names, or a value cannot be written in the format
+     */
+    public BulkLoadWriter writeRow(Object[] values) throws IOException {
+        checkLength(values.length);
+        row.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(separator);
+            }
+            appendValue(values[i]);
+        }
+        return endRow();
+    }
+
+    /**
+     * Writes a row of int values without boxing.
+     *
+     * @param values Values in insertable field names order
+     * @return This writer
+     * @throws IOException When the output fails
+     * @throws IllegalArgumentException When the number of values differs from
+     * the number of field names
+     */
+    public BulkLoadWriter writeRow(int[] values) throws IOException {
+        checkLength(values.length);
+        row.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(separator);
+            }
+            row.append(values[i]);
+        }
+        return endRow();
+    }
+
+    /**
+     * Writes a row of long values without boxing.
+     *
+     * @param values Values in insertable field names order
+     * @return This writer
+     * @throws IOException When the output fails
+     * @throws IllegalArgumentException When the number of values differs from
+     * the number of field names
+     */
+    public BulkLoadWriter writeRow(long[] values) throws IOException {
+        checkLength(values.length);
+        row.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(separator);
+            }
+            row.append(values[i]);
+        }
+        return endRow();
+    }
+
+    private void checkLength(int length) {
+        int fieldCount = query.getFieldCount();
+        if (fieldCount > 0 && length != fieldCount) {
+            throw new IllegalArgumentException("Row has " + length + " values, but there are " + fieldCount + " field names");
+        }
+    }
+
+    private BulkLoadWriter endRow() throws IOException {
+        row.append('\n');
+        out.append(row);
+        rowCount++;
+        return this;
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            if (format != BulkLoadFormat.COPY_CSV) {
+                row.append("\\N");
+            }
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            row.append(((Number) value).longValue());
+        } else if (value instanceof BigDecimal) {
+            row.append(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Number) {
+            row.append(value.toString());
+        } else if (value instanceof Boolean) {
+            boolean flag = (Boolean) value;
+            if (format == BulkLoadFormat.LOAD_DATA) {
+                row.append(flag ? '1' : '0');
+            } else {
+                row.append(flag ? 't' : 'f');
+            }
+        } else if (value instanceof byte[]) {
+            appendBytes((byte[]) value);
+        } else {
+            text.setLength(0);
+            if (DateLiteralFormat.isDateValue(value)) {
+                query.dateLiteralFormat.appendTo(text, value);
+            } else if (value instanceof Enum) {
+                text.append(((Enum<?>) value).name());
+            } else if (value instanceof Object[]) {
+                throw new IllegalArgumentException("Arrays cannot be written in " + format + " format");
+            } else {
+                text.append(value.toString());
+            }
+            appendText(text);
+        }
+    }
+
+    /**
+     * Appends bytes in the hex format of bytea, <b>\x0aff</b>.
+     */
+    private void appendBytes(byte[] value) {
+        if (format == BulkLoadFormat.LOAD_DATA) {
+            throw new IllegalArgumentException("byte[] values cannot be written in LOAD_DATA format");
+        }
+        row.append(format == BulkLoadFormat.COPY_TEXT ? "\\\\x" : "\\x");
+        for (int i = 0; i < value.length; i++) {
+            row.append(HEX_DIGITS[(value[i] >> 4) & 0xF]);
+            row.append(HEX_DIGITS[value[i] & 0xF]);
+        }
+    }
+
+    private void appendText(CharSequence value) {
+        if (format == BulkLoadFormat.COPY_CSV) {
+            appendCsv(value);
+            return;
+        }
+        int length = value.length();
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            char escaped = escapeOf(value.charAt(i));
+            if (escaped != 0) {
+                row.append(value, run, i).append('\\').append(escaped);
+                run = i + 1;
+            }
+        }
+        row.append(value, run, length);
+    }
+
+    /**
+     * @return Char written after a backslash for ch, 0 if ch is written as is
+     */
+    private char escapeOf(char ch) {
+        switch (ch) {
+            case '\\':
+                return '\\';
+            case '\t':
+                return 't';
+            case '\n':
+                return 'n';
+            case '\r':
+                return 'r';
+            case '\0':
+                return format == BulkLoadFormat.LOAD_DATA ? '0' : 0;
+            default:
+                return 0;
+        }
+    }
+
+    private void appendCsv(CharSequence value) {
+        int length = value.length();
+        // An empty quoted field is an empty string, an empty unquoted one is NULL;
+        // a lone \. would end COPY FROM STDIN data.
+        boolean quoted = length == 0 || (length == 2 && value.charAt(0) == '\\' && value.charAt(1) == '.');
+        for (int i = 0; i < length && !quoted; i++) {
+            char ch = value.charAt(i);
+            quoted = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quoted) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '"') {
+                row.append(value, run, i + 1);
+                run = i;
+            }
+        }
+        row.append(value, run, length);
+        row.append('"');
+    }
+
+    /**
+     * Writes buffered data to the output.
+     *
+     * @throws IOException When the output fails
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Writes buffered data and closes the output.
+     *
+     * @throws IOException When the output fails
+     */
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -1,7 +1,11 @@
 package ru.gs.sql;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import ru.gs.sql.dialect.Dialect;
 
 /**
  * This is a common query class that extend primary query classes. It has common
@@ -13,9 +17,8 @@ import java.util.Date;
  *
  * @author APronchakov <artem.pronchakov@gmail.com>
  */
-abstract class CommonQuery {
+abstract class CommonQuery implements Query {
 
-	protected StringBuilder queryBuilder = new StringBuilder();
 	/**
 	 * Default timestamp format to represent date and time in SQL known
 	 * format.<br> You can change it by <b>setDateTimeFormat</b> method
@@ -24,39 +27,152 @@ abstract class CommonQuery {
 	 */
 	public static final String DEFAULT_SQL_DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
 	protected String dateTimeFormat = DEFAULT_SQL_DATE_TIME_FORMAT;
+	protected DateLiteralFormat dateLiteralFormat = DateLiteralFormat.forPattern(DEFAULT_SQL_DATE_TIME_FORMAT);
+	protected ParameterStyle parameterStyle = ParameterStyle.INLINE;
+	protected Dialect dialect = Dialect.ANSI;
+	protected boolean quoteIdentifiers;
+	private String queryString;
+	private ParameterList parameters;
+	private BuiltQuery builtQuery;
+	private int lengthHint;
+
+	/**
+	 * Learned ratio of rendered to estimated length per query class, in
+	 * 1/1024 units. Updated without locking, a lost update only delays
+	 * learning.
+	 */
+	private static final ClassValue<AtomicInteger> LENGTH_RATIOS = new ClassValue<AtomicInteger>() {
+		@Override
+		protected AtomicInteger computeValue(Class<?> type) {
+			return new AtomicInteger(1024);
+		}
+	};
 
 	protected boolean isStringEmptyOrNull(String string) {
 		return string == null || string.isEmpty();
 	}
 
-	protected void deleteLastCommaIFExist() {
-		char ch = queryBuilder.charAt(queryBuilder.length() - 2);
-		if (ch == ',') {
-			queryBuilder.deleteCharAt(queryBuilder.length() - 2);
-		} else {
-			ch = queryBuilder.charAt(queryBuilder.length() - 1);
-			if (ch == ',') {
-				queryBuilder.deleteCharAt(queryBuilder.length() - 1);
+	/**
+	 * Renders the whole query from its clauses in one pass. Separators and
+	 * keywords are decided by the clauses themselves, nothing is removed from
+	 * the text afterwards.
+	 *
+	 * @param builder Target for the query text
+	 * @param sink Target for parameters, with offsets of their placeholders
+	 */
+	abstract void appendQuery(StringBuilder builder, ParameterList sink);
+
+	/**
+	 * Estimates the length of the query text from the recorded clauses,
+	 * without rendering them: names are counted as they are, values by
+	 * estimateValueLength().
+	 *
+	 * @return Expected number of chars
+	 */
+	abstract int estimateLength();
+
+	/**
+	 * The query text is rendered into a builder sized once: the clause
+	 * estimate corrected by the ratio learned from earlier queries of the
+	 * same class, or the length of the previous rendering of this query if
+	 * that is more. The hint survives reset(), since a reused query usually
+	 * gets the same shape again.
+	 */
+	private void render() {
+		if (queryString == null) {
+			int estimate = estimateLength();
+			AtomicInteger ratio = LENGTH_RATIOS.get(getClass());
+			StringBuilder builder = BuilderPool.acquire(expectedLength(estimate, ratio));
+			ParameterList sink = new ParameterList();
+			appendQuery(builder, sink);
+			queryString = builder.toString();
+			parameters = sink;
+			BuilderPool.release(builder);
+			lengthHint = queryString.length();
+			if (estimate > 0) {
+				int observed = (int) Math.min(((long) lengthHint << 10) / estimate, 1 << 16);
+				int current = ratio.get();
+				ratio.set(current + (observed - current) / 8);
 			}
 		}
 	}
 
-	protected void deleteLastSpaceIFExist() {
-		char ch = queryBuilder.charAt(queryBuilder.length() - 1);
-		if (ch == ' ') {
-			queryBuilder.deleteCharAt(queryBuilder.length() - 1);
-		}
+	/**
+	 * @return Capacity for rendering the query: the corrected estimate with
+	 * some room, or the previous length if that is more
+	 */
+	private int expectedLength(int estimate, AtomicInteger ratio) {
+		int expected = (int) Math.min(((long) estimate * ratio.get()) >> 10, Integer.MAX_VALUE - 8);
+		return Math.max(expected + (expected >> 4), lengthHint);
 	}
 
 	/**
-	 * This method clean prepare query and returns it.
+	 * This method renders the query and returns it. The result is cached
+	 * until the query is changed.
 	 *
 	 * @return SQL query of class type that was used
 	 */
 	public String getQueryString() {
-		deleteLastCommaIFExist();
-		deleteLastSpaceIFExist();
-		return queryBuilder.toString();
+		render();
+		return queryString;
+	}
+
+	/**
+	 * This method returns the finished query as an immutable object with
+	 * SQL text, parameters and a cached hash code, usable as a HashMap key
+	 * or in sets. The same object is returned until the query is changed.
+	 *
+	 * @return Immutable finished query
+	 */
+	public BuiltQuery build() {
+		if (builtQuery == null) {
+			builtQuery = new BuiltQuery(getQueryString(), new ArrayList<QueryParameter>(getParameters()));
+		}
+		return builtQuery;
+	}
+
+	/**
+	 * This method removes everything added to the query, so the object can be
+	 * used to build another query of the same kind. Settings are kept: the
+	 * dialect, parameter style, date/time format and identifier quoting, and
+	 * so are the grown lists the clauses are recorded in.
+	 *
+	 * @return This query, as after the no-argument constructor
+	 */
+	public abstract CommonQuery reset();
+
+	/**
+	 * Must be called by every method that changes the query, to drop cached
+	 * results of getQueryString() and build().
+	 */
+	protected void queryChanged() {
+		queryString = null;
+		parameters = null;
+		builtQuery = null;
+	}
+
+	/**
+	 * This method writes the query to out. Use StatementWriter to write to a
+	 * Writer or a channel. A query that was not rendered yet is rendered into
+	 * the pooled builder and appended from it, without making a String; the
+	 * text is not cached then.
+	 *
+	 * @param out Target to write SQL query to
+	 * @throws IOException When out fails to append
+	 * @see StatementWriter
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		if (queryString != null) {
+			out.append(queryString);
+			return;
+		}
+		StringBuilder builder = BuilderPool.acquire(expectedLength(estimateLength(), LENGTH_RATIOS.get(getClass())));
+		try {
+			appendQuery(builder, new ParameterList());
+			out.append(builder);
+		} finally {
+			BuilderPool.release(builder);
+		}
 	}
 
 	/**
@@ -71,18 +187,134 @@ abstract class CommonQuery {
 
 	/**
 	 * This method replace current date/time format for SQL queries with one
-	 * from value
+	 * from value. The pattern is compiled once and shared by all queries
+	 * using it.
 	 *
 	 * @param dateTimeFormat New date/time format like <b>dd-MM-yyyy
 	 * HH:mm:ss</b>
+	 * @throws IllegalArgumentException When dateTimeFormat is not a valid
+	 * SimpleDateFormat pattern
 	 */
 	public void setDateTimeFormat(String dateTimeFormat) {
+		queryChanged();
+		this.dateLiteralFormat = DateLiteralFormat.forPattern(dateTimeFormat);
 		this.dateTimeFormat = dateTimeFormat;
 	}
 
 	/**
-	 * This standard method can be used to get result SQL query. It also prepare
-	 * and clean query and than returns it.
+	 * This method returns the way values are written to the query.
+	 *
+	 * @return Current parameter style, INLINE by default
+	 */
+	public ParameterStyle getParameterStyle() {
+		return parameterStyle;
+	}
+
+	/**
+	 * This method changes the way values are written to the query. With
+	 * QUESTION_MARK or NUMBERED style values are replaced by placeholders and
+	 * collected by getParameters(), so queries that differ only in values
+	 * have the same text. Applies to all values of the query.
+	 *
+	 * @param parameterStyle New parameter style
+	 * @see ParameterBinder
+	 */
+	public void setParameterStyle(ParameterStyle parameterStyle) {
+		queryChanged();
+		if (parameterStyle == null) {
+			throw new IllegalArgumentException("Parameter style cannot be null");
+		}
+		this.parameterStyle = parameterStyle;
+	}
+
+	/**
+	 * This method returns the SQL dialect the query is rendered for.
+	 *
+	 * @return Current dialect, Dialect.ANSI by default
+	 */
+	public Dialect getDialect() {
+		return dialect;
+	}
+
+	/**
+	 * This method changes the SQL dialect the query is rendered for. The
+	 * dialect decides how rows are limited, how identifiers are quoted and
+	 * how string and date literals are written.
+	 *
+	 * @param dialect New dialect, like Dialect.POSTGRESQL
+	 */
+	public void setDialect(Dialect dialect) {
+		queryChanged();
+		if (dialect == null) {
+			throw new IllegalArgumentException("Dialect cannot be null");
+		}
+		this.dialect = dialect;
+	}
+
+	/**
+	 * @return True if table and field names are quoted
+	 */
+	public boolean isQuoteIdentifiers() {
+		return quoteIdentifiers;
+	}
+
+	/**
+	 * This method turns quoting of table and field names with dialect quotes
+	 * on or off. Quoted names are case sensitive in most engines. Off by
+	 * default.
+	 *
+	 * Example:<br>
+	 * query.setDialect(Dialect.MYSQL);<br>
+	 * query.setQuoteIdentifiers(true);<br>
+	 * query.addField("name").addFrom("order");<br><br>
+	 *
+	 * Result:<br>
+	 * SELECT `name` FROM `order`
+	 *
+	 * @param quoteIdentifiers True to quote names
+	 */
+	public void setQuoteIdentifiers(boolean quoteIdentifiers) {
+		queryChanged();
+		this.quoteIdentifiers = quoteIdentifiers;
+	}
+
+	/**
+	 * This method returns values of query placeholders.
+	 *
+	 * @return Parameters in placeholder order, empty for INLINE style
+	 */
+	public List<QueryParameter> getParameters() {
+		render();
+		return Collections.unmodifiableList(parameters);
+	}
+
+	/**
+	 * This method compiles the current query into an immutable template. With
+	 * QUESTION_MARK or NUMBERED style every placeholder becomes a typed slot, so
+	 * the same query shape can be rendered again with new values in a single
+	 * pass, without building the query again. Templates can be shared between
+	 * threads.
+	 *
+	 * Example:<br>
+	 * SelectQuery query = new SelectQuery();<br>
+	 * query.setParameterStyle(ParameterStyle.QUESTION_MARK);<br>
+	 * query.addField("name").addFrom("employee").addWhere().isEquals("id", 0);<br>
+	 * QueryTemplate template = query.compileTemplate();<br>
+	 * template.render(143);<br><br>
+	 *
+	 * Result:<br>
+	 * SELECT name FROM employee WHERE id=143
+	 *
+	 * @return Template of this query
+	 * @see QueryTemplate
+	 */
+	public QueryTemplate compileTemplate() {
+		render();
+		return new QueryTemplate(queryString, parameters, parameterStyle, dateLiteralFormat, dialect);
+	}
+
+	/**
+	 * This standard method can be used to get result SQL query.
 	 *
 	 * @return Result SQL query
 	 */
@@ -91,54 +323,87 @@ abstract class CommonQuery {
 		return getQueryString();
 	}
 
-	protected void insertValueDependsOnClass(Object value) {
-		insertValueDependsOnClassNumberOrDate(value);
-		if (value instanceof String) {
-			queryBuilder.append("'");
-			queryBuilder.append(value);
-			queryBuilder.append("'");
+	protected void insertValueDependsOnClass(StringBuilder builder, Object value, ParameterList sink) {
+		if (parameterStyle != ParameterStyle.INLINE) {
+			appendParameter(builder, value, sink);
+			return;
 		}
+		appendLiteral(builder, value, dateLiteralFormat, dialect);
 	}
 
-	protected void insertValueDependsOnClassNumberOrDate(Object value) {
-		if (value instanceof Integer || value instanceof Long) {
-			queryBuilder.append(value);
-		} else if (value instanceof Date) {
-			SimpleDateFormat sdf = new SimpleDateFormat(dateTimeFormat);
-			String formatedDate = sdf.format(value);
-			queryBuilder.append("'");
-			queryBuilder.append(formatedDate);
-			queryBuilder.append("'");
+	/**
+	 * Writes a primitive value as a literal without boxing it. It is boxed
+	 * only when it becomes a parameter.
+	 */
+	void insertPrimitive(StringBuilder builder, PrimitiveType type, long bits, ParameterList sink) {
+		if (parameterStyle != ParameterStyle.INLINE) {
+			sink.add(new QueryParameter(type.box(bits), type.getSqlType()), builder.length());
+			parameterStyle.appendPlaceholder(builder, sink.size());
+			return;
 		}
+		type.appendLiteral(builder, bits, this);
 	}
 
-	protected void updateValueDependsOnClass(String field, Object value) {
-		if (isNotFirstLogicalConstraint()) {
-			queryBuilder.append(", ");
+	/**
+	 * Writes value as a literal with the renderer registered for its class.
+	 *
+	 * @see ValueRenderers
+	 */
+	static void appendLiteral(StringBuilder builder, Object value, DateLiteralFormat dateLiteralFormat, Dialect dialect) {
+		ValueRenderers.appendLiteral(builder, value, dateLiteralFormat, dialect);
+	}
+
+	/**
+	 * @return Expected length of a value as a literal or placeholder
+	 */
+	int estimateValueLength(Object value) {
+		if (parameterStyle != ParameterStyle.INLINE) {
+			return 3;
+		} else if (value instanceof String) {
+			return ((String) value).length() + 2;
+		} else if (value instanceof Object[]) {
+			return ((Object[]) value).length * 8 + 7;
+		} else if (DateLiteralFormat.isDateValue(value)) {
+			return dateTimeFormat.length() + 12;
+		} else {
+			return 8;
 		}
-		updateValueDependsOnClassNumberOrDate(field, value);
-		if (value instanceof String) {
-			queryBuilder.append(field);
-			queryBuilder.append(" = '");
-			queryBuilder.append(value);
-			queryBuilder.append("'");
+	}
+
+	/**
+	 * @return Expected length of a primitive value as a literal or placeholder
+	 */
+	int estimatePrimitiveLength(PrimitiveType type) {
+		return parameterStyle != ParameterStyle.INLINE ? 3 : type.getExpectedLength();
+	}
+
+	static int estimateNamesLength(List<String> names) {
+		int length = 0;
+		for (int i = 0; i < names.size(); i++) {
+			length += names.get(i).length() + 1;
 		}
+		return length;
 	}
 
-	private void updateValueDependsOnClassNumberOrDate(String field, Object value) {
-		if (value instanceof Integer || value instanceof Long) {
-			queryBuilder.append(field);
-			queryBuilder.append(" = ");
-			queryBuilder.append(value);
-		} else if (value instanceof Date) {
-			SimpleDateFormat sdf = new SimpleDateFormat(dateTimeFormat);
-			String formatedDate = sdf.format(value);
-			queryBuilder.append(field);
-			queryBuilder.append(" = '");
-			queryBuilder.append(formatedDate);
-			queryBuilder.append("'");
+	protected void appendParameter(StringBuilder builder, Object value, ParameterList sink) {
+		sink.add(QueryParameter.of(value), builder.length());
+		parameterStyle.appendPlaceholder(builder, sink.size());
+	}
+
+	protected void appendIdentifier(StringBuilder builder, String name) {
+		if (quoteIdentifiers) {
+			dialect.appendQuotedIdentifier(builder, name);
+		} else {
+			builder.append(name);
 		}
 	}
 
-	protected abstract boolean isNotFirstLogicalConstraint();
+	protected void appendIdentifierList(StringBuilder builder, List<String> names) {
+		for (int i = 0; i < names.size(); i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			appendIdentifier(builder, names.get(i));
+		}
+	}
 }
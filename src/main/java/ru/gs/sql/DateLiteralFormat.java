@@ -0,0 +1,348 @@
+package ru.gs.sql;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled form of a <b>dateTimeFormat</b> pattern that writes date literals
+ * straight into a query builder.<br><br>
+ *
+ * The pattern is parsed once and the result is cached per pattern string, so
+ * all queries using the same format share one instance. Instances are
+ * immutable and safe to use from several threads.<br><br>
+ *
+ * Numeric fields (y, M, MM, d, H, k, K, h, m, s, S) are rendered digit by digit
+ * without a Calendar or intermediate Strings. Patterns with text fields (month
+ * names, AM/PM markers, time zones and so on) and dates before the Gregorian
+ * cutover are rendered by a per-thread SimpleDateFormat, so the output is the
+ * same as SimpleDateFormat in every case.<br><br>
+ *
+ * Besides java.util.Date (and java.sql.Date/Time/Timestamp) the following
+ * java.time values are supported: LocalDate, LocalDateTime, LocalTime,
+ * OffsetDateTime, OffsetTime, ZonedDateTime and Instant. Fields missing from a
+ * value are taken from 1970-01-01 00:00:00.000; Instant is rendered in the
+ * default time zone like Date.
+ */
+final class DateLiteralFormat {
+
+    private static final ConcurrentMap<String, DateLiteralFormat> CACHE = new ConcurrentHashMap<String, DateLiteralFormat>();
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    private static final long GREGORIAN_CUTOVER = new GregorianCalendar().getGregorianChange().getTime();
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int DAY = 3;
+    private static final int HOUR_OF_DAY = 4;
+    private static final int HOUR_OF_DAY_1_24 = 5;
+    private static final int HOUR_0_11 = 6;
+    private static final int HOUR_1_12 = 7;
+    private static final int MINUTE = 8;
+    private static final int SECOND = 9;
+    private static final int MILLISECOND = 10;
+
+    private final String pattern;
+    private final int[] fields;
+    private final int[] widths;
+    private final String[] literals;
+    private final ThreadLocal<SimpleDateFormat> fallback;
+    private final boolean compiled;
+
+    /**
+     * Returns the compiled format for a pattern, compiling it on first use.
+     *
+     * @param pattern SimpleDateFormat pattern like <b>yyyy-MM-dd HH:mm:ss.SSS</b>
+     * @return Shared compiled format
+     * @throws IllegalArgumentException When the pattern is not a valid SimpleDateFormat pattern
+     */
+    static DateLiteralFormat forPattern(String pattern) {
+        DateLiteralFormat format = CACHE.get(pattern);
+        if (format == null) {
+            format = new DateLiteralFormat(pattern);
+            DateLiteralFormat existing = CACHE.putIfAbsent(pattern, format);
+            if (existing != null) {
+                format = existing;
+            }
+        }
+        return format;
+    }
+
+    /**
+     * @param value Any object
+     * @return true if value is a date/time value this class can render
+     */
+    static boolean isDateValue(Object value) {
+        return value instanceof Date
+                || value instanceof LocalDateTime
+                || value instanceof LocalDate
+                || value instanceof LocalTime
+                || value instanceof OffsetDateTime
+                || value instanceof ZonedDateTime
+                || value instanceof OffsetTime
+                || value instanceof Instant;
+    }
+
+    private DateLiteralFormat(final String pattern) {
+        // Validates the pattern exactly like the SimpleDateFormat-per-value code did.
+        new SimpleDateFormat(pattern);
+        this.pattern = pattern;
+        this.fallback = new ThreadLocal<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat initialValue() {
+                return new SimpleDateFormat(pattern);
+            }
+        };
+
+        List<Integer> fieldList = new ArrayList<Integer>();
+        List<Integer> widthList = new ArrayList<Integer>();
+        List<String> literalList = new ArrayList<String>();
+        boolean supported = true;
+        int i = 0;
+        int length = pattern.length();
+        while (i < length) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                StringBuilder literal = new StringBuilder();
+                i = readQuoted(pattern, i, literal);
+                addLiteral(fieldList, widthList, literalList, literal.toString());
+            } else if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == ch) {
+                    count++;
+                }
+                int field = numericField(ch, count);
+                if (field == LITERAL) {
+                    supported = false;
+                }
+                fieldList.add(field);
+                widthList.add(count);
+                literalList.add(null);
+                i += count;
+            } else {
+                addLiteral(fieldList, widthList, literalList, String.valueOf(ch));
+                i++;
+            }
+        }
+
+        this.compiled = supported;
+        this.fields = new int[fieldList.size()];
+        this.widths = new int[widthList.size()];
+        for (int j = 0; j < fields.length; j++) {
+            fields[j] = fieldList.get(j);
+            widths[j] = widthList.get(j);
+        }
+        this.literals = literalList.toArray(new String[literalList.size()]);
+    }
+
+    private static int readQuoted(String pattern, int start, StringBuilder literal) {
+        int i = start + 1;
+        if (i < pattern.length() && pattern.charAt(i) == '\'') {
+            literal.append('\'');
+            return i + 1;
+        }
+        while (i < pattern.length()) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            literal.append(ch);
+            i++;
+        }
+        return i;
+    }
+
+    private static void addLiteral(List<Integer> fieldList, List<Integer> widthList, List<String> literalList, String literal) {
+        int last = fieldList.size() - 1;
+        if (last >= 0 && fieldList.get(last) == LITERAL && literalList.get(last) != null) {
+            literalList.set(last, literalList.get(last) + literal);
+        } else {
+            fieldList.add(LITERAL);
+            widthList.add(0);
+            literalList.add(literal);
+        }
+    }
+
+    private static int numericField(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                return YEAR;
+            case 'M':
+                return count <= 2 ? MONTH : LITERAL;
+            case 'd':
+                return DAY;
+            case 'H':
+                return HOUR_OF_DAY;
+            case 'k':
+                return HOUR_OF_DAY_1_24;
+            case 'K':
+                return HOUR_0_11;
+            case 'h':
+                return HOUR_1_12;
+            case 'm':
+                return MINUTE;
+            case 's':
+                return SECOND;
+            case 'S':
+                return MILLISECOND;
+            default:
+                return LITERAL;
+        }
+    }
+
+    /**
+     * @return Pattern this format was compiled from
+     */
+    String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Appends value formatted by this pattern, without surrounding quotes.
+     *
+     * @param builder Builder to append to
+     * @param value Date/time value, see {@link #isDateValue(Object)}
+     */
+    void appendTo(StringBuilder builder, Object value) {
+        if (value instanceof Date) {
+            appendMillis(builder, ((Date) value).getTime());
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            appendLocal(builder, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+                    dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano() / 1000000);
+        } else if (value instanceof LocalDate) {
+            LocalDate date = (LocalDate) value;
+            appendLocal(builder, date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, 0);
+        } else if (value instanceof LocalTime) {
+            appendTime(builder, (LocalTime) value);
+        } else if (value instanceof OffsetDateTime) {
+            OffsetDateTime dateTime = (OffsetDateTime) value;
+            appendLocal(builder, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+                    dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano() / 1000000);
+        } else if (value instanceof ZonedDateTime) {
+            ZonedDateTime dateTime = (ZonedDateTime) value;
+            appendLocal(builder, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+                    dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano() / 1000000);
+        } else if (value instanceof OffsetTime) {
+            appendTime(builder, ((OffsetTime) value).toLocalTime());
+        } else if (value instanceof Instant) {
+            appendMillis(builder, ((Instant) value).toEpochMilli());
+        } else {
+            throw new IllegalArgumentException("Unsupported date/time value: " + value.getClass().getName());
+        }
+    }
+
+    private void appendTime(StringBuilder builder, LocalTime time) {
+        appendLocal(builder, 1970, 1, 1, time.getHour(), time.getMinute(), time.getSecond(), time.getNano() / 1000000);
+    }
+
+    private void appendMillis(StringBuilder builder, long millis) {
+        if (!compiled || millis < GREGORIAN_CUTOVER) {
+            builder.append(fallback.get().format(new Date(millis)));
+            return;
+        }
+        long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+
+        // Days to civil date, proleptic Gregorian (H. Hinnant, "chrono-compatible low-level date algorithms").
+        long z = epochDay + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        appendFields(builder, year, month, day, millisOfDay / 3600000, millisOfDay / 60000 % 60,
+                millisOfDay / 1000 % 60, millisOfDay % 1000);
+    }
+
+    private void appendLocal(StringBuilder builder, int year, int month, int day, int hour, int minute, int second, int millisecond) {
+        if (!compiled || year < 1) {
+            LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second, millisecond * 1000000);
+            builder.append(fallback.get().format(Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant())));
+            return;
+        }
+        appendFields(builder, year, month, day, hour, minute, second, millisecond);
+    }
+
+    private void appendFields(StringBuilder builder, int year, int month, int day, int hour, int minute, int second, int millisecond) {
+        for (int i = 0; i < fields.length; i++) {
+            int width = widths[i];
+            switch (fields[i]) {
+                case LITERAL:
+                    builder.append(literals[i]);
+                    break;
+                case YEAR:
+                    if (width == 2) {
+                        appendPadded(builder, year % 100, 2);
+                    } else {
+                        appendPadded(builder, year, width);
+                    }
+                    break;
+                case MONTH:
+                    appendPadded(builder, month, width);
+                    break;
+                case DAY:
+                    appendPadded(builder, day, width);
+                    break;
+                case HOUR_OF_DAY:
+                    appendPadded(builder, hour, width);
+                    break;
+                case HOUR_OF_DAY_1_24:
+                    appendPadded(builder, hour == 0 ? 24 : hour, width);
+                    break;
+                case HOUR_0_11:
+                    appendPadded(builder, hour % 12, width);
+                    break;
+                case HOUR_1_12:
+                    appendPadded(builder, hour % 12 == 0 ? 12 : hour % 12, width);
+                    break;
+                case MINUTE:
+                    appendPadded(builder, minute, width);
+                    break;
+                case SECOND:
+                    appendPadded(builder, second, width);
+                    break;
+                case MILLISECOND:
+                    appendPadded(builder, millisecond, width);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static void appendPadded(StringBuilder builder, int value, int width) {
+        int digits = 1;
+        for (int rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            builder.append('0');
+        }
+        builder.append(value);
+    }
+}
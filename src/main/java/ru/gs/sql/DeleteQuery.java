@@ -0,0 +1,556 @@
+package ru.gs.sql;
+
+import java.util.Collection;
+import ru.gs.sql.dialect.DeleteLimitSyntax;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+/**
+ * Class for building SQL DELETE queries. Conditions are added like the WHERE
+ * conditions of SelectQuery.<br><br>
+ *
+ * Example:<br>
+ * DeleteQuery query = new DeleteQuery("employee");<br>
+ * query.addWhere().isEquals("department", "Sales").andIn("id", new long[]{1, 2});<br><br>
+ *
+ * Result:<br>
+ * DELETE FROM employee WHERE department='Sales' AND id IN (1,2)<br><br>
+ *
+ * With a chunk size the query deletes at most that many matching rows, so a
+ * large purge can run as many short transactions: execute the same statement
+ * again until it deletes fewer rows than the chunk size, for example with
+ * BatchExecutor.executeInChunks().
+ *
+ * @see DeleteLimitSyntax
+ */
+public class DeleteQuery extends CommonQuery {
+
+    private static final String EXCEPTION_NULL_FIELD = "Field name cannot be null or empty";
+    private static final String EXCEPTION_NULL_VALUE = "Value cannot be null";
+
+    private String tableName;
+    private final WhereClause where = new WhereClause();
+    private long chunkSize;
+    private String chunkKey;
+
+    /**
+     * Creates initial state query with just only "DELETE FROM"
+     */
+    public DeleteQuery() {
+    }
+
+    /**
+     * Creates initial state query with "DELETE FROM" and a table name after it
+     *
+     * @param tableName Table name to delete from
+     */
+    public DeleteQuery(String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * @param name Table name to delete from
+     * @return DeleteQuery with added table name
+     * @throws SQLCreationException When name parameter is null or empty
+     */
+    public DeleteQuery addTableName(String name) throws SQLCreationException {
+        queryChanged();
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException("Table name cannot be null or empty");
+        }
+        tableName = name;
+        return this;
+    }
+
+    /**
+     * Adds WHERE keyword. Conditions can be added without it, the keyword is
+     * written before the first one.
+     *
+     * @return DeleteQuery with added WHERE keyword
+     */
+    public DeleteQuery addWhere() {
+        queryChanged();
+        where.addKeyword();
+        return this;
+    }
+
+    /**
+     * Adds a where clause equals<br><br>
+     *
+     * Example: <br>
+     * DeleteQuery query = new DeleteQuery("employee");<br>
+     * <b>query.isEquals("age", 4);</b><br><br>
+     *
+     * Result: <br>
+     * DELETE FROM employee WHERE age=4
+     *
+     * @param name Name of field to equal
+     * @param value Object to equals to. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @return DeleteQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
+     */
+    public DeleteQuery isEquals(String name, Object value) throws SQLCreationException {
+        return addPredicate(null, equalsPredicate(name, value));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals<br>
+     * If it is first constraint, than "AND" will be ignored
+     *
+     * @param name Name of field to equal
+     * @param value Object to equals to
+     * @return DeleteQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
+     * @see #isEquals(String, Object)
+     */
+    public DeleteQuery andIsEquals(String name, Object value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, equalsPredicate(name, value));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals<br>
+     * If it is first constraint, than "OR" will be ignored
+     *
+     * @param name Name of field to equal
+     * @param value Object to equals to
+     * @return DeleteQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
+     * @see #isEquals(String, Object)
+     */
+    public DeleteQuery orIsEquals(String name, Object value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, equalsPredicate(name, value));
+    }
+
+    /**
+     * Adds a where clause equals with a long value, written without boxing.
+     *
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return DeleteQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #isEquals(String, Object)
+     */
+    public DeleteQuery isEquals(String name, long value) throws SQLCreationException {
+        return addPredicate(null, primitiveEqualsPredicate(name, value));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals with a long value,
+     * written without boxing.
+     *
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return DeleteQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andIsEquals(String, Object)
+     */
+    public DeleteQuery andIsEquals(String name, long value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveEqualsPredicate(name, value));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals with a long value,
+     * written without boxing.
+     *
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return DeleteQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orIsEquals(String, Object)
+     */
+    public DeleteQuery orIsEquals(String name, long value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveEqualsPredicate(name, value));
+    }
+
+    /**
+     * Adds a where clause between<br><br>
+     *
+     * Example: <br>
+     * DeleteQuery query = new DeleteQuery("event");<br>
+     * <b>query.between("created", from, to);</b><br><br>
+     *
+     * Result: <br>
+     * DELETE FROM event WHERE created BETWEEN '2011-01-01 00:00:00.000' AND '2011-12-31 23:59:59.999'
+     *
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return DeleteQuery with added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or a value is null
+     */
+    public DeleteQuery between(String name, Object firstValue, Object secondValue) throws SQLCreationException {
+        return addPredicate(null, betweenPredicate(name, firstValue, secondValue));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between<br>
+     * If it is first constraint, than "AND" will be ignored
+     *
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return DeleteQuery with added "AND" and BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or a value is null
+     * @see #between(String, Object, Object)
+     */
+    public DeleteQuery andBetween(String name, Object firstValue, Object secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, betweenPredicate(name, firstValue, secondValue));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between<br>
+     * If it is first constraint, than "OR" will be ignored
+     *
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return DeleteQuery with added "OR" and BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or a value is null
+     * @see #between(String, Object, Object)
+     */
+    public DeleteQuery orBetween(String name, Object firstValue, Object secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, betweenPredicate(name, firstValue, secondValue));
+    }
+
+    /**
+     * Adds a where clause LIKE without wildcard
+     *
+     * @param name Name of field to LIKE
+     * @param value Pattern, with wildcards
+     * @return DeleteQuery with added LIKE where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
+     */
+    public DeleteQuery like(String name, Object value) throws SQLCreationException {
+        return addPredicate(null, likePredicate(name, value));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause LIKE without wildcard<br>
+     * If it is first constraint, than "AND" will be ignored
+     *
+     * @param name Name of field to LIKE
+     * @param value Pattern, with wildcards
+     * @return DeleteQuery with added "AND" and LIKE where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
+     */
+    public DeleteQuery andLike(String name, Object value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, likePredicate(name, value));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause LIKE without wildcard<br>
+     * If it is first constraint, than "OR" will be ignored
+     *
+     * @param name Name of field to LIKE
+     * @param value Pattern, with wildcards
+     * @return DeleteQuery with added "OR" and LIKE where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
+     */
+    public DeleteQuery orLike(String name, Object value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, likePredicate(name, value));
+    }
+
+    /**
+     * Adds a where clause IN, written like SelectQuery.in()
+     *
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return DeleteQuery with added IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     * @see SelectQuery#in(String, Collection)
+     */
+    public DeleteQuery in(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values == null ? null : values.toArray()));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause IN<br>
+     * If it is first constraint, than "AND" will be ignored
+     *
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return DeleteQuery with added "AND" and IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public DeleteQuery andIn(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values == null ? null : values.toArray()));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause IN<br>
+     * If it is first constraint, than "OR" will be ignored
+     *
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return DeleteQuery with added "OR" and IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public DeleteQuery orIn(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values == null ? null : values.toArray()));
+    }
+
+    /**
+     * Adds a where clause IN with values of a long array.
+     *
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return DeleteQuery with added IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #in(String, Collection)
+     */
+    public DeleteQuery in(String name, long[] values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause IN with values of a long array.
+     *
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return DeleteQuery with added "AND" and IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #andIn(String, Collection)
+     */
+    public DeleteQuery andIn(String name, long[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause IN with values of a long array.
+     *
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return DeleteQuery with added "OR" and IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #orIn(String, Collection)
+     */
+    public DeleteQuery orIn(String name, long[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values));
+    }
+
+    /**
+     * @return Maximum number of rows one execution deletes, 0 if unlimited
+     */
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Makes the query delete at most chunkSize matching rows per execution,
+     * in the delete limit syntax of the dialect.<br><br>
+     *
+     * Example:<br>
+     * DeleteQuery query = new DeleteQuery("event");<br>
+     * query.setDialect(Dialect.POSTGRESQL);<br>
+     * query.between("created", from, to).setChunkSize(1000);<br><br>
+     *
+     * Result:<br>
+     * DELETE FROM event WHERE ctid IN (SELECT ctid FROM event WHERE created BETWEEN ... LIMIT 1000)<br><br>
+     *
+     * With Dialect.MYSQL:<br>
+     * DELETE FROM event WHERE created BETWEEN ... LIMIT 1000<br><br>
+     *
+     * With Dialect.SQL_SERVER:<br>
+     * DELETE TOP (1000) FROM event WHERE created BETWEEN ...
+     *
+     * @param chunkSize Maximum number of rows, 0 to delete all matching rows
+     * @return DeleteQuery with changed chunk size
+     * @throws SQLCreationException When chunkSize is negative
+     * @see #setChunkKey(String)
+     */
+    public DeleteQuery setChunkSize(long chunkSize) throws SQLCreationException {
+        queryChanged();
+        if (chunkSize < 0) {
+            throw new SQLCreationException("Chunk size cannot be negative");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @return Field chunks are taken in order of, null if not set
+     */
+    public String getChunkKey() {
+        return chunkKey;
+    }
+
+    /**
+     * Makes chunked deletes take rows in order of an indexed unique field, so
+     * every chunk is a short index range. Dialects without a row id column,
+     * like ANSI, need it for chunked deletes.<br><br>
+     *
+     * Example:<br>
+     * query.setChunkSize(1000).setChunkKey("id");<br><br>
+     *
+     * Result:<br>
+     * DELETE FROM event WHERE id IN (SELECT id FROM event WHERE ... ORDER BY id FETCH FIRST 1000 ROWS ONLY)
+     *
+     * @param chunkKey Unique field name, null to remove it
+     * @return DeleteQuery with changed chunk key
+     * @throws SQLCreationException When chunkKey is empty
+     */
+    public DeleteQuery setChunkKey(String chunkKey) throws SQLCreationException {
+        queryChanged();
+        if (chunkKey != null && chunkKey.length() == 0) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        }
+        this.chunkKey = chunkKey;
+        return this;
+    }
+
+    /**
+     * Removes table name, conditions and chunking, so the object can be used
+     * to build another DELETE. Settings are kept.
+     *
+     * @return DeleteQuery as after the no-argument constructor
+     */
+    @Override
+    public DeleteQuery reset() {
+        queryChanged();
+        tableName = null;
+        where.clear();
+        chunkSize = 0;
+        chunkKey = null;
+        return this;
+    }
+
+    int estimateLength() {
+        int length = 16 + (tableName == null ? 0 : 2 * tableName.length()) + where.estimateLength(this);
+        if (chunkSize > 0) {
+            length += 64 + (chunkKey == null ? 0 : 3 * chunkKey.length());
+        }
+        return length;
+    }
+
+    /**
+     * @throws IllegalStateException When the query is chunked, the dialect
+     * picks rows with a subquery and there is neither a chunk key nor a row id
+     * column
+     */
+    void appendQuery(StringBuilder builder, ParameterList sink) {
+        Dialect dialect = getDialect();
+        DeleteLimitSyntax syntax = dialect.getDeleteLimitSyntax();
+        if (chunkSize == 0) {
+            builder.append("DELETE FROM");
+            appendTableAndWhere(builder, sink);
+        } else if (syntax == DeleteLimitSyntax.LIMIT) {
+            builder.append("DELETE FROM");
+            appendTableAndWhere(builder, sink);
+            appendChunkOrder(builder);
+            dialect.appendRowLimit(builder, chunkSize, 0, chunkKey != null);
+        } else if (syntax == DeleteLimitSyntax.TOP && chunkKey == null) {
+            builder.append("DELETE");
+            dialect.appendSelectLimit(builder, chunkSize, 0);
+            builder.append(" FROM");
+            appendTableAndWhere(builder, sink);
+        } else {
+            appendSubqueryChunk(builder, sink, dialect);
+        }
+    }
+
+    private void appendSubqueryChunk(StringBuilder builder, ParameterList sink, Dialect dialect) {
+        String rowId = dialect.getRowIdColumn();
+        if (chunkKey == null && rowId == null) {
+            throw new IllegalStateException("Chunked DELETE needs a chunk key with " + dialect + " dialect");
+        }
+        builder.append("DELETE FROM");
+        appendTable(builder);
+        builder.append(" WHERE ");
+        appendRowId(builder, rowId);
+        builder.append(" IN (SELECT");
+        dialect.appendSelectLimit(builder, chunkSize, 0);
+        builder.append(' ');
+        appendRowId(builder, rowId);
+        builder.append(" FROM");
+        appendTableAndWhere(builder, sink);
+        appendChunkOrder(builder);
+        dialect.appendRowLimit(builder, chunkSize, 0, chunkKey != null);
+        builder.append(')');
+    }
+
+    private void appendRowId(StringBuilder builder, String rowId) {
+        if (chunkKey != null) {
+            appendIdentifier(builder, chunkKey);
+        } else {
+            builder.append(rowId);
+        }
+    }
+
+    private void appendChunkOrder(StringBuilder builder) {
+        if (chunkKey != null) {
+            builder.append(" ORDER BY ");
+            appendIdentifier(builder, chunkKey);
+        }
+    }
+
+    private void appendTable(StringBuilder builder) {
+        if (tableName != null) {
+            builder.append(' ');
+            appendIdentifier(builder, tableName);
+        }
+    }
+
+    private void appendTableAndWhere(StringBuilder builder, ParameterList sink) {
+        appendTable(builder);
+        where.appendTo(this, builder, sink);
+    }
+
+    private DeleteQuery addPredicate(String operator, Predicate predicate) {
+        queryChanged();
+        where.add(operator, predicate);
+        return this;
+    }
+
+    private Predicate equalsPredicate(String name, Object value) throws SQLCreationException {
+        checkNameAndValue(name, value);
+        return new Predicate.Equals(name, value);
+    }
+
+    private Predicate primitiveEqualsPredicate(String name, long value) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        }
+        return new Predicate.PrimitiveEquals(name, PrimitiveType.LONG, value);
+    }
+
+    private Predicate betweenPredicate(String name, Object firstValue, Object secondValue) throws SQLCreationException {
+        checkNameAndValue(name, firstValue);
+        if (secondValue == null) {
+            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+        }
+        return new Predicate.Between(name, firstValue, secondValue, false);
+    }
+
+    private Predicate likePredicate(String name, Object value) throws SQLCreationException {
+        checkNameAndValue(name, value);
+        return new Predicate.Like(name, value, ' ', null, false);
+    }
+
+    private Predicate inPredicate(String name, Object[] values) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        }
+        if (values == null) {
+            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+        }
+        for (Object value : values) {
+            if (value == null) {
+                throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+            }
+        }
+        return new Predicate.In(name, values, false);
+    }
+
+    private Predicate inPredicate(String name, long[] values) throws SQLCreationException {
+        checkNameAndValue(name, values);
+        return new Predicate.PrimitiveIn(name, values, false);
+    }
+
+    private void checkNameAndValue(String name, Object value) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        } else if (value == null) {
+            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package ru.gs.sql;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import ru.gs.sql.dialect.UpsertSyntax;
 import ru.gs.sql.exceptions.SQLCreationException;
 
 /**
@@ -11,11 +17,25 @@ import ru.gs.sql.exceptions.SQLCreationException;
  */
 public class InsertQuery extends CommonQuery {
 
+    private String tableName;
+    private final List<String> fieldNames = new ArrayList<String>();
+    private boolean fieldNamesStarted;
+    /**
+     * Values and rows are Object[], or int[] and long[] written without boxing.
+     */
+    private Object values;
+    private List<Object> rows;
+    private boolean valuesAdded;
+    private int maxRowsPerStatement;
+    private int maxStatementLength;
+    private boolean upsert;
+    private final List<String> conflictFields = new ArrayList<String>();
+    private final SetClause conflictSet = new SetClause();
+
     /**
      *  Creates initial state query with just only "INSERT INTO"
      */
     public InsertQuery() {
-        queryBuilder.append("INSERT INTO ");
     }
 
     /**
@@ -30,9 +50,7 @@ public class InsertQuery extends CommonQuery {
      * @param tableName Table name to insert to
      */
     public InsertQuery(String tableName) {
-        queryBuilder.append("INSERT INTO ");
-        queryBuilder.append(tableName);
-        queryBuilder.append(" ");
+        this.tableName = tableName;
     }
 
     /**
@@ -51,11 +69,11 @@ public class InsertQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or zero length
      */
     public InsertQuery addTableName(String name) throws SQLCreationException {
+        queryChanged();
         if (isStringEmptyOrNull(name)) {
             throw new SQLCreationException("Field name cannot be null or empty");
         }
-        queryBuilder.append(name);
-        queryBuilder.append(" ");
+        tableName = name;
         return this;
     }
 
@@ -103,16 +121,12 @@ public class InsertQuery extends CommonQuery {
     }
 
     private InsertQuery addInsertableFieldNamesCommonMethod(List<String> names) throws SQLCreationException {
+        queryChanged();
         if (names == null || names.isEmpty()) {
             throw new SQLCreationException("Names list cannot be null or empty");
         }
-        queryBuilder.append("(");
-        for (String name : names) {
-            queryBuilder.append(name);
-            queryBuilder.append(",");
-        }
-        deleteLastCommaIFExist();
-        queryBuilder.append(") ");
+        fieldNamesStarted = true;
+        fieldNames.addAll(names);
         return this;
     }
 
@@ -136,7 +150,8 @@ public class InsertQuery extends CommonQuery {
      * @return InsertQuery with start "(" for adding insertable field names later
      */
     public InsertQuery startAddingInsertableFieldNames() {
-        queryBuilder.append("(");
+        queryChanged();
+        fieldNamesStarted = true;
         return this;
     }
 
@@ -160,8 +175,8 @@ public class InsertQuery extends CommonQuery {
      * @return InsertQuery with end ")" after adding insertable field names before
      */
     public InsertQuery stopAddingInsertableFieldNames() {
-        deleteLastCommaIFExist();
-        queryBuilder.append(") ");
+        queryChanged();
+        fieldNamesStarted = true;
         return this;
     }
 
@@ -184,11 +199,11 @@ public class InsertQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty
      */
     public InsertQuery addInsertableFieldName(String name) throws SQLCreationException {
+        queryChanged();
         if (name == null || name.length() == 0) {
             throw new SQLCreationException("Field name cannot be null or wmpty string");
         }
-        queryBuilder.append(name);
-        queryBuilder.append(",");
+        fieldNames.add(name);
         return this;
     }
     
@@ -197,7 +212,8 @@ public class InsertQuery extends CommonQuery {
      * @return
      */
     public InsertQuery addValues() {
-        queryBuilder.append("VALUES ");
+        queryChanged();
+        valuesAdded = true;
         return this;
     }
     
@@ -220,25 +236,877 @@ public class InsertQuery extends CommonQuery {
     public InsertQuery addValues(Object[] values) throws SQLCreationException {
         return addValuesCommon(Arrays.asList(values));
     }
+
+    /**
+     * Adds VALUES of an int array, written without boxing.
+     * 
+     * @param values Values, in insertable field names order
+     * @return InsertQuery with added values
+     * @throws SQLCreationException When values array is null or empty, or rows were already added
+     * @see #addValues(Object[])
+     */
+    public InsertQuery addValues(int[] values) throws SQLCreationException {
+        if (values == null || values.length == 0) {
+            throw new SQLCreationException("Values array cannot be null or empty");
+        }
+        return addPrimitiveValues(values.clone());
+    }
+
+    /**
+     * Adds VALUES of a long array, written without boxing.
+     * 
+     * @param values Values, in insertable field names order
+     * @return InsertQuery with added values
+     * @throws SQLCreationException When values array is null or empty, or rows were already added
+     * @see #addValues(Object[])
+     */
+    public InsertQuery addValues(long[] values) throws SQLCreationException {
+        if (values == null || values.length == 0) {
+            throw new SQLCreationException("Values array cannot be null or empty");
+        }
+        return addPrimitiveValues(values.clone());
+    }
+
+    private InsertQuery addPrimitiveValues(Object values) throws SQLCreationException {
+        queryChanged();
+        checkNoRows();
+        valuesAdded = true;
+        this.values = values;
+        return this;
+    }
     
     private InsertQuery addValuesCommon(List<Object> values) throws SQLCreationException {
+        queryChanged();
+        if (values == null || values.isEmpty()) {
+            throw new SQLCreationException("Values list cannot be null or empty");
+        }
+        checkNoRows();
+        valuesAdded = true;
+        this.values = values.toArray();
+        return this;
+    }
+
+    private void checkNoRows() throws SQLCreationException {
+        if (rows != null) {
+            throw new SQLCreationException("VALUES cannot be added to a query that already has rows");
+        }
+    }
+
+    /**
+     * Makes the query an upsert: rows that conflict with existing rows on
+     * the given fields are skipped, or updated with assignments added by
+     * addConflictUpdate and addConflictSet. The statement is written in the
+     * upsert syntax of the dialect, for all rows at once.
+     * 
+     * Example:
+     * InsertQuery query = new InsertQuery("employee");
+     * query.setDialect(Dialect.POSTGRESQL);
+     * query.addInsertableFieldNames(new String[]{"id", "name"});
+     * query.addRow(new Object[]{1, "Ivan"}).addRow(new Object[]{2, "Anton"});
+     * query.onConflict("id").addConflictUpdate("name");
+     * 
+     * Result:
+     * INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Anton') ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name
+     * 
+     * With Dialect.MYSQL:
+     * INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Anton') ON DUPLICATE KEY UPDATE name = VALUES(name)
+     * 
+     * With Dialect.ANSI:
+     * MERGE INTO employee dst USING (VALUES (1,'Ivan'),(2,'Anton')) src (id,name) ON (dst.id = src.id)
+     * WHEN MATCHED THEN UPDATE SET name = src.name WHEN NOT MATCHED THEN INSERT (id,name) VALUES (src.id,src.name)
+     * 
+     * MySQL uses every unique key of the table and does not write conflict
+     * fields. MERGE needs conflict fields and insertable field names, and
+     * fails when one statement has two rows with the same key.
+     * 
+     * @param fields Fields of the unique key rows conflict on
+     * @return InsertQuery that skips conflicting rows until assignments are added
+     * @throws SQLCreationException When fields are null or empty, or have a null or empty name
+     * @see UpsertSyntax
+     */
+    public InsertQuery onConflict(String... fields) throws SQLCreationException {
+        queryChanged();
+        if (fields == null || fields.length == 0) {
+            throw new SQLCreationException("Conflict fields cannot be null or empty");
+        }
+        for (String field : fields) {
+            if (isStringEmptyOrNull(field)) {
+                throw new SQLCreationException("Field name cannot be null or empty");
+            }
+        }
+        upsert = true;
+        conflictFields.clear();
+        conflictFields.addAll(Arrays.asList(fields));
+        return this;
+    }
+
+    /**
+     * Makes the query an upsert that skips rows conflicting on any unique key,
+     * removing assignments added before. PostgreSQL gets ON CONFLICT DO
+     * NOTHING without conflict fields; MERGE still needs onConflict fields.
+     * 
+     * @return InsertQuery that skips conflicting rows
+     * @see #onConflict(String...)
+     */
+    public InsertQuery onConflictDoNothing() {
+        queryChanged();
+        upsert = true;
+        conflictSet.clear();
+        return this;
+    }
+
+    /**
+     * On conflict, sets field of the existing row to the value the row tried
+     * to insert.
+     * 
+     * @param field Insertable field name to update
+     * @return InsertQuery with added conflict assignment
+     * @throws SQLCreationException When field is null or empty
+     * @see #onConflict(String...)
+     */
+    public InsertQuery addConflictUpdate(String field) throws SQLCreationException {
+        queryChanged();
+        if (isStringEmptyOrNull(field)) {
+            throw new SQLCreationException("Field name cannot be null or empty");
+        }
+        upsert = true;
+        conflictSet.addInserted(field);
+        return this;
+    }
+
+    /**
+     * On conflict, sets field of the existing row to value, written like
+     * UpdateQuery.addSet values.
+     * 
+     * @param field Field name to update
+     * @param value New value
+     * @return InsertQuery with added conflict assignment
+     * @throws SQLCreationException When field is null or empty
+     * @see #onConflict(String...)
+     */
+    public InsertQuery addConflictSet(String field, Object value) throws SQLCreationException {
+        queryChanged();
+        if (isStringEmptyOrNull(field)) {
+            throw new SQLCreationException("Field name cannot be null or empty");
+        }
+        upsert = true;
+        conflictSet.add(field, value);
+        return this;
+    }
+
+    /**
+     * Adds a row to a multi-row insert. All rows are rendered as one
+     * VALUES list, or as several statements when limits are set.
+     * 
+     * Example:
+     * InsertQuery query = new InsertQuery("employee");
+     * query.addInsertableFieldNames(new String[]{"name", "family"});
+     * query.addRow(new Object[]{"Ivan", "Petrov"});
+     * query.addRow(new Object[]{"Anton", "Sidorov"});
+     * 
+     * Result:
+     * INSERT INTO employee (name,family) VALUES ('Ivan','Petrov'),('Anton','Sidorov')
+     * 
+     * @param values Row values, in insertable field names order
+     * @return InsertQuery with added row
+     * @throws SQLCreationException When values list is null or empty, when it has another
+     * number of values than the first row, or when addValues was already used
+     * @see #getQueryStrings()
+     */
+    public InsertQuery addRow(List<Object> values) throws SQLCreationException {
         if (values == null || values.isEmpty()) {
             throw new SQLCreationException("Values list cannot be null or empty");
         }
-        queryBuilder.append("VALUES (");
-        
-        for (Object value: values) {
-            insertValueDependsOnClass(value);
-            queryBuilder.append(",");
+        Object[] row = values.toArray();
+        return addRowCommon(row, row.length);
+    }
+
+    /**
+     * Adds a row to a multi-row insert.
+     * 
+     * @param values Row values, in insertable field names order
+     * @return InsertQuery with added row
+     * @throws SQLCreationException When values array is null or empty, when it has another
+     * number of values than the first row, or when addValues was already used
+     * @see #addRow(List)
+     */
+    public InsertQuery addRow(Object[] values) throws SQLCreationException {
+        if (values == null || values.length == 0) {
+            throw new SQLCreationException("Values array cannot be null or empty");
+        }
+        return addRowCommon(values.clone(), values.length);
+    }
+
+    /**
+     * Adds a row of int values, written without boxing.
+     * 
+     * @param values Row values, in insertable field names order
+     * @return InsertQuery with added row
+     * @throws SQLCreationException When values array is null or empty, when it has another
+     * number of values than the first row, or when addValues was already used
+     * @see #addRow(List)
+     */
+    public InsertQuery addRow(int[] values) throws SQLCreationException {
+        if (values == null || values.length == 0) {
+            throw new SQLCreationException("Values array cannot be null or empty");
+        }
+        return addRowCommon(values.clone(), values.length);
+    }
+
+    /**
+     * Adds a row of long values, written without boxing.
+     * 
+     * @param values Row values, in insertable field names order
+     * @return InsertQuery with added row
+     * @throws SQLCreationException When values array is null or empty, when it has another
+     * number of values than the first row, or when addValues was already used
+     * @see #addRow(List)
+     */
+    public InsertQuery addRow(long[] values) throws SQLCreationException {
+        if (values == null || values.length == 0) {
+            throw new SQLCreationException("Values array cannot be null or empty");
+        }
+        return addRowCommon(values.clone(), values.length);
+    }
+
+    private InsertQuery addRowCommon(Object values, int length) throws SQLCreationException {
+        queryChanged();
+        if (valuesAdded) {
+            throw new SQLCreationException("Rows cannot be added to a query that already has VALUES");
+        }
+        if (rows == null) {
+            rows = new ArrayList<Object>();
+        } else if (!rows.isEmpty() && rowLength(rows.get(0)) != length) {
+            throw new SQLCreationException("Row has " + length + " values, but first row has " + rowLength(rows.get(0)));
+        }
+        rows.add(values);
+        return this;
+    }
+
+    private static int rowLength(Object row) {
+        if (row instanceof long[]) {
+            return ((long[]) row).length;
+        } else if (row instanceof int[]) {
+            return ((int[]) row).length;
+        }
+        return ((Object[]) row).length;
+    }
+
+    /**
+     * @return Number of rows added by addRow methods
+     */
+    public int getRowCount() {
+        return rows == null ? 0 : rows.size();
+    }
+
+    /**
+     * Removes all rows added by addRow methods, keeping table and field names.
+     * Together with writeStatementsTo it allows to write any number of rows
+     * in constant memory.
+     * 
+     * Example:
+     * while (source.hasNext()) {
+     *     query.addRow(source.next());
+     *     if (query.getRowCount() == 10000) {
+     *         query.writeStatementsTo(writer);
+     *         query.clearRows();
+     *     }
+     * }
+     * query.writeStatementsTo(writer);
+     * 
+     * @return InsertQuery without rows
+     */
+    public InsertQuery clearRows() {
+        queryChanged();
+        if (rows != null) {
+            rows.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Removes table name, field names, values and rows, so the object can be
+     * used to build another INSERT. Settings and statement limits are kept.
+     * 
+     * Example:
+     * query.reset().addTableName("department");
+     * 
+     * Result:
+     * INSERT INTO department
+     * 
+     * @return InsertQuery as after the no-argument constructor
+     */
+    @Override
+    public InsertQuery reset() {
+        queryChanged();
+        tableName = null;
+        fieldNames.clear();
+        fieldNamesStarted = false;
+        values = null;
+        rows = null;
+        valuesAdded = false;
+        upsert = false;
+        conflictFields.clear();
+        conflictSet.clear();
+        return this;
+    }
+
+    /**
+     * @return Maximum number of rows in one statement, 0 if unlimited
+     */
+    public int getMaxRowsPerStatement() {
+        return maxRowsPerStatement;
+    }
+
+    /**
+     * Sets maximum number of rows in one statement returned by getQueryStrings().
+     * 
+     * @param maxRowsPerStatement Maximum number of rows, 0 for no limit
+     * @return InsertQuery with changed limit
+     * @throws SQLCreationException When maxRowsPerStatement is negative
+     */
+    public InsertQuery setMaxRowsPerStatement(int maxRowsPerStatement) throws SQLCreationException {
+        if (maxRowsPerStatement < 0) {
+            throw new SQLCreationException("Maximum rows per statement cannot be negative");
+        }
+        this.maxRowsPerStatement = maxRowsPerStatement;
+        return this;
+    }
+
+    /**
+     * @return Maximum statement length in UTF-8 bytes, 0 if unlimited
+     */
+    public int getMaxStatementLength() {
+        return maxStatementLength;
+    }
+
+    /**
+     * Sets maximum length of one statement returned by getQueryStrings(), in
+     * UTF-8 bytes. Use it to stay below limits like MySQL max_allowed_packet.
+     * 
+     * @param maxStatementLength Maximum statement length in bytes, 0 for no limit
+     * @return InsertQuery with changed limit
+     * @throws SQLCreationException When maxStatementLength is negative
+     */
+    public InsertQuery setMaxStatementLength(int maxStatementLength) throws SQLCreationException {
+        if (maxStatementLength < 0) {
+            throw new SQLCreationException("Maximum statement length cannot be negative");
         }
-        
-        deleteLastCommaIFExist();
-        queryBuilder.append(")");
+        this.maxStatementLength = maxStatementLength;
         return this;
     }
 
-	@Override
-	protected boolean isNotFirstLogicalConstraint() {
-		throw new UnsupportedOperationException("Not supported yet.");
-	}
+    /**
+     * Renders the query with all rows in one VALUES list. Limits set by
+     * setMaxRowsPerStatement and setMaxStatementLength are not applied here,
+     * use getQueryStrings() for that. Parameters of rows are collected row
+     * by row.
+     */
+    void appendQuery(StringBuilder builder, ParameterList sink) {
+        if (rows != null && !rows.isEmpty()) {
+            appendStatementStart(builder);
+            for (int i = 0; i < rows.size(); i++) {
+                appendRow(builder, rows.get(i), sink, i == 0);
+            }
+            appendStatementEnd(builder, sink);
+        } else if (values != null) {
+            appendStatementStart(builder);
+            appendRow(builder, values, sink, true);
+            appendStatementEnd(builder, sink);
+        } else {
+            appendHeader(builder);
+            if (valuesAdded) {
+                builder.append(" VALUES");
+            }
+        }
+    }
+
+    int estimateLength() {
+        int length = estimateHeaderLength() + 8;
+        if (rows != null && !rows.isEmpty()) {
+            length += rows.size() * (estimateRowLength(rows.get(0)) + 1);
+        } else if (values != null) {
+            length += estimateRowLength(values);
+        }
+        return length + estimateUpsertLength();
+    }
+
+    private int estimateUpsertLength() {
+        if (!upsert) {
+            return 0;
+        }
+        int length = 32 + 2 * estimateNamesLength(conflictFields) + conflictSet.estimateLength(this);
+        if (isMerge()) {
+            length += 96 + 3 * estimateNamesLength(fieldNames);
+        }
+        return length;
+    }
+
+    private int estimateHeaderLength() {
+        return 16 + (tableName == null ? 0 : tableName.length()) + estimateNamesLength(fieldNames);
+    }
+
+    private int estimateRowLength(Object row) {
+        if (row instanceof long[]) {
+            return 2 + ((long[]) row).length * (estimatePrimitiveLength(PrimitiveType.LONG) + 1);
+        } else if (row instanceof int[]) {
+            return 2 + ((int[]) row).length * (estimatePrimitiveLength(PrimitiveType.INT) + 1);
+        }
+        Object[] values = (Object[]) row;
+        int length = 2;
+        for (int i = 0; i < values.length; i++) {
+            length += estimateValueLength(values[i]) + 1;
+        }
+        return length;
+    }
+
+    /**
+     * @return Expected length of one statement of a multi-row insert
+     */
+    private int estimateStatementLength() {
+        if (rows.isEmpty()) {
+            return 16;
+        }
+        int statementRows = maxRowsPerStatement == 0 ? rows.size() : Math.min(rows.size(), maxRowsPerStatement);
+        long length = estimateHeaderLength() + 8 + estimateUpsertLength() + (long) statementRows * (estimateRowLength(rows.get(0)) + 1);
+        if (maxStatementLength > 0) {
+            length = Math.min(length, maxStatementLength);
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE - 8);
+    }
+
+    private void appendHeader(StringBuilder builder) {
+        builder.append("INSERT INTO");
+        appendTableName(builder);
+        appendFieldNames(builder);
+    }
+
+    /**
+     * Appends the table name with a leading space, if it is set.
+     */
+    void appendTableName(StringBuilder builder) {
+        if (tableName != null) {
+            builder.append(' ');
+            appendIdentifier(builder, tableName);
+        }
+    }
+
+    /**
+     * Appends the insertable field names in parentheses with a leading space,
+     * if they are set.
+     */
+    void appendFieldNames(StringBuilder builder) {
+        if (fieldNamesStarted || !fieldNames.isEmpty()) {
+            builder.append(" (");
+            appendIdentifierList(builder, fieldNames);
+            builder.append(')');
+        }
+    }
+
+    /**
+     * @return Rows added by addRow methods, or the VALUES row when there are
+     * none; each row is Object[], int[] or long[]
+     */
+    List<Object> getRowValues() {
+        if (rows != null && !rows.isEmpty()) {
+            return rows;
+        }
+        return values == null ? Collections.emptyList() : Collections.singletonList(values);
+    }
+
+    /**
+     * @return Number of insertable field names
+     */
+    int getFieldCount() {
+        return fieldNames.size();
+    }
+
+    /**
+     * Writes the same text as getQueryString() to out, rendering one row at a time.
+     * 
+     * @param out Target to write SQL query to
+     * @throws IOException When out fails to append
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException {
+        if (rows == null || rows.isEmpty()) {
+            super.writeTo(out);
+            return;
+        }
+        StringBuilder part = BuilderPool.acquire(0);
+        try {
+            ParameterList sink = new ParameterList();
+            appendStatementStart(part);
+            for (int i = 0; i < rows.size(); i++) {
+                appendRow(part, rows.get(i), sink, i == 0);
+                out.append(part, 0, part.length());
+                part.setLength(0);
+            }
+            appendStatementEnd(part, sink);
+            out.append(part, 0, part.length());
+        } finally {
+            BuilderPool.release(part);
+        }
+    }
+
+    /**
+     * Writes all statements of getQueryStrings() to writer, each followed by its
+     * statement terminator. Every statement is rendered into one reused buffer
+     * and written without creating a String.
+     * 
+     * @param writer Target StatementWriter
+     * @throws IOException When writer fails
+     * @throws IllegalStateException When a single row does not fit into getMaxStatementLength() bytes
+     */
+    public void writeStatementsTo(StatementWriter writer) throws IOException {
+        if (rows == null) {
+            writer.writeStatement(this);
+            return;
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        StringBuilder statement = BuilderPool.acquire(estimateStatementLength());
+        try {
+            StatementIterator statements = new StatementIterator(getStatementStart(), rows.size(), statement);
+            while (statements.hasNext()) {
+                writer.writeStatement(statements.render());
+            }
+        } finally {
+            BuilderPool.release(statement);
+        }
+    }
+
+    /**
+     * Returns finished INSERT statements for all added rows. A new statement is
+     * started whenever the current one reaches getMaxRowsPerStatement() rows or
+     * the next row would make it longer than getMaxStatementLength() bytes.
+     * Statements are rendered one by one while iterating.
+     * 
+     * Example:
+     * InsertQuery query = new InsertQuery("employee");
+     * query.addInsertableFieldNames(new String[]{"id"});
+     * query.setMaxRowsPerStatement(2);
+     * query.addRow(new Object[]{1}).addRow(new Object[]{2}).addRow(new Object[]{3});
+     * 
+     * Result:
+     * INSERT INTO employee (id) VALUES (1),(2)
+     * INSERT INTO employee (id) VALUES (3)
+     * 
+     * If no rows were added, the only statement is getQueryString().
+     * 
+     * @return Iterable over finished statements
+     * @throws IllegalStateException While iterating, when a single row does not
+     * fit into getMaxStatementLength() bytes
+     */
+    public Iterable<String> getQueryStrings() {
+        if (rows == null) {
+            return Collections.singletonList(getQueryString());
+        }
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Iterable<BuiltQuery> queries = getQueries();
+        return new Iterable<String>() {
+            public Iterator<String> iterator() {
+                final Iterator<BuiltQuery> iterator = queries.iterator();
+                return new Iterator<String>() {
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    public String next() {
+                        return iterator.next().getQueryString();
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns the same statements as getQueryStrings() together with their
+     * parameters. With QUESTION_MARK or NUMBERED parameter style each statement
+     * has its own parameters, numbered from 1.
+     * 
+     * @return Iterable over finished statements
+     * @throws IllegalStateException While iterating, when a single row does not
+     * fit into getMaxStatementLength() bytes
+     * @see #getQueryStrings()
+     */
+    public Iterable<BuiltQuery> getQueries() {
+        if (rows == null) {
+            return Collections.singletonList(build());
+        }
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final String start = getStatementStart();
+        final int rowCount = rows.size();
+        return new Iterable<BuiltQuery>() {
+            public Iterator<BuiltQuery> iterator() {
+                return new StatementIterator(start, rowCount, new StringBuilder(estimateStatementLength()));
+            }
+        };
+    }
+
+    /**
+     * @return Statement text before the first row
+     */
+    private String getStatementStart() {
+        StringBuilder start = new StringBuilder();
+        appendStatementStart(start);
+        return start.toString();
+    }
+
+    private boolean isMerge() {
+        if (!upsert) {
+            return false;
+        }
+        UpsertSyntax syntax = getDialect().getUpsertSyntax();
+        return syntax != UpsertSyntax.ON_CONFLICT && syntax != UpsertSyntax.ON_DUPLICATE_KEY;
+    }
+
+    private void appendStatementStart(StringBuilder statement) {
+        if (!isMerge()) {
+            appendHeader(statement);
+            statement.append(" VALUES ");
+            return;
+        }
+        if (tableName == null || fieldNames.isEmpty() || conflictFields.isEmpty()) {
+            throw new IllegalStateException("MERGE needs table name, insertable field names and conflict fields");
+        }
+        statement.append("MERGE INTO ");
+        appendIdentifier(statement, tableName);
+        statement.append(" dst USING (");
+        if (getDialect().getUpsertSyntax() != UpsertSyntax.MERGE_FROM_DUAL) {
+            statement.append("VALUES ");
+        }
+    }
+
+    /**
+     * Appends statement text after the last row: conflict handling of an
+     * upsert, nothing for a plain insert.
+     */
+    private void appendStatementEnd(StringBuilder statement, ParameterList sink) {
+        if (!upsert) {
+            return;
+        }
+        UpsertSyntax syntax = getDialect().getUpsertSyntax();
+        if (syntax == UpsertSyntax.ON_CONFLICT) {
+            statement.append(" ON CONFLICT");
+            if (!conflictFields.isEmpty()) {
+                statement.append(" (");
+                appendIdentifierList(statement, conflictFields);
+                statement.append(')');
+            }
+            if (conflictSet.isEmpty()) {
+                statement.append(" DO NOTHING");
+            } else if (conflictFields.isEmpty()) {
+                throw new IllegalStateException("ON CONFLICT DO UPDATE needs conflict fields");
+            } else {
+                statement.append(" DO UPDATE SET ");
+                conflictSet.appendTo(this, statement, sink, "EXCLUDED.", "");
+            }
+        } else if (syntax == UpsertSyntax.ON_DUPLICATE_KEY) {
+            statement.append(" ON DUPLICATE KEY UPDATE ");
+            if (conflictSet.isEmpty()) {
+                List<String> keys = conflictFields.isEmpty() ? fieldNames : conflictFields;
+                if (keys.isEmpty()) {
+                    throw new IllegalStateException("ON DUPLICATE KEY without updates needs conflict fields or insertable field names");
+                }
+                appendIdentifier(statement, keys.get(0));
+                statement.append(" = ");
+                appendIdentifier(statement, keys.get(0));
+            } else {
+                conflictSet.appendTo(this, statement, sink, "VALUES(", ")");
+            }
+        } else {
+            appendMergeEnd(statement, sink, syntax);
+        }
+    }
+
+    private void appendMergeEnd(StringBuilder statement, ParameterList sink, UpsertSyntax syntax) {
+        statement.append(") src");
+        if (syntax != UpsertSyntax.MERGE_FROM_DUAL) {
+            statement.append(" (");
+            appendIdentifierList(statement, fieldNames);
+            statement.append(')');
+        }
+        statement.append(" ON (");
+        for (int i = 0; i < conflictFields.size(); i++) {
+            if (i > 0) {
+                statement.append(" AND ");
+            }
+            statement.append("dst.");
+            appendIdentifier(statement, conflictFields.get(i));
+            statement.append(" = src.");
+            appendIdentifier(statement, conflictFields.get(i));
+        }
+        statement.append(')');
+        if (!conflictSet.isEmpty()) {
+            statement.append(" WHEN MATCHED THEN UPDATE SET ");
+            conflictSet.appendTo(this, statement, sink, "src.", "");
+        }
+        statement.append(" WHEN NOT MATCHED THEN INSERT (");
+        appendIdentifierList(statement, fieldNames);
+        statement.append(") VALUES (");
+        for (int i = 0; i < fieldNames.size(); i++) {
+            if (i > 0) {
+                statement.append(',');
+            }
+            statement.append("src.");
+            appendIdentifier(statement, fieldNames.get(i));
+        }
+        statement.append(')');
+        if (syntax == UpsertSyntax.MERGE_TERMINATED) {
+            statement.append(';');
+        }
+    }
+
+    /**
+     * Appends row with the separator before it: a VALUES row, or for
+     * MERGE_FROM_DUAL upserts a SELECT from dual, the first one with field
+     * names as column aliases.
+     */
+    private void appendRow(StringBuilder statement, Object row, ParameterList sink, boolean first) {
+        List<String> aliases = null;
+        boolean fromDual = upsert && getDialect().getUpsertSyntax() == UpsertSyntax.MERGE_FROM_DUAL;
+        if (fromDual) {
+            statement.append(first ? "SELECT " : " UNION ALL SELECT ");
+            aliases = first ? fieldNames : null;
+        } else {
+            if (!first) {
+                statement.append(',');
+            }
+            statement.append('(');
+        }
+        if (row instanceof long[]) {
+            long[] values = (long[]) row;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    statement.append(',');
+                }
+                insertPrimitive(statement, PrimitiveType.LONG, values[i], sink);
+                appendAlias(statement, aliases, i);
+            }
+        } else if (row instanceof int[]) {
+            int[] values = (int[]) row;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    statement.append(',');
+                }
+                insertPrimitive(statement, PrimitiveType.INT, values[i], sink);
+                appendAlias(statement, aliases, i);
+            }
+        } else {
+            Object[] values = (Object[]) row;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    statement.append(',');
+                }
+                insertValueDependsOnClass(statement, values[i], sink);
+                appendAlias(statement, aliases, i);
+            }
+        }
+        statement.append(fromDual ? " FROM dual" : ")");
+    }
+
+    private void appendAlias(StringBuilder statement, List<String> aliases, int index) {
+        if (aliases != null && index < aliases.size()) {
+            statement.append(' ');
+            appendIdentifier(statement, aliases.get(index));
+        }
+    }
+
+    private static int utf8Length(CharSequence chars, int start, int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char ch = chars.charAt(i);
+            if (ch < 0x80) {
+                length++;
+            } else if (ch < 0x800 || Character.isSurrogate(ch)) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private final class StatementIterator implements Iterator<BuiltQuery> {
+
+        private final String start;
+        private final int rowCount;
+        private final StringBuilder statement;
+        private final int endLength;
+        private ParameterList statementParameters = new ParameterList();
+        private int nextRow;
+
+        private StatementIterator(String start, int rowCount, StringBuilder statement) {
+            this.start = start;
+            this.rowCount = rowCount;
+            this.statement = statement;
+            this.endLength = upsert ? estimateEndLength() : 0;
+        }
+
+        /**
+         * @return Length of the statement end, with room for placeholder
+         * numbers that grow with the number of row parameters
+         */
+        private int estimateEndLength() {
+            StringBuilder end = new StringBuilder();
+            ParameterList endParameters = new ParameterList();
+            appendStatementEnd(end, endParameters);
+            return utf8Length(end, 0, end.length()) + 10 * endParameters.size();
+        }
+
+        public boolean hasNext() {
+            return nextRow < rowCount;
+        }
+
+        public BuiltQuery next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            statementParameters = new ParameterList();
+            return new BuiltQuery(render().toString(), statementParameters);
+        }
+
+        private StringBuilder render() {
+            statement.setLength(0);
+            statementParameters.clear();
+            statement.append(start);
+            int length = utf8Length(statement, 0, statement.length()) + endLength;
+            int count = 0;
+            while (nextRow < rowCount && (maxRowsPerStatement == 0 || count < maxRowsPerStatement)) {
+                int mark = statement.length();
+                int parameterMark = statementParameters.size();
+                appendRow(statement, rows.get(nextRow), statementParameters, count == 0);
+                if (maxStatementLength > 0) {
+                    int rowLength = utf8Length(statement, mark, statement.length());
+                    if (length + rowLength > maxStatementLength) {
+                        if (count == 0) {
+                            throw new IllegalStateException("Row " + nextRow + " does not fit into " + maxStatementLength + " bytes");
+                        }
+                        statement.setLength(mark);
+                        statementParameters.subList(parameterMark, statementParameters.size()).clear();
+                        break;
+                    }
+                    length += rowLength;
+                }
+                count++;
+                nextRow++;
+            }
+            appendStatementEnd(statement, statementParameters);
+            return statement;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -0,0 +1,230 @@
+package ru.gs.sql;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binds query parameters to a PreparedStatement with typed setters.<br><br>
+ *
+ * Example:<br>
+ * SelectQuery query = new SelectQuery();<br>
+ * query.setParameterStyle(ParameterStyle.QUESTION_MARK);<br>
+ * query.addField("name").addFrom("employee").addWhere().isEquals("id", 143);<br>
+ * PreparedStatement statement = connection.prepareStatement(query.getQueryString());<br>
+ * ParameterBinder.bind(statement, query);<br>
+ */
+public final class ParameterBinder {
+
+    private ParameterBinder() {
+    }
+
+    /**
+     * Binds all parameters of query, starting from index 1.
+     *
+     * @param statement Statement prepared from query.getQueryString()
+     * @param query Query with parameters
+     * @throws SQLException When a setter fails
+     */
+    public static void bind(PreparedStatement statement, Query query) throws SQLException {
+        bind(statement, query.getParameters());
+    }
+
+    /**
+     * Binds parameters in list order, starting from index 1.
+     *
+     * @param statement Prepared statement
+     * @param parameters Parameters to bind
+     * @throws SQLException When a setter fails
+     */
+    public static void bind(PreparedStatement statement, List<QueryParameter> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            bind(statement, i + 1, parameters.get(i));
+        }
+    }
+
+    /**
+     * Binds one parameter. The value is converted first by the renderer of its
+     * class, so enums are bound by name() and registered types as their
+     * renderer says.
+     *
+     * @param statement Prepared statement
+     * @param index Placeholder index, starting from 1
+     * @param parameter Parameter to bind
+     * @throws SQLException When a setter fails
+     */
+    public static void bind(PreparedStatement statement, int index, QueryParameter parameter) throws SQLException {
+        Object value = ValueRenderers.toJdbcValue(parameter.getValue());
+        if (value == null) {
+            statement.setNull(index, parameter.getSqlType() == Types.OTHER ? Types.NULL : parameter.getSqlType());
+            return;
+        }
+        switch (parameter.getSqlType()) {
+            case Types.VARCHAR:
+                statement.setString(index, value.toString());
+                break;
+            case Types.INTEGER:
+                statement.setInt(index, ((Number) value).intValue());
+                break;
+            case Types.BIGINT:
+                statement.setLong(index, ((Number) value).longValue());
+                break;
+            case Types.SMALLINT:
+                statement.setShort(index, ((Number) value).shortValue());
+                break;
+            case Types.TINYINT:
+                statement.setByte(index, ((Number) value).byteValue());
+                break;
+            case Types.DOUBLE:
+                statement.setDouble(index, ((Number) value).doubleValue());
+                break;
+            case Types.REAL:
+                statement.setFloat(index, ((Number) value).floatValue());
+                break;
+            case Types.DECIMAL:
+                statement.setBigDecimal(index, (BigDecimal) value);
+                break;
+            case Types.BOOLEAN:
+                statement.setBoolean(index, (Boolean) value);
+                break;
+            case Types.VARBINARY:
+                statement.setBytes(index, (byte[]) value);
+                break;
+            case Types.TIMESTAMP:
+                statement.setTimestamp(index, toTimestamp(value));
+                break;
+            case Types.DATE:
+                statement.setDate(index, toSqlDate(value));
+                break;
+            case Types.TIME:
+                statement.setTime(index, toTime(value));
+                break;
+            case Types.ARRAY:
+                statement.setArray(index, toArray(statement, value));
+                break;
+            default:
+                statement.setObject(index, value);
+                break;
+        }
+    }
+
+    private static Array toArray(PreparedStatement statement, Object value) throws SQLException {
+        if (value instanceof Array) {
+            return (Array) value;
+        }
+        Object[] elements = ((Object[]) value).clone();
+        String typeName = arrayTypeName(elements);
+        if (typeName == null) {
+            throw new SQLException("Array elements have no common SQL array type");
+        }
+        int sqlType = elements.length == 0 ? Types.VARCHAR : QueryParameter.sqlTypeOf(elements[0]);
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) {
+                continue;
+            }
+            elements[i] = ValueRenderers.toJdbcValue(elements[i]);
+            if (sqlType == Types.TIMESTAMP) {
+                elements[i] = toTimestamp(elements[i]);
+            } else if (sqlType == Types.DATE) {
+                elements[i] = toSqlDate(elements[i]);
+            } else if (sqlType == Types.TIME) {
+                elements[i] = toTime(elements[i]);
+            }
+        }
+        return statement.getConnection().createArrayOf(typeName, elements);
+    }
+
+    /**
+     * @return SQL type name of an array of elements, null when the elements
+     * have no known array type or differ in it
+     */
+    static String arrayTypeName(Object[] elements) {
+        String typeName = null;
+        for (Object element : elements) {
+            if (element == null) {
+                continue;
+            }
+            String elementTypeName = arrayTypeName(element);
+            if (elementTypeName == null || (typeName != null && !typeName.equals(elementTypeName))) {
+                return null;
+            }
+            typeName = elementTypeName;
+        }
+        return typeName == null ? "varchar" : typeName;
+    }
+
+    private static String arrayTypeName(Object element) {
+        if (element instanceof UUID) {
+            return "uuid";
+        }
+        switch (QueryParameter.sqlTypeOf(element)) {
+            case Types.VARCHAR:
+                return "varchar";
+            case Types.INTEGER:
+                return "integer";
+            case Types.BIGINT:
+                return "bigint";
+            case Types.SMALLINT:
+                return "smallint";
+            case Types.DOUBLE:
+                return "float8";
+            case Types.REAL:
+                return "float4";
+            case Types.DECIMAL:
+                return "numeric";
+            case Types.BOOLEAN:
+                return "boolean";
+            case Types.TIMESTAMP:
+                return "timestamp";
+            case Types.DATE:
+                return "date";
+            case Types.TIME:
+                return "time";
+            default:
+                return null;
+        }
+    }
+
+    private static Timestamp toTimestamp(Object value) {
+        if (value instanceof Timestamp) {
+            return (Timestamp) value;
+        } else if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        } else if (value instanceof Instant) {
+            return Timestamp.from((Instant) value);
+        } else {
+            return new Timestamp(((Date) value).getTime());
+        }
+    }
+
+    private static java.sql.Date toSqlDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return (java.sql.Date) value;
+        } else if (value instanceof LocalDate) {
+            return java.sql.Date.valueOf((LocalDate) value);
+        } else {
+            return new java.sql.Date(((Date) value).getTime());
+        }
+    }
+
+    private static Time toTime(Object value) {
+        if (value instanceof Time) {
+            return (Time) value;
+        } else if (value instanceof LocalTime) {
+            return Time.valueOf((LocalTime) value);
+        } else {
+            return new Time(((Date) value).getTime());
+        }
+    }
+}
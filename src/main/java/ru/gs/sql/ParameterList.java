@@ -0,0 +1,40 @@
+package ru.gs.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Query parameters together with offsets of their placeholders in the
+ * rendered query text.
+ */
+final class ParameterList extends ArrayList<QueryParameter> {
+
+    private static final long serialVersionUID = 1L;
+
+    private int[] offsets;
+
+    /**
+     * Adds parameter whose placeholder starts at offset.
+     *
+     * @param parameter Parameter to add
+     * @param offset Placeholder offset in the query text
+     */
+    void add(QueryParameter parameter, int offset) {
+        int index = size();
+        if (offsets == null) {
+            offsets = new int[8];
+        } else if (index >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(index + 1, offsets.length * 2));
+        }
+        offsets[index] = offset;
+        add(parameter);
+    }
+
+    /**
+     * @param index Parameter index
+     * @return Offset of parameter placeholder in the query text
+     */
+    int getOffset(int index) {
+        return offsets[index];
+    }
+}
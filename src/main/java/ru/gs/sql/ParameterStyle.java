@@ -0,0 +1,49 @@
+package ru.gs.sql;
+
+/**
+ * How query values are written to SQL text.
+ *
+ * @see CommonQuery#setParameterStyle(ParameterStyle)
+ */
+public enum ParameterStyle {
+
+    /**
+     * Values are written as SQL literals, like <b>name='Petrov'</b>. Default style.
+     */
+    INLINE,
+    /**
+     * Values are replaced by JDBC placeholders, like <b>name=?</b>, and collected
+     * as query parameters.
+     */
+    QUESTION_MARK,
+    /**
+     * Values are replaced by numbered placeholders, like <b>name=$1</b>, and
+     * collected as query parameters. Used by PostgreSQL server-side statements.
+     */
+    NUMBERED;
+
+    int placeholderLength(int index) {
+        switch (this) {
+            case QUESTION_MARK:
+                return 1;
+            case NUMBERED:
+                return 1 + String.valueOf(index).length();
+            default:
+                return 0;
+        }
+    }
+
+    void appendPlaceholder(StringBuilder builder, int index) {
+        switch (this) {
+            case QUESTION_MARK:
+                builder.append('?');
+                break;
+            case NUMBERED:
+                builder.append('$');
+                builder.append(index);
+                break;
+            default:
+                throw new UnsupportedOperationException("Inline values have no placeholders");
+        }
+    }
+}
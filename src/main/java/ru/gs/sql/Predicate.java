@@ -0,0 +1,574 @@
+package ru.gs.sql;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import ru.gs.sql.dialect.Dialect;
+
+/**
+ * One condition of a WHERE clause, recorded when it is added and rendered
+ * with the rest of the query. Values are written by the query, so its
+ * parameter style and date format are applied at render time.
+ *
+ * @see WhereClause
+ */
+abstract class Predicate {
+
+    protected final String name;
+    /**
+     * AND, OR or null, set when the predicate is added to a WHERE clause.
+     */
+    String operator;
+
+    Predicate(String name) {
+        this.name = name;
+    }
+
+    abstract void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink);
+
+    /**
+     * @return Expected length of the rendered predicate
+     */
+    abstract int estimateLength(CommonQuery query);
+
+    /**
+     * name=value
+     */
+    static final class Equals extends Predicate {
+
+        private final Object value;
+
+        Equals(String name, Object value) {
+            super(name);
+            this.value = value;
+        }
+
+        void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+            query.appendIdentifier(builder, name);
+            builder.append('=');
+            query.insertValueDependsOnClass(builder, value, sink);
+        }
+
+        int estimateLength(CommonQuery query) {
+            return name.length() + 1 + query.estimateValueLength(value);
+        }
+    }
+
+    /**
+     * name [NOT] BETWEEN first AND second
+     */
+    static final class Between extends Predicate {
+
+        private final Object firstValue;
+        private final Object secondValue;
+        private final boolean negated;
+
+        Between(String name, Object firstValue, Object secondValue, boolean negated) {
+            super(name);
+            this.firstValue = firstValue;
+            this.secondValue = secondValue;
+            this.negated = negated;
+        }
+
+        void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+            query.appendIdentifier(builder, name);
+            builder.append(negated ? " NOT BETWEEN " : " BETWEEN ");
+            query.insertValueDependsOnClass(builder, firstValue, sink);
+            builder.append(" AND ");
+            query.insertValueDependsOnClass(builder, secondValue, sink);
+        }
+
+        int estimateLength(CommonQuery query) {
+            return name.length() + 18 + query.estimateValueLength(firstValue) + query.estimateValueLength(secondValue);
+        }
+    }
+
+    /**
+     * name=value for an unboxed primitive value
+     */
+    static final class PrimitiveEquals extends Predicate {
+
+        private final PrimitiveType type;
+        private final long bits;
+
+        PrimitiveEquals(String name, PrimitiveType type, long bits) {
+            super(name);
+            this.type = type;
+            this.bits = bits;
+        }
+
+        void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+            query.appendIdentifier(builder, name);
+            builder.append('=');
+            query.insertPrimitive(builder, type, bits, sink);
+        }
+
+        int estimateLength(CommonQuery query) {
+            return name.length() + 1 + query.estimatePrimitiveLength(type);
+        }
+    }
+
+    /**
+     * name [NOT] BETWEEN first AND second for unboxed primitive values
+     */
+    static final class PrimitiveBetween extends Predicate {
+
+        private final PrimitiveType type;
+        private final long firstBits;
+        private final long secondBits;
+        private final boolean negated;
+
+        PrimitiveBetween(String name, PrimitiveType type, long firstBits, long secondBits, boolean negated) {
+            super(name);
+            this.type = type;
+            this.firstBits = firstBits;
+            this.secondBits = secondBits;
+            this.negated = negated;
+        }
+
+        void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+            query.appendIdentifier(builder, name);
+            builder.append(negated ? " NOT BETWEEN " : " BETWEEN ");
+            query.insertPrimitive(builder, type, firstBits, sink);
+            builder.append(" AND ");
+            query.insertPrimitive(builder, type, secondBits, sink);
+        }
+
+        int estimateLength(CommonQuery query) {
+            return name.length() + 18 + 2 * query.estimatePrimitiveLength(type);
+        }
+    }
+
+    /**
+     * name [NOT] IN (values). Values are sorted and deduplicated, so the same
+     * set of values always gives the same text. Lists longer than the dialect
+     * allows are split into several IN groups joined with OR, or with AND for
+     * NOT IN. With placeholders, a dialect with array parameters gets one
+     * <b>name=ANY(?)</b> array parameter when the values have a known SQL
+     * array type, other dialects and other values get the list padded to a
+     * power of two by repeating the last value, so lists of similar size
+     * share one statement text and plan. An empty list matches no rows, or
+     * all rows for NOT IN.
+     */
+    abstract static class InList extends Predicate {
+
+        protected final boolean negated;
+
+        InList(String name, boolean negated) {
+            super(name);
+            this.negated = negated;
+        }
+
+        /**
+         * @return Number of values after deduplication
+         */
+        abstract int size();
+
+        /**
+         * Writes value number index as a literal or placeholder.
+         */
+        abstract void appendValue(CommonQuery query, StringBuilder builder, int index, ParameterList sink);
+
+        /**
+         * @return Values as one array parameter, null when they have no SQL
+         * array type
+         */
+        abstract Object[] toArrayParameter();
+
+        /**
+         * @return Expected length of one value as a literal or placeholder
+         */
+        abstract int estimateValueLength(CommonQuery query);
+
+        final void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+            int size = size();
+            if (size == 0) {
+                builder.append(negated ? "1=1" : "1=0");
+                return;
+            }
+            Dialect dialect = query.getDialect();
+            boolean parameterized = query.getParameterStyle() != ParameterStyle.INLINE;
+            if (parameterized && dialect.supportsArrayParameters()) {
+                Object[] array = toArrayParameter();
+                if (array != null) {
+                    query.appendIdentifier(builder, name);
+                    builder.append(negated ? "<>ALL(" : "=ANY(");
+                    query.appendParameter(builder, array, sink);
+                    builder.append(')');
+                    return;
+                }
+            }
+            int groupSize = dialect.getMaxInListSize() > 0 ? dialect.getMaxInListSize() : Integer.MAX_VALUE;
+            int length = size;
+            if (parameterized && length < groupSize) {
+                length = Math.min(Integer.highestOneBit(length - 1) << 1, groupSize);
+                length = Math.max(length, size);
+            }
+            boolean grouped = length > groupSize;
+            if (grouped) {
+                builder.append('(');
+            }
+            for (int start = 0; start < length; start += groupSize) {
+                if (start > 0) {
+                    builder.append(negated ? " AND " : " OR ");
+                }
+                query.appendIdentifier(builder, name);
+                builder.append(negated ? " NOT IN (" : " IN (");
+                int end = (int) Math.min((long) start + groupSize, length);
+                for (int i = start; i < end; i++) {
+                    if (i > start) {
+                        builder.append(',');
+                    }
+                    appendValue(query, builder, Math.min(i, size - 1), sink);
+                }
+                builder.append(')');
+            }
+            if (grouped) {
+                builder.append(')');
+            }
+        }
+
+        final int estimateLength(CommonQuery query) {
+            int size = size();
+            if (size == 0) {
+                return 3;
+            }
+            return name.length() + 10 + size * (estimateValueLength(query) + 1);
+        }
+    }
+
+    /**
+     * name [NOT] IN (values) of objects. Values of one comparable class are
+     * sorted, others keep their first occurrence order.
+     */
+    static final class In extends InList {
+
+        private final Object[] values;
+
+        In(String name, Object[] values, boolean negated) {
+            super(name, negated);
+            this.values = normalize(values);
+        }
+
+        private static Object[] normalize(Object[] values) {
+            if (values.length < 2) {
+                return values;
+            }
+            if (!isSortable(values)) {
+                return new LinkedHashSet<Object>(Arrays.asList(values)).toArray();
+            }
+            Arrays.sort(values);
+            int count = 1;
+            for (int i = 1; i < values.length; i++) {
+                if (!values[i].equals(values[count - 1])) {
+                    values[count++] = values[i];
+                }
+            }
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+
+        private static boolean isSortable(Object[] values) {
+            Class<?> type = values[0].getClass();
+            if (!(values[0] instanceof Comparable)) {
+                return false;
+            }
+            for (Object value : values) {
+                if (value.getClass() != type) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        void appendValue(CommonQuery query, StringBuilder builder, int index, ParameterList sink) {
+            query.insertValueDependsOnClass(builder, values[index], sink);
+        }
+
+        Object[] toArrayParameter() {
+            return ParameterBinder.arrayTypeName(values) != null ? values : null;
+        }
+
+        int estimateValueLength(CommonQuery query) {
+            return query.estimateValueLength(values[0]);
+        }
+    }
+
+    /**
+     * name [NOT] IN (values) of int or long values, kept unboxed as sorted
+     * distinct longs. Values are boxed only when they become parameters.
+     */
+    static final class PrimitiveIn extends InList {
+
+        private final PrimitiveType type;
+        private final long[] values;
+
+        PrimitiveIn(String name, int[] values, boolean negated) {
+            super(name, negated);
+            this.type = PrimitiveType.INT;
+            long[] widened = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                widened[i] = values[i];
+            }
+            this.values = normalize(widened);
+        }
+
+        PrimitiveIn(String name, long[] values, boolean negated) {
+            super(name, negated);
+            this.type = PrimitiveType.LONG;
+            this.values = normalize(values.clone());
+        }
+
+        private static long[] normalize(long[] values) {
+            if (values.length < 2) {
+                return values;
+            }
+            Arrays.sort(values);
+            int count = 1;
+            for (int i = 1; i < values.length; i++) {
+                if (values[i] != values[count - 1]) {
+                    values[count++] = values[i];
+                }
+            }
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        void appendValue(CommonQuery query, StringBuilder builder, int index, ParameterList sink) {
+            query.insertPrimitive(builder, type, values[index], sink);
+        }
+
+        Object[] toArrayParameter() {
+            Object[] boxed = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                boxed[i] = type.box(values[i]);
+            }
+            return boxed;
+        }
+
+        int estimateValueLength(CommonQuery query) {
+            return query.estimatePrimitiveLength(type);
+        }
+    }
+
+    /**
+     * Keyset pagination condition: rows that come after the last key in the
+     * order of key fields. Rendered as a row value comparison
+     * <b>(a,b)&gt;(1,2)</b> when the dialect supports it and all fields are
+     * sorted in one direction, otherwise as the expanded
+     * <b>(a&gt;=1 AND (a&gt;1 OR (a=1 AND b&gt;2)))</b>, where the leading
+     * a&gt;=1 lets the database use an index range on the first field.
+     */
+    static final class Keyset extends Predicate {
+
+        private final String[] fields;
+        private final SortOrder[] sortOrders;
+        private final Object[] lastKey;
+
+        Keyset(String[] fields, SortOrder[] sortOrders, Object[] lastKey) {
+            super(fields[0]);
+            this.fields = fields;
+            this.sortOrders = sortOrders;
+            this.lastKey = lastKey;
+        }
+
+        void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+            if (fields.length > 1 && isOneDirection() && query.getDialect().supportsRowValueComparison()) {
+                builder.append('(');
+                query.appendIdentifierList(builder, Arrays.asList(fields));
+                builder.append(')').append(isDescending(0) ? '<' : '>').append('(');
+                for (int i = 0; i < lastKey.length; i++) {
+                    if (i > 0) {
+                        builder.append(',');
+                    }
+                    query.insertValueDependsOnClass(builder, lastKey[i], sink);
+                }
+                builder.append(')');
+                return;
+            }
+            if (fields.length == 1) {
+                appendComparison(query, builder, sink, 0, true);
+                return;
+            }
+            builder.append('(');
+            appendComparison(query, builder, sink, 0, false);
+            builder.append(" AND ");
+            appendSeek(query, builder, sink, 0);
+            builder.append(')');
+        }
+
+        int estimateLength(CommonQuery query) {
+            int length = 0;
+            for (int i = 0; i < fields.length; i++) {
+                length += fields[i].length() + query.estimateValueLength(lastKey[i]);
+            }
+            return length * (fields.length + 1) + 12 * fields.length;
+        }
+
+        private void appendSeek(CommonQuery query, StringBuilder builder, ParameterList sink, int index) {
+            if (index == fields.length - 1) {
+                appendComparison(query, builder, sink, index, true);
+                return;
+            }
+            builder.append('(');
+            appendComparison(query, builder, sink, index, true);
+            builder.append(" OR (");
+            query.appendIdentifier(builder, fields[index]);
+            builder.append('=');
+            query.insertValueDependsOnClass(builder, lastKey[index], sink);
+            builder.append(" AND ");
+            appendSeek(query, builder, sink, index + 1);
+            builder.append("))");
+        }
+
+        private void appendComparison(CommonQuery query, StringBuilder builder, ParameterList sink, int index, boolean strict) {
+            query.appendIdentifier(builder, fields[index]);
+            builder.append(isDescending(index) ? '<' : '>');
+            if (!strict) {
+                builder.append('=');
+            }
+            query.insertValueDependsOnClass(builder, lastKey[index], sink);
+        }
+
+        private boolean isDescending(int index) {
+            return sortOrders[index] == SortOrder.DESC;
+        }
+
+        private boolean isOneDirection() {
+            for (int i = 1; i < sortOrders.length; i++) {
+                if (isDescending(i) != isDescending(0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * name [NOT] LIKE 'pattern'. Without a wildcard position the value is
+     * the pattern itself. With one, the value is matched literally: its %, _,
+     * escape chars and other dialect special chars, like [ on SQL Server, are
+     * escaped with the dialect escape char, followed by
+     * an ESCAPE clause when there were any, and the wildcard is added before
+     * or after it. Inline patterns are written straight into the query text.
+     */
+    static final class Like extends Predicate {
+
+        private final Object value;
+        private final String wildcard;
+        private final WildcardPosition position;
+        private final boolean negated;
+
+        Like(String name, Object value, char wildcard, WildcardPosition position, boolean negated) {
+            super(name);
+            this.value = value;
+            this.wildcard = String.valueOf(wildcard);
+            this.position = position;
+            this.negated = negated;
+        }
+
+        void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+            query.appendIdentifier(builder, name);
+            builder.append(negated ? " NOT LIKE " : " LIKE ");
+            Dialect dialect = query.getDialect();
+            CharSequence text = value instanceof CharSequence ? (CharSequence) value : value.toString();
+            String escape = dialect.getLikeEscape();
+            String specials = "%_" + escape + dialect.getLikeSpecialChars();
+            boolean escaped;
+            if (query.getParameterStyle() != ParameterStyle.INLINE) {
+                escaped = position != null && needsEscape(text, specials);
+                query.appendParameter(builder, pattern(text, escape, specials, escaped), sink);
+            } else {
+                builder.append('\'');
+                if (position == WildcardPosition.AT_START) {
+                    dialect.appendStringContent(builder, wildcard, 0, 1);
+                }
+                if (position == null) {
+                    dialect.appendStringContent(builder, text, 0, text.length());
+                    escaped = false;
+                } else {
+                    escaped = appendEscapedPattern(dialect, builder, text, escape, specials);
+                }
+                if (position == WildcardPosition.AT_END) {
+                    dialect.appendStringContent(builder, wildcard, 0, 1);
+                }
+                builder.append('\'');
+            }
+            if (escaped) {
+                builder.append(" ESCAPE ");
+                dialect.appendStringLiteral(builder, escape);
+            }
+        }
+
+        private static boolean isSpecial(char ch, String specials) {
+            return specials.indexOf(ch) >= 0;
+        }
+
+        private static boolean needsEscape(CharSequence text, String specials) {
+            for (int i = 0; i < text.length(); i++) {
+                if (isSpecial(text.charAt(i), specials)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Appends text as literal content with LIKE special chars escaped.
+         *
+         * @return True if any char was escaped
+         */
+        private static boolean appendEscapedPattern(Dialect dialect, StringBuilder builder, CharSequence text, String escape, String specials) {
+            boolean escaped = false;
+            int run = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (isSpecial(ch, specials)) {
+                    dialect.appendStringContent(builder, text, run, i);
+                    dialect.appendStringContent(builder, escape, 0, 1);
+                    run = i;
+                    escaped = true;
+                }
+            }
+            dialect.appendStringContent(builder, text, run, text.length());
+            return escaped;
+        }
+
+        /**
+         * @return Whole pattern as a parameter value
+         */
+        private String pattern(CharSequence text, String escape, String specials, boolean escaped) {
+            if (position == null) {
+                return text.toString();
+            }
+            if (!escaped) {
+                return position == WildcardPosition.AT_START ? wildcard.concat(text.toString()) : text.toString().concat(wildcard);
+            }
+            StringBuilder pattern = new StringBuilder(text.length() + 8);
+            if (position == WildcardPosition.AT_START) {
+                pattern.append(wildcard);
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (isSpecial(ch, specials)) {
+                    pattern.append(escape);
+                }
+                pattern.append(ch);
+            }
+            if (position == WildcardPosition.AT_END) {
+                pattern.append(wildcard);
+            }
+            return pattern.toString();
+        }
+
+        int estimateLength(CommonQuery query) {
+            return name.length() + 12 + query.estimateValueLength(value);
+        }
+
+    }
+}
@@ -0,0 +1,126 @@
+package ru.gs.sql;
+
+import java.sql.Types;
+
+/**
+ * Primitive value types that builders store unboxed. Values of every type
+ * are kept as long bits, doubles and floats as their raw bits, so predicates and
+ * assignments need one long field whatever the type is. Values are boxed
+ * only when they become query parameters.
+ */
+enum PrimitiveType {
+
+    INT(Types.INTEGER, 8) {
+        void appendLiteral(StringBuilder builder, long bits, CommonQuery query) {
+            builder.append((int) bits);
+        }
+
+        Object box(long bits) {
+            return Integer.valueOf((int) bits);
+        }
+    },
+    LONG(Types.BIGINT, 8) {
+        void appendLiteral(StringBuilder builder, long bits, CommonQuery query) {
+            builder.append(bits);
+        }
+
+        Object box(long bits) {
+            return Long.valueOf(bits);
+        }
+    },
+    DOUBLE(Types.DOUBLE, 8) {
+        void appendLiteral(StringBuilder builder, long bits, CommonQuery query) {
+            double value = Double.longBitsToDouble(bits);
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException(value + " cannot be written as SQL literal");
+            }
+            builder.append(value);
+        }
+
+        Object box(long bits) {
+            return Double.valueOf(Double.longBitsToDouble(bits));
+        }
+    },
+    FLOAT(Types.REAL, 8) {
+        void appendLiteral(StringBuilder builder, long bits, CommonQuery query) {
+            float value = Float.intBitsToFloat((int) bits);
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                throw new IllegalArgumentException(value + " cannot be written as SQL literal");
+            }
+            builder.append(value);
+        }
+
+        Object box(long bits) {
+            return Float.valueOf(Float.intBitsToFloat((int) bits));
+        }
+    },
+    BOOLEAN(Types.BOOLEAN, 5) {
+        void appendLiteral(StringBuilder builder, long bits, CommonQuery query) {
+            query.getDialect().appendBooleanLiteral(builder, bits != 0);
+        }
+
+        Object box(long bits) {
+            return Boolean.valueOf(bits != 0);
+        }
+    },
+    CHAR(Types.VARCHAR, 3) {
+        void appendLiteral(StringBuilder builder, long bits, CommonQuery query) {
+            char value = (char) bits;
+            builder.append('\'');
+            if (value == '\'' || value == '\\') {
+                query.getDialect().appendStringContent(builder, String.valueOf(value), 0, 1);
+            } else {
+                builder.append(value);
+            }
+            builder.append('\'');
+        }
+
+        Object box(long bits) {
+            return String.valueOf((char) bits);
+        }
+    };
+
+    private final int sqlType;
+    private final int expectedLength;
+
+    PrimitiveType(int sqlType, int expectedLength) {
+        this.sqlType = sqlType;
+        this.expectedLength = expectedLength;
+    }
+
+    /**
+     * Writes the value as a literal without boxing it.
+     */
+    abstract void appendLiteral(StringBuilder builder, long bits, CommonQuery query);
+
+    /**
+     * @return Value as a parameter value
+     */
+    abstract Object box(long bits);
+
+    /**
+     * @return JDBC type of parameters of this type
+     */
+    int getSqlType() {
+        return sqlType;
+    }
+
+    /**
+     * @return Expected length of a literal of this type
+     */
+    int getExpectedLength() {
+        return expectedLength;
+    }
+
+    static long bits(double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    static long bits(float value) {
+        return Float.floatToRawIntBits(value);
+    }
+
+    static long bits(boolean value) {
+        return value ? 1 : 0;
+    }
+}
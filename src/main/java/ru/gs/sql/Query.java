@@ -0,0 +1,33 @@
+package ru.gs.sql;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * SQL statement that can be rendered as a String or written to any
+ * Appendable without building the whole String first.
+ *
+ * @see StatementWriter
+ */
+public interface Query {
+
+    /**
+     * @return SQL query text
+     */
+    String getQueryString();
+
+    /**
+     * @return Values of query placeholders in placeholder order, empty when
+     * values are written inline
+     * @see ParameterStyle
+     */
+    List<QueryParameter> getParameters();
+
+    /**
+     * Writes the same text as getQueryString() to out.
+     *
+     * @param out Target to write SQL query text to
+     * @throws IOException When out fails to append
+     */
+    void writeTo(Appendable out) throws IOException;
+}
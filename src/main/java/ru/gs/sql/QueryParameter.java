@@ -0,0 +1,97 @@
+package ru.gs.sql;
+
+import java.util.Arrays;
+
+/**
+ * Value of a query placeholder together with its JDBC type.
+ *
+ * @see ParameterStyle
+ * @see ParameterBinder
+ */
+public final class QueryParameter {
+
+    private final Object value;
+    private final int sqlType;
+
+    /**
+     * @param value Parameter value, can be null
+     * @param sqlType JDBC type of the value, one of java.sql.Types
+     */
+    public QueryParameter(Object value, int sqlType) {
+        this.value = value;
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * Creates parameter with JDBC type resolved from value class.
+     *
+     * @param value Parameter value, can be null
+     * @return Typed parameter
+     */
+    public static QueryParameter of(Object value) {
+        return new QueryParameter(value, sqlTypeOf(value));
+    }
+
+    /**
+     * @return JDBC type of value from the renderer registered for its class
+     * @see ValueRenderers
+     */
+    static int sqlTypeOf(Object value) {
+        return ValueRenderers.sqlTypeOf(value);
+    }
+
+    /**
+     * @return Parameter value, can be null
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * @return JDBC type of the value, one of java.sql.Types
+     */
+    public int getSqlType() {
+        return sqlType;
+    }
+
+    /**
+     * Parameters are equal when their types are equal and so are their
+     * values; arrays, like IN lists bound as one array or byte[], are
+     * compared by their elements.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof QueryParameter) {
+            QueryParameter other = (QueryParameter) obj;
+            if (sqlType != other.sqlType) {
+                return false;
+            } else if (value == null || other.value == null) {
+                return value == other.value;
+            } else if (value.getClass().isArray()) {
+                return Arrays.deepEquals(new Object[]{value}, new Object[]{other.value});
+            } else {
+                return value.equals(other.value);
+            }
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int valueHash;
+        if (value == null) {
+            valueHash = 0;
+        } else if (value.getClass().isArray()) {
+            valueHash = Arrays.deepHashCode(new Object[]{value});
+        } else {
+            valueHash = value.hashCode();
+        }
+        return 31 * sqlType + valueHash;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
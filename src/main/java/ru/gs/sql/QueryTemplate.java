@@ -0,0 +1,188 @@
+package ru.gs.sql;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import ru.gs.sql.dialect.Dialect;
+
+/**
+ * Immutable compiled query shape: pre-rendered static SQL fragments with typed
+ * parameter slots between them. Create it with compileTemplate() of a query
+ * built with QUESTION_MARK or NUMBERED parameter style, then render it with new
+ * values as many times as needed. Rendering does not repeat any of the query
+ * building checks and appends each fragment and value once.<br><br>
+ *
+ * Example:<br>
+ * SelectQuery query = new SelectQuery();<br>
+ * query.setParameterStyle(ParameterStyle.QUESTION_MARK);<br>
+ * query.addField("name").addFrom("employee").addWhere();<br>
+ * query.isEquals("department", "").andLike("family", "", '%', WildcardPosition.AT_END);<br>
+ * QueryTemplate template = query.compileTemplate();<br><br>
+ *
+ * template.render("Sales", "Petr%");<br>
+ * Result: SELECT name FROM employee WHERE department='Sales' AND family LIKE 'Petr%'<br><br>
+ *
+ * template.bind("Sales", "Petr%");<br>
+ * Result: SELECT name FROM employee WHERE department=? AND family LIKE ? with both values as parameters<br><br>
+ *
+ * Slot types are taken from the values the template was compiled with, and new
+ * values must be instances of them. LIKE slots take the whole pattern, with
+ * wildcards. Templates are safe to share between threads.
+ */
+public final class QueryTemplate {
+
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    private final String queryString;
+    private final String[] fragments;
+    private final Class<?>[] slotTypes;
+    private final int[] sqlTypes;
+    private final DateLiteralFormat dateLiteralFormat;
+    private final Dialect dialect;
+    private final int fragmentsLength;
+
+    QueryTemplate(CharSequence text, ParameterList parameters, ParameterStyle parameterStyle, DateLiteralFormat dateLiteralFormat, Dialect dialect) {
+        int count = parameters.size();
+        this.queryString = text.toString();
+        this.fragments = new String[count + 1];
+        this.slotTypes = new Class<?>[count];
+        this.sqlTypes = new int[count];
+        this.dateLiteralFormat = dateLiteralFormat;
+        this.dialect = dialect;
+
+        int start = 0;
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = parameters.getOffset(i);
+            fragments[i] = queryString.substring(start, offset);
+            length += fragments[i].length();
+            start = offset + parameterStyle.placeholderLength(i + 1);
+
+            QueryParameter parameter = parameters.get(i);
+            slotTypes[i] = parameter.getValue() == null ? Object.class : parameter.getValue().getClass();
+            sqlTypes[i] = parameter.getSqlType();
+        }
+        fragments[count] = queryString.substring(start);
+        this.fragmentsLength = length + fragments[count].length();
+    }
+
+    /**
+     * @return Number of parameter slots
+     */
+    public int getParameterCount() {
+        return slotTypes.length;
+    }
+
+    /**
+     * @param index Slot index, starting from 0
+     * @return Class that values of the slot must be instances of
+     */
+    public Class<?> getSlotType(int index) {
+        return slotTypes[index];
+    }
+
+    /**
+     * @param index Slot index, starting from 0
+     * @return JDBC type of the slot, one of java.sql.Types
+     */
+    public int getSlotSqlType(int index) {
+        return sqlTypes[index];
+    }
+
+    /**
+     * @return Query text with placeholders, as the template was compiled
+     */
+    public String getQueryString() {
+        return queryString;
+    }
+
+    /**
+     * Renders the query with values written inline as SQL literals of the
+     * dialect the template was compiled with.
+     *
+     * @param values Slot values in slot order
+     * @return SQL query
+     * @throws IllegalArgumentException When values do not match slots
+     */
+    public String render(Object... values) {
+        checkValues(values);
+        StringBuilder builder = BuilderPool.acquire(fragmentsLength + ESTIMATED_VALUE_LENGTH * values.length);
+        appendTo(builder, values);
+        String result = builder.toString();
+        BuilderPool.release(builder);
+        return result;
+    }
+
+    /**
+     * Renders the query with values written inline and writes it to out.
+     *
+     * @param out Target to write SQL query to
+     * @param values Slot values in slot order
+     * @throws IOException When out fails to append
+     * @throws IllegalArgumentException When values do not match slots
+     */
+    public void writeTo(Appendable out, Object... values) throws IOException {
+        checkValues(values);
+        if (out instanceof StringBuilder) {
+            appendTo((StringBuilder) out, values);
+            return;
+        }
+        StringBuilder literal = new StringBuilder(ESTIMATED_VALUE_LENGTH);
+        for (int i = 0; i < values.length; i++) {
+            out.append(fragments[i]);
+            literal.setLength(0);
+            CommonQuery.appendLiteral(literal, values[i], dateLiteralFormat, dialect);
+            out.append(literal, 0, literal.length());
+        }
+        out.append(fragments[values.length]);
+    }
+
+    private void appendTo(StringBuilder builder, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            builder.append(fragments[i]);
+            CommonQuery.appendLiteral(builder, values[i], dateLiteralFormat, dialect);
+        }
+        builder.append(fragments[values.length]);
+    }
+
+    /**
+     * Returns the query text with placeholders together with values as typed
+     * parameters. The text is shared, nothing is rendered.
+     *
+     * @param values Slot values in slot order
+     * @return Query ready for ParameterBinder
+     * @throws IllegalArgumentException When values do not match slots
+     */
+    public BuiltQuery bind(Object... values) {
+        checkValues(values);
+        List<QueryParameter> parameters = new ArrayList<QueryParameter>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            parameters.add(new QueryParameter(values[i], slotTypes[i] == Object.class ? QueryParameter.sqlTypeOf(values[i]) : sqlTypes[i]));
+        }
+        return new BuiltQuery(queryString, parameters);
+    }
+
+    private void checkValues(Object[] values) {
+        if (values == null || values.length != slotTypes.length) {
+            throw new IllegalArgumentException("Template has " + slotTypes.length + " slots, but "
+                    + (values == null ? 0 : values.length) + " values were given");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (slotTypes[i] == Object.class) {
+                continue;
+            }
+            if (values[i] == null) {
+                throw new IllegalArgumentException("Value " + i + " cannot be null");
+            }
+            if (!slotTypes[i].isInstance(values[i])) {
+                throw new IllegalArgumentException("Value " + i + " is " + values[i].getClass().getName()
+                        + ", but slot type is " + slotTypes[i].getName());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return queryString;
+    }
+}
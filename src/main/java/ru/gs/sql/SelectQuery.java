@@ -1,5 +1,8 @@
 package ru.gs.sql;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import ru.gs.sql.exceptions.SQLCreationException;
 
@@ -28,15 +31,23 @@ public final class SelectQuery extends CommonQuery {
     private static final String EXCEPTION_NULL_TABLE_NAME = "Table name cannot be null or empty";
     private static final String EXCEPTION_NULL_FIELD = "Field name cannot be null or empty";
     private static final String EXCEPTION_NULL_VALUE = "Value cannot be null";
-    private static final String AND = "AND ";
-    private static final String OR = "OR ";
+
+    private final List<String> fields = new ArrayList<String>();
+    private final List<String> tables = new ArrayList<String>();
+    private boolean fromAdded;
+    private final WhereClause where = new WhereClause();
+    private final List<String> orderFields = new ArrayList<String>();
+    private final List<SortOrder> sortOrders = new ArrayList<SortOrder>();
+    private String[] keyFields;
+    private SortOrder[] keySortOrders;
+    private long limit;
+    private long offset;
 
     /**
      * Create SQL query with just "SELECT" word.
      * 
      */
     public SelectQuery() {
-        queryBuilder.append("SELECT ");
     }
 
     /**
@@ -60,7 +71,6 @@ public final class SelectQuery extends CommonQuery {
         if (selectableFieldNames == null) {
             throw new SQLCreationException("Selectable fields names list cannot be null");
         }
-        queryBuilder.append("SELECT ");
         for (String name : selectableFieldNames) {
             addField(name);
         }
@@ -83,14 +93,21 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When input name is null or it's length is 0 
      */
     public SelectQuery addField(String name) throws SQLCreationException {
+        queryChanged();
         if (isStringEmptyOrNull(name)) {
             throw new SQLCreationException(EXCEPTION_NULL_FIELD);
         }
-        queryBuilder.append(name);
-        queryBuilder.append(",");
+        fields.add(name);
         return this;
     }
 
+    /**
+     * @return Names of fields in SELECT clause, in the order they were added
+     */
+    public List<String> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
     /**
      * Adds a table name after addFrom() method.
      * Can be invoked several times. In this case, tableNames will be separated by comma.
@@ -100,12 +117,11 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When table name is null or it's length is 0  
      */
     public SelectQuery addTableName(String tableName) throws SQLCreationException {
+        queryChanged();
         if (isStringEmptyOrNull(tableName)) {
             throw new SQLCreationException(EXCEPTION_NULL_TABLE_NAME);
         }
-        deleteLastCommaIFExist();
-        queryBuilder.append(tableName);
-        queryBuilder.append(",");
+        tables.add(tableName);
         return this;
     }
 
@@ -126,8 +142,8 @@ public final class SelectQuery extends CommonQuery {
      * @return SelectQuery with added "WHERE" word.
      */
     public SelectQuery addWhere() {
-        deleteLastCommaIFExist();
-        queryBuilder.append(" WHERE ");
+        queryChanged();
+        where.addKeyword();
         return this;
     }
 
@@ -148,8 +164,8 @@ public final class SelectQuery extends CommonQuery {
      * @return SelectQuery with added FROM.
      */
     public SelectQuery addFrom() {
-        deleteLastCommaIFExist();
-        queryBuilder.append(" FROM ");
+        queryChanged();
+        fromAdded = true;
         return this;
     }
 
@@ -170,13 +186,12 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When table name is null or it's length is 0
      */
     public SelectQuery addFrom(String tableName) throws SQLCreationException {
+        queryChanged();
         if (isStringEmptyOrNull(tableName)) {
             throw new SQLCreationException(EXCEPTION_NULL_TABLE_NAME);
         }
-        deleteLastCommaIFExist();
-        queryBuilder.append(" FROM ");
-        queryBuilder.append(tableName);
-        queryBuilder.append(",");
+        fromAdded = true;
+        tables.add(tableName);
         return this;
     }
 
@@ -195,17 +210,12 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age=4
      * 
      * @param name Name of field to equal
-     * @param value Object to equals to. Can be String, Integer, Long and Date
+     * @param value Object to equals to. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with added equals where clause
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery isEquals(String name, Object value) throws SQLCreationException {
-        checkSimpleLikeParameters(name, value);
-        queryBuilder.append(name);
-        queryBuilder.append("=");
-        insertValueDependsOnClass(value);
-        queryBuilder.append(" ");
-        return this;
+        return addPredicate(null, equalsPredicate(name, value));
     }
 
     /**
@@ -225,20 +235,12 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age=4 AND city='London'
      * 
      * @param name Name of field to equal
-     * @param value Object to equals to. Can be String, Integer, Long and Date
+     * @param value Object to equals to. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with added "AND" and equals where clause
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery andIsEquals(String name, Object value) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(AND);
-        }
-        isEquals(name, value);
-        return this;
-    }
-
-    protected boolean isNotFirstLogicalConstraint() {
-        return !queryBuilder.substring(queryBuilder.length() - 6, queryBuilder.length() - 1).equalsIgnoreCase("WHERE");
+        return addPredicate(WhereClause.AND, equalsPredicate(name, value));
     }
 
     /**
@@ -270,16 +272,261 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age=4 OR city='London'
      * 
      * @param name Name of field to equal
-     * @param value Object to equals to. Can be String, Integer, Long and Date
+     * @param value Object to equals to. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with added "OR" and equals where clause
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery orIsEquals(String name, Object value) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(OR);
-        }
-        isEquals(name, value);
-        return this;
+        return addPredicate(WhereClause.OR, equalsPredicate(name, value));
+    }
+
+    /**
+     * Adds a where clause equals with an int value, written without boxing.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #isEquals(String, Object)
+     */
+    public SelectQuery isEquals(String name, int value) throws SQLCreationException {
+        return addPredicate(null, primitiveEqualsPredicate(name, PrimitiveType.INT, value));
+    }
+
+    /**
+     * Adds a where clause equals with a long value, written without boxing.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #isEquals(String, Object)
+     */
+    public SelectQuery isEquals(String name, long value) throws SQLCreationException {
+        return addPredicate(null, primitiveEqualsPredicate(name, PrimitiveType.LONG, value));
+    }
+
+    /**
+     * Adds a where clause equals with a double value, written without boxing.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #isEquals(String, Object)
+     */
+    public SelectQuery isEquals(String name, double value) throws SQLCreationException {
+        return addPredicate(null, primitiveEqualsPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a where clause equals with a float value, written without boxing.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #isEquals(String, Object)
+     */
+    public SelectQuery isEquals(String name, float value) throws SQLCreationException {
+        return addPredicate(null, primitiveEqualsPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a where clause equals with a boolean value, written without boxing.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #isEquals(String, Object)
+     */
+    public SelectQuery isEquals(String name, boolean value) throws SQLCreationException {
+        return addPredicate(null, primitiveEqualsPredicate(name, PrimitiveType.BOOLEAN, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a where clause equals with a char value, written without boxing.<br>
+     * The char is written as a one char string literal.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #isEquals(String, Object)
+     */
+    public SelectQuery isEquals(String name, char value) throws SQLCreationException {
+        return addPredicate(null, primitiveEqualsPredicate(name, PrimitiveType.CHAR, value));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals with an int value, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andIsEquals(String, Object)
+     */
+    public SelectQuery andIsEquals(String name, int value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveEqualsPredicate(name, PrimitiveType.INT, value));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals with a long value, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andIsEquals(String, Object)
+     */
+    public SelectQuery andIsEquals(String name, long value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveEqualsPredicate(name, PrimitiveType.LONG, value));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals with a double value, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andIsEquals(String, Object)
+     */
+    public SelectQuery andIsEquals(String name, double value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveEqualsPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals with a float value, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andIsEquals(String, Object)
+     */
+    public SelectQuery andIsEquals(String name, float value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveEqualsPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals with a boolean value, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andIsEquals(String, Object)
+     */
+    public SelectQuery andIsEquals(String name, boolean value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveEqualsPredicate(name, PrimitiveType.BOOLEAN, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause equals with a char value, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * The char is written as a one char string literal.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "AND" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andIsEquals(String, Object)
+     */
+    public SelectQuery andIsEquals(String name, char value) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveEqualsPredicate(name, PrimitiveType.CHAR, value));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals with an int value, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orIsEquals(String, Object)
+     */
+    public SelectQuery orIsEquals(String name, int value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveEqualsPredicate(name, PrimitiveType.INT, value));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals with a long value, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orIsEquals(String, Object)
+     */
+    public SelectQuery orIsEquals(String name, long value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveEqualsPredicate(name, PrimitiveType.LONG, value));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals with a double value, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orIsEquals(String, Object)
+     */
+    public SelectQuery orIsEquals(String name, double value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveEqualsPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals with a float value, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orIsEquals(String, Object)
+     */
+    public SelectQuery orIsEquals(String name, float value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveEqualsPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals with a boolean value, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orIsEquals(String, Object)
+     */
+    public SelectQuery orIsEquals(String name, boolean value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveEqualsPredicate(name, PrimitiveType.BOOLEAN, PrimitiveType.bits(value)));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause equals with a char value, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * The char is written as a one char string literal.<br>
+     * 
+     * @param name Name of field to equal
+     * @param value Value to equal to
+     * @return SelectQuery with added "OR" and equals where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orIsEquals(String, Object)
+     */
+    public SelectQuery orIsEquals(String name, char value) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveEqualsPredicate(name, PrimitiveType.CHAR, value));
     }
 
     /**
@@ -297,19 +544,16 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age BETWEEN 12 AND 18
      * 
      * @param name Name of field to BETWEEN
-     * @param firstValue First value in BETWEEN expression. Can be String, Integer, Long and Date
-     * @param secondValue Second value in BETWEEN expression. Can be String, Integer, Long and Date
+     * @param firstValue First value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @param secondValue Second value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with added BETWEEN where clause
      * @throws SQLCreationException When name parameter is null or empty, or firstValue parameter is null, or secondValue parameter is null
      */
     public SelectQuery between(String name, Object firstValue, Object secondValue) throws SQLCreationException {
-        checkBetweenParameters(name, firstValue, secondValue);
-        queryBuilder.append(name);
-        commonBetween(firstValue, secondValue);
-        return this;
+        return addPredicate(null, betweenPredicate(name, firstValue, secondValue, false));
     }
     
-    private void checkBetweenParameters(String name, Object firstValue, Object secondValue) throws SQLCreationException {
+    private Predicate betweenPredicate(String name, Object firstValue, Object secondValue, boolean negated) throws SQLCreationException {
         if (isStringEmptyOrNull(name)) {
             throw new SQLCreationException(EXCEPTION_NULL_FIELD);
         } else if (firstValue == null) {
@@ -317,14 +561,7 @@ public final class SelectQuery extends CommonQuery {
         } else if (secondValue == null) {
             throw new SQLCreationException("Second value for BETWEEN cannot be null");
         }
-    }
-    
-    private void commonBetween(Object firstValue, Object secondValue) {
-        queryBuilder.append(" BETWEEN ");
-        insertValueDependsOnClassNumberOrDate(firstValue);
-        queryBuilder.append(" AND ");
-        insertValueDependsOnClassNumberOrDate(secondValue);
-        queryBuilder.append(" ");
+        return new Predicate.Between(name, firstValue, secondValue, negated);
     }
     
     /**
@@ -342,17 +579,13 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age NOT BETWEEN 12 AND 18
      * 
      * @param name Name of field to NOT BETWEEN
-     * @param firstValue First value in BETWEEN expression. Can be String, Integer, Long and Date
-     * @param secondValue Second value in BETWEEN expression. Can be String, Integer, Long and Date
+     * @param firstValue First value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @param secondValue Second value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with added BETWEEN where clause
      * @throws SQLCreationException When name parameter is null or empty, or firstValue parameter is null, or secondValue parameter is null
      */
     public SelectQuery notBetween(String name, Object firstValue, Object secondValue) throws SQLCreationException {
-        checkBetweenParameters(name, firstValue, secondValue);
-        queryBuilder.append(name);
-        queryBuilder.append(" NOT");
-        commonBetween(firstValue, secondValue);
-        return this;
+        return addPredicate(null, betweenPredicate(name, firstValue, secondValue, true));
     }
 
     /**
@@ -384,17 +617,13 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age BETWEEN 12 AND 18 AND city='London'
      * 
      * @param name Name of field to BETWEEN
-     * @param firstValue First value in BETWEEN expression. Can be String, Integer, Long and Date
-     * @param secondValue Second value in BETWEEN expression. Can be String, Integer, Long and Date
+     * @param firstValue First value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @param secondValue Second value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with a "AND" keyword and then, added BETWEEN where clause
      * @throws SQLCreationException When name parameter is null or empty, or firstValue parameter is null, or secondValue parameter is null
      */
     public SelectQuery andBetween(String name, Object firstValue, Object secondValue) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(AND);
-        }
-        between(name, firstValue, secondValue);
-        return this;
+        return addPredicate(WhereClause.AND, betweenPredicate(name, firstValue, secondValue, false));
     }
     
     /**
@@ -426,17 +655,13 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age NOT BETWEEN 12 AND 18 AND city='London'
      * 
      * @param name Name of field to NOT BETWEEN
-     * @param firstValue First value in NOT BETWEEN expression. Can be String, Integer, Long and Date
-     * @param secondValue Second value in NOT BETWEEN expression. Can be String, Integer, Long and Date
+     * @param firstValue First value in NOT BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @param secondValue Second value in NOT BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with a "AND" keyword and then, added NOT BETWEEN where clause
      * @throws SQLCreationException When name parameter is null or empty, or firstValue parameter is null, or secondValue parameter is null
      */
     public SelectQuery andNotBetween(String name, Object firstValue, Object secondValue) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(AND);
-        }
-        notBetween(name, firstValue, secondValue);
-        return this;
+        return addPredicate(WhereClause.AND, betweenPredicate(name, firstValue, secondValue, true));
     }
 
     /**
@@ -468,17 +693,13 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age BETWEEN 12 AND 18 OR city='London'
      * 
      * @param name Name of field to BETWEEN
-     * @param firstValue First value in BETWEEN expression. Can be String, Integer, Long and Date
-     * @param secondValue Second value in BETWEEN expression. Can be String, Integer, Long and Date
+     * @param firstValue First value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @param secondValue Second value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with a "OR" keyword and then, added BETWEEN where clause
      * @throws SQLCreationException When name parameter is null or empty, or firstValue parameter is null, or secondValue parameter is null
      */
     public SelectQuery orBetween(String name, Object firstValue, Object secondValue) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(OR);
-        }
-        between(name, firstValue, secondValue);
-        return this;
+        return addPredicate(WhereClause.OR, betweenPredicate(name, firstValue, secondValue, false));
     }
     
     /**
@@ -510,138 +731,552 @@ public final class SelectQuery extends CommonQuery {
      * SELECT id,name FROM employee WHERE age BETWEEN 12 AND 18 OR city='London'
      * 
      * @param name Name of field to BETWEEN
-     * @param firstValue First value in BETWEEN expression. Can be String, Integer, Long and Date
-     * @param secondValue Second value in BETWEEN expression. Can be String, Integer, Long and Date
+     * @param firstValue First value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @param secondValue Second value in BETWEEN expression. Can be String, number, Boolean, Date or any class ValueRenderers can write
      * @return SelectQuery with a "OR" keyword and then, added BETWEEN where clause
      * @throws SQLCreationException When name parameter is null or empty, or firstValue parameter is null, or secondValue parameter is null
      */
     public SelectQuery orNotBetween(String name, Object firstValue, Object secondValue) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(OR);
-        }
-        notBetween(name, firstValue, secondValue);
-        return this;
+        return addPredicate(WhereClause.OR, betweenPredicate(name, firstValue, secondValue, true));
     }
 
     /**
-     * Adds a where clause LIKE with wildcard<br><br>
-     * 
-     * Example: <br>
-     * SelectQuery query = new SelectQuery();<br>
-     * query.addField("id");<br>
-     * query.addField("name");<br>
-     * query.addFrom("employee");<br>
-     * addWhere();<br>
-     * <b>query.like("family", "Petr", '%', WildcardPosition.AT_END);</b><br><br>
+     * Adds a where clause between with int values, written without boxing.<br>
      * 
-     * Result: <br>
-     * SELECT id,name FROM employee WHERE family LIKE 'Pert%'
-     * 
-     * @param name Name of field to LIKE
-     * @param value LIKE value. It will be wrapped by ' characters.
-     * @param wildcard Wildcard character to add before or after value
-     * @param position Position of the wildcard. It's one of the WildcardPosition
-     * @return SelectQuery with added LIKE where clause
-     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #between(String, Object, Object)
      */
-    public SelectQuery like(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
-        checkLikeParameters(name, value, position);
-        queryBuilder.append(name);
-        commonLike(position, wildcard, value);
-        return this;
-    }
-    
-    private void checkLikeParameters(String name, Object value, WildcardPosition position) throws SQLCreationException {
-        if (isStringEmptyOrNull(name)) {
-            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
-        } else if (value == null) {
-            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
-        } else if (position == null) {
-            throw new SQLCreationException("Wildcard position cannot be null");
-        }
-    }
-    
-    private void commonLike(WildcardPosition position, char wildcard, Object value) {
-        queryBuilder.append(" LIKE '");
-        switch (position) {
-            case AT_START:
-                queryBuilder.append(wildcard);
-                queryBuilder.append(value);
-                break;
-            case AT_END:
-                queryBuilder.append(value);
-                queryBuilder.append(wildcard);
-                break;
-            default:
-                queryBuilder.append(value);
-                break;
-        }
-        queryBuilder.append("' ");
+    public SelectQuery between(String name, int firstValue, int secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.INT, firstValue, secondValue, false));
     }
-    
+
     /**
-     * Adds a where clause LIKE with wildcard with NOT prefix<br><br>
+     * Adds a where clause between with long values, written without boxing.<br>
      * 
-     * Example: <br>
-     * SelectQuery query = new SelectQuery();<br>
-     * query.addField("id");<br>
-     * query.addField("name");<br>
-     * query.addFrom("employee");<br>
-     * addWhere();<br>
-     * <b>query.notLike("family", "Petr", '%', WildcardPosition.AT_END);</b><br><br>
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #between(String, Object, Object)
+     */
+    public SelectQuery between(String name, long firstValue, long secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.LONG, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a where clause between with double values, written without boxing.<br>
      * 
-     * Result: <br>
-     * SELECT id,name FROM employee WHERE family NOT LIKE 'Pert%'
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #between(String, Object, Object)
+     */
+    public SelectQuery between(String name, double firstValue, double secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), false));
+    }
+
+    /**
+     * Adds a where clause between with float values, written without boxing.<br>
      * 
-     * @param name Name of field to NOT LIKE
-     * @param value NOT LIKE value. It will be wrapped by ' characters.
-     * @param wildcard Wildcard character to add before or after value
-     * @param position Position of the wildcard. It's one of the WildcardPosition
-     * @return SelectQuery with added NOT LIKE where clause
-     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #between(String, Object, Object)
      */
-    public SelectQuery notLike(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
-        checkLikeParameters(name, value, position);
-        queryBuilder.append(name);
-        queryBuilder.append(" NOT");
-        commonLike(position, wildcard, value);
-        return this;
+    public SelectQuery between(String name, float firstValue, float secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), false));
     }
 
     /**
-     * Adds a "AND" and than, where clause LIKE with wildcard<br>
-     * If it is first constraint, than "AND" will be ignored<br><br>
+     * Adds a where clause between with char values, written without boxing.<br>
+     * Chars are written as one char string literals.<br>
      * 
-     * Example: <br>
-     * SelectQuery query = new SelectQuery();<br>
-     * query.addField("id");<br>
-     * query.addField("name");<br>
-     * query.addFrom("employee");<br>
-     * addWhere();<br>
-     * <b>query.andLike("family", "Petr", '%', WildcardPosition.AT_END);</b><br>
-     * <b>query.andLike("family", "Petr", '%', WildcardPosition.AT_END);</b><br><br>
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #between(String, Object, Object)
+     */
+    public SelectQuery between(String name, char firstValue, char secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.CHAR, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a where clause between with prefix NOT with int values, written without boxing.<br>
      * 
-     * Result: <br>
-     * SELECT id,name FROM employee WHERE family LIKE 'Pert%' AND family LIKE 'Pert%'
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #notBetween(String, Object, Object)
+     */
+    public SelectQuery notBetween(String name, int firstValue, int secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.INT, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a where clause between with prefix NOT with long values, written without boxing.<br>
      * 
-     * @param name Name of field to LIKE
-     * @param value LIKE value. It will be wrapped by ' characters.
-     * @param wildcard Wildcard character to add before or after value
-     * @param position Position of the wildcard. It's one of the WildcardPosition
-     * @return SelectQuery with added "AND" if it is not first constraint, and than, LIKE where clause
-     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #notBetween(String, Object, Object)
      */
-    public SelectQuery andLike(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(AND);
-        }
-        like(name, value, wildcard, position);
-        return this;
+    public SelectQuery notBetween(String name, long firstValue, long secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.LONG, firstValue, secondValue, true));
     }
-    
+
     /**
-     * Adds a "AND" and than, where clause LIKE with wildcard with NOT prefix<br>
-     * If it is first constraint, than "AND" will be ignored<br><br>
+     * Adds a where clause between with prefix NOT with double values, written without boxing.<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #notBetween(String, Object, Object)
+     */
+    public SelectQuery notBetween(String name, double firstValue, double secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), true));
+    }
+
+    /**
+     * Adds a where clause between with prefix NOT with float values, written without boxing.<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #notBetween(String, Object, Object)
+     */
+    public SelectQuery notBetween(String name, float firstValue, float secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), true));
+    }
+
+    /**
+     * Adds a where clause between with prefix NOT with char values, written without boxing.<br>
+     * Chars are written as one char string literals.<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #notBetween(String, Object, Object)
+     */
+    public SelectQuery notBetween(String name, char firstValue, char secondValue) throws SQLCreationException {
+        return addPredicate(null, primitiveBetweenPredicate(name, PrimitiveType.CHAR, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with int values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andBetween(String, Object, Object)
+     */
+    public SelectQuery andBetween(String name, int firstValue, int secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.INT, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with long values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andBetween(String, Object, Object)
+     */
+    public SelectQuery andBetween(String name, long firstValue, long secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.LONG, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with double values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andBetween(String, Object, Object)
+     */
+    public SelectQuery andBetween(String name, double firstValue, double secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with float values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andBetween(String, Object, Object)
+     */
+    public SelectQuery andBetween(String name, float firstValue, float secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with char values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * Chars are written as one char string literals.<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andBetween(String, Object, Object)
+     */
+    public SelectQuery andBetween(String name, char firstValue, char secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.CHAR, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with prefix NOT with int values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andNotBetween(String, Object, Object)
+     */
+    public SelectQuery andNotBetween(String name, int firstValue, int secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.INT, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with prefix NOT with long values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andNotBetween(String, Object, Object)
+     */
+    public SelectQuery andNotBetween(String name, long firstValue, long secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.LONG, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with prefix NOT with double values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andNotBetween(String, Object, Object)
+     */
+    public SelectQuery andNotBetween(String name, double firstValue, double secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with prefix NOT with float values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andNotBetween(String, Object, Object)
+     */
+    public SelectQuery andNotBetween(String name, float firstValue, float secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause between with prefix NOT with char values, written without boxing.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * Chars are written as one char string literals.<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "AND" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #andNotBetween(String, Object, Object)
+     */
+    public SelectQuery andNotBetween(String name, char firstValue, char secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, primitiveBetweenPredicate(name, PrimitiveType.CHAR, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with int values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orBetween(String, Object, Object)
+     */
+    public SelectQuery orBetween(String name, int firstValue, int secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.INT, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with long values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orBetween(String, Object, Object)
+     */
+    public SelectQuery orBetween(String name, long firstValue, long secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.LONG, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with double values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orBetween(String, Object, Object)
+     */
+    public SelectQuery orBetween(String name, double firstValue, double secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with float values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orBetween(String, Object, Object)
+     */
+    public SelectQuery orBetween(String name, float firstValue, float secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with char values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * Chars are written as one char string literals.<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orBetween(String, Object, Object)
+     */
+    public SelectQuery orBetween(String name, char firstValue, char secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.CHAR, firstValue, secondValue, false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with prefix NOT with int values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orNotBetween(String, Object, Object)
+     */
+    public SelectQuery orNotBetween(String name, int firstValue, int secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.INT, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with prefix NOT with long values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orNotBetween(String, Object, Object)
+     */
+    public SelectQuery orNotBetween(String name, long firstValue, long secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.LONG, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with prefix NOT with double values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orNotBetween(String, Object, Object)
+     */
+    public SelectQuery orNotBetween(String name, double firstValue, double secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.DOUBLE, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with prefix NOT with float values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orNotBetween(String, Object, Object)
+     */
+    public SelectQuery orNotBetween(String name, float firstValue, float secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.FLOAT, PrimitiveType.bits(firstValue), PrimitiveType.bits(secondValue), true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause between with prefix NOT with char values, written without boxing.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * Chars are written as one char string literals.<br>
+     * 
+     * @param name Name of field to BETWEEN
+     * @param firstValue First value in BETWEEN expression
+     * @param secondValue Second value in BETWEEN expression
+     * @return SelectQuery with a "OR" keyword and then, added NOT BETWEEN where clause
+     * @throws SQLCreationException When name parameter is null or empty
+     * @see #orNotBetween(String, Object, Object)
+     */
+    public SelectQuery orNotBetween(String name, char firstValue, char secondValue) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, primitiveBetweenPredicate(name, PrimitiveType.CHAR, firstValue, secondValue, true));
+    }
+
+    /**
+     * Adds a where clause LIKE with wildcard<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * <b>query.like("family", "Petr", '%', WildcardPosition.AT_END);</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE family LIKE 'Pert%'
+     * 
+     * @param name Name of field to LIKE
+     * @param value LIKE value. It will be wrapped by ' characters.
+     * @param wildcard Wildcard character to add before or after value
+     * @param position Position of the wildcard. It's one of the WildcardPosition
+     * @return SelectQuery with added LIKE where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
+     */
+    public SelectQuery like(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
+        return addPredicate(null, likePredicate(name, value, wildcard, position, false));
+    }
+    
+    private Predicate likePredicate(String name, Object value, char wildcard, WildcardPosition position, boolean negated) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        } else if (value == null) {
+            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+        } else if (position == null) {
+            throw new SQLCreationException("Wildcard position cannot be null");
+        }
+        return new Predicate.Like(name, value, wildcard, position, negated);
+    }
+    
+    /**
+     * Adds a where clause LIKE with wildcard with NOT prefix<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * <b>query.notLike("family", "Petr", '%', WildcardPosition.AT_END);</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE family NOT LIKE 'Pert%'
+     * 
+     * @param name Name of field to NOT LIKE
+     * @param value NOT LIKE value. It will be wrapped by ' characters.
+     * @param wildcard Wildcard character to add before or after value
+     * @param position Position of the wildcard. It's one of the WildcardPosition
+     * @return SelectQuery with added NOT LIKE where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
+     */
+    public SelectQuery notLike(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
+        return addPredicate(null, likePredicate(name, value, wildcard, position, true));
+    }
+
+    /**
+     * Adds a "AND" and than, where clause LIKE with wildcard<br>
+     * If it is first constraint, than "AND" will be ignored<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * <b>query.andLike("family", "Petr", '%', WildcardPosition.AT_END);</b><br>
+     * <b>query.andLike("family", "Petr", '%', WildcardPosition.AT_END);</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE family LIKE 'Pert%' AND family LIKE 'Pert%'
+     * 
+     * @param name Name of field to LIKE
+     * @param value LIKE value. It will be wrapped by ' characters.
+     * @param wildcard Wildcard character to add before or after value
+     * @param position Position of the wildcard. It's one of the WildcardPosition
+     * @return SelectQuery with added "AND" if it is not first constraint, and than, LIKE where clause
+     * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
+     */
+    public SelectQuery andLike(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, likePredicate(name, value, wildcard, position, false));
+    }
+    
+    /**
+     * Adds a "AND" and than, where clause LIKE with wildcard with NOT prefix<br>
+     * If it is first constraint, than "AND" will be ignored<br><br>
      * 
      * Example: <br>
      * SelectQuery query = new SelectQuery();<br>
@@ -663,11 +1298,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
      */
     public SelectQuery andNotLike(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(AND);
-        }
-        notLike(name, value, wildcard, position);
-        return this;
+        return addPredicate(WhereClause.AND, likePredicate(name, value, wildcard, position, true));
     }
 
     /**
@@ -694,11 +1325,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
      */
     public SelectQuery orLike(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(OR);
-        }
-        like(name, value, wildcard, position);
-        return this;
+        return addPredicate(WhereClause.OR, likePredicate(name, value, wildcard, position, false));
     }
     
     /**
@@ -725,11 +1352,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null, or wildcard position parameter is null
      */
     public SelectQuery orNotLike(String name, Object value, char wildcard, WildcardPosition position) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(OR);
-        }
-        notLike(name, value, wildcard, position);
-        return this;
+        return addPredicate(WhereClause.OR, likePredicate(name, value, wildcard, position, true));
     }
 
     /**
@@ -752,10 +1375,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery like(String name, Object value) throws SQLCreationException {
-        checkSimpleLikeParameters(name, value);
-        queryBuilder.append(name);
-        commonSimpleLike(value);
-        return this;
+        return addPredicate(null, likePredicate(name, value, false));
     }
     
     /**
@@ -778,11 +1398,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery notLike(String name, Object value) throws SQLCreationException {
-        checkSimpleLikeParameters(name, value);
-        queryBuilder.append(name);
-        queryBuilder.append(" NOT");
-        commonSimpleLike(value);
-        return this;
+        return addPredicate(null, likePredicate(name, value, true));
     }
     
     private void checkSimpleLikeParameters(String name, Object value) throws SQLCreationException {
@@ -793,19 +1409,43 @@ public final class SelectQuery extends CommonQuery {
         }
     }
 
-    private void commonSimpleLike(Object value) {
-        queryBuilder.append(" LIKE '");
-        queryBuilder.append(value);
-        queryBuilder.append("' ");
+    private Predicate likePredicate(String name, Object value, boolean negated) throws SQLCreationException {
+        checkSimpleLikeParameters(name, value);
+        return new Predicate.Like(name, value, ' ', null, negated);
     }
 
-    /**
-     * Adds a "AND" and than, where clause LIKE without wildcard.<br>
-     * If it is first constraint, than "AND" will be ignored<br><br>
-     * 
-     * Example: <br>
-     * SelectQuery query = new SelectQuery();<br>
-     * query.addField("id");<br>
+    private Predicate equalsPredicate(String name, Object value) throws SQLCreationException {
+        checkSimpleLikeParameters(name, value);
+        return new Predicate.Equals(name, value);
+    }
+
+    private Predicate primitiveEqualsPredicate(String name, PrimitiveType type, long bits) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        }
+        return new Predicate.PrimitiveEquals(name, type, bits);
+    }
+
+    private Predicate primitiveBetweenPredicate(String name, PrimitiveType type, long firstBits, long secondBits, boolean negated) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        }
+        return new Predicate.PrimitiveBetween(name, type, firstBits, secondBits, negated);
+    }
+
+    private SelectQuery addPredicate(String operator, Predicate predicate) {
+        queryChanged();
+        where.add(operator, predicate);
+        return this;
+    }
+
+    /**
+     * Adds a "AND" and than, where clause LIKE without wildcard.<br>
+     * If it is first constraint, than "AND" will be ignored<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
      * query.addField("name");<br>
      * query.addFrom("employee");<br>
      * addWhere();<br>
@@ -821,11 +1461,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery andLike(String name, Object value) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(AND);
-        }
-        like(name, value);
-        return this;
+        return addPredicate(WhereClause.AND, likePredicate(name, value, false));
     }
     
     /**
@@ -850,11 +1486,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery andNotLike(String name, Object value) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(AND);
-        }
-        notLike(name, value);
-        return this;
+        return addPredicate(WhereClause.AND, likePredicate(name, value, true));
     }
 
     /**
@@ -879,11 +1511,7 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery orLike(String name, Object value) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(OR);
-        }
-        like(name, value);
-        return this;
+        return addPredicate(WhereClause.OR, likePredicate(name, value, false));
     }
     
     /**
@@ -908,20 +1536,645 @@ public final class SelectQuery extends CommonQuery {
      * @throws SQLCreationException When name parameter is null or empty, or value parameter is null
      */
     public SelectQuery orNotLike(String name, Object value) throws SQLCreationException {
-        if (isNotFirstLogicalConstraint()) {
-            queryBuilder.append(OR);
+        return addPredicate(WhereClause.OR, likePredicate(name, value, true));
+    }
+
+    /**
+     * Adds a where clause IN with values of a collection.<br>
+     * Values are sorted and duplicates removed. Long lists are split to fit
+     * dialect limits, and PostgreSQL gets one array parameter when values are
+     * written as placeholders.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * <b>query.in("id", Arrays.asList(3, 1, 2, 3));</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE id IN (1,2,3)
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @return SelectQuery with added IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public SelectQuery in(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a where clause IN with values of an int array.<br>
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return SelectQuery with added IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #in(String, Collection)
+     */
+    public SelectQuery in(String name, int[] values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a where clause IN with values of a long array.<br>
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return SelectQuery with added IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #in(String, Collection)
+     */
+    public SelectQuery in(String name, long[] values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a where clause NOT IN with values of a collection.<br>
+     * Values are sorted and duplicates removed. Long lists are split to fit
+     * dialect limits, and PostgreSQL gets one array parameter when values are
+     * written as placeholders.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * <b>query.notIn("id", Arrays.asList(3, 1, 2, 3));</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE id NOT IN (1,2,3)
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @return SelectQuery with added NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public SelectQuery notIn(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a where clause NOT IN with values of an int array.<br>
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for
+     * @return SelectQuery with added NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #notIn(String, Collection)
+     */
+    public SelectQuery notIn(String name, int[] values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a where clause NOT IN with values of a long array.<br>
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for
+     * @return SelectQuery with added NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #notIn(String, Collection)
+     */
+    public SelectQuery notIn(String name, long[] values) throws SQLCreationException {
+        return addPredicate(null, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause IN with values of a collection.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * Values are sorted and duplicates removed. Long lists are split to fit
+     * dialect limits, and PostgreSQL gets one array parameter when values are
+     * written as placeholders.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * query.isEquals("city", "London");<br>
+     * <b>query.andIn("id", Arrays.asList(3, 1, 2, 3));</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE city='London' AND id IN (1,2,3)
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @return SelectQuery with added "AND" if it is not first constraint, and than, IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public SelectQuery andIn(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause IN with values of an int array.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return SelectQuery with added "AND" if it is not first constraint, and than, IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #andIn(String, Collection)
+     */
+    public SelectQuery andIn(String name, int[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause IN with values of a long array.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return SelectQuery with added "AND" if it is not first constraint, and than, IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #andIn(String, Collection)
+     */
+    public SelectQuery andIn(String name, long[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause NOT IN with values of a collection.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * Values are sorted and duplicates removed. Long lists are split to fit
+     * dialect limits, and PostgreSQL gets one array parameter when values are
+     * written as placeholders.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * query.isEquals("city", "London");<br>
+     * <b>query.andNotIn("id", Arrays.asList(3, 1, 2, 3));</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE city='London' AND id NOT IN (1,2,3)
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @return SelectQuery with added "AND" if it is not first constraint, and than, NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public SelectQuery andNotIn(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause NOT IN with values of an int array.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for
+     * @return SelectQuery with added "AND" if it is not first constraint, and than, NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #andNotIn(String, Collection)
+     */
+    public SelectQuery andNotIn(String name, int[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a "AND" keyword and then, where clause NOT IN with values of a long array.<br>
+     * If it is first constraint, than "AND" will be ignored<br>
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for
+     * @return SelectQuery with added "AND" if it is not first constraint, and than, NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #andNotIn(String, Collection)
+     */
+    public SelectQuery andNotIn(String name, long[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.AND, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause IN with values of a collection.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * Values are sorted and duplicates removed. Long lists are split to fit
+     * dialect limits, and PostgreSQL gets one array parameter when values are
+     * written as placeholders.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * query.isEquals("city", "London");<br>
+     * <b>query.orIn("id", Arrays.asList(3, 1, 2, 3));</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE city='London' OR id IN (1,2,3)
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @return SelectQuery with added "OR" if it is not first constraint, and than, IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public SelectQuery orIn(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause IN with values of an int array.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return SelectQuery with added "OR" if it is not first constraint, and than, IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #orIn(String, Collection)
+     */
+    public SelectQuery orIn(String name, int[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause IN with values of a long array.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to IN
+     * @param values Values to look for
+     * @return SelectQuery with added "OR" if it is not first constraint, and than, IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #orIn(String, Collection)
+     */
+    public SelectQuery orIn(String name, long[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values, false));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause NOT IN with values of a collection.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * Values are sorted and duplicates removed. Long lists are split to fit
+     * dialect limits, and PostgreSQL gets one array parameter when values are
+     * written as placeholders.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addField("name");<br>
+     * query.addFrom("employee");<br>
+     * addWhere();<br>
+     * query.isEquals("city", "London");<br>
+     * <b>query.orNotIn("id", Arrays.asList(3, 1, 2, 3));</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,name FROM employee WHERE city='London' OR id NOT IN (1,2,3)
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for. Can be String, number, Boolean, Date or any class ValueRenderers can write
+     * @return SelectQuery with added "OR" if it is not first constraint, and than, NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null or has null items
+     */
+    public SelectQuery orNotIn(String name, Collection<?> values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause NOT IN with values of an int array.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for
+     * @return SelectQuery with added "OR" if it is not first constraint, and than, NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #orNotIn(String, Collection)
+     */
+    public SelectQuery orNotIn(String name, int[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values, true));
+    }
+
+    /**
+     * Adds a "OR" keyword and then, where clause NOT IN with values of a long array.<br>
+     * If it is first constraint, than "OR" will be ignored<br>
+     * 
+     * @param name Name of field to NOT IN
+     * @param values Values to look for
+     * @return SelectQuery with added "OR" if it is not first constraint, and than, NOT IN where clause
+     * @throws SQLCreationException When name parameter is null or empty, or values parameter is null
+     * @see #orNotIn(String, Collection)
+     */
+    public SelectQuery orNotIn(String name, long[] values) throws SQLCreationException {
+        return addPredicate(WhereClause.OR, inPredicate(name, values, true));
+    }
+
+    private Predicate inPredicate(String name, Collection<?> values, boolean negated) throws SQLCreationException {
+        if (values == null) {
+            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+        }
+        return inPredicate(name, values.toArray(), negated);
+    }
+
+    private Predicate inPredicate(String name, int[] values, boolean negated) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        } else if (values == null) {
+            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+        }
+        return new Predicate.PrimitiveIn(name, values, negated);
+    }
+
+    private Predicate inPredicate(String name, long[] values, boolean negated) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        } else if (values == null) {
+            throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+        }
+        return new Predicate.PrimitiveIn(name, values, negated);
+    }
+
+    private Predicate inPredicate(String name, Object[] values, boolean negated) throws SQLCreationException {
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        }
+        for (Object value : values) {
+            if (value == null) {
+                throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+            }
+        }
+        return new Predicate.In(name, values, negated);
+    }
+
+    /**
+     * Adds field name to ORDER BY clause. Can be invoked several times, fields
+     * are sorted in the order they were added.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addFrom("employee");<br>
+     * <b>query.addOrderBy("family");</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id FROM employee ORDER BY family
+     * 
+     * @param name Name of field to sort by
+     * @return SelectQuery with added ORDER BY field
+     * @throws SQLCreationException When name parameter is null or empty
+     */
+    public SelectQuery addOrderBy(String name) throws SQLCreationException {
+        return addOrderBy(name, null);
+    }
+
+    /**
+     * Adds field name with sort direction to ORDER BY clause.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id");<br>
+     * query.addFrom("employee");<br>
+     * <b>query.addOrderBy("age", SortOrder.DESC);</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id FROM employee ORDER BY age DESC
+     * 
+     * @param name Name of field to sort by
+     * @param order Sort direction, or null to use the database default
+     * @return SelectQuery with added ORDER BY field
+     * @throws SQLCreationException When name parameter is null or empty
+     */
+    public SelectQuery addOrderBy(String name, SortOrder order) throws SQLCreationException {
+        queryChanged();
+        if (isStringEmptyOrNull(name)) {
+            throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+        }
+        orderFields.add(name);
+        sortOrders.add(order);
+        return this;
+    }
+
+    /**
+     * Makes the query return one page of keyset (seek) pagination: rows that
+     * come after lastKey in ascending order of key fields, at most pageSize of
+     * them. Unlike OFFSET, every page costs one index seek however deep it is.
+     * Key fields must identify a row uniquely, add the primary key as the
+     * last one if needed. Call it again with the key of the last row of a
+     * page to get the next page.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.addField("id").addField("created").addFrom("audit");<br>
+     * <b>query.addKeysetPage(new String[]{"created", "id"}, new Object[]{lastCreated, 1042}, 50);</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT id,created FROM audit WHERE (created&gt;='...' AND (created&gt;'...' OR (created='...' AND id&gt;1042))) ORDER BY created,id FETCH FIRST 50 ROWS ONLY
+     * 
+     * @param keyFields Names of key fields, in sort order
+     * @param lastKey Key values of the last row of the previous page, null for the first page
+     * @param pageSize Maximum number of rows in a page
+     * @return SelectQuery for the page
+     * @throws SQLCreationException When key fields are null or empty, lastKey has
+     * another length or null values, or pageSize is not positive
+     * @see #addKeysetPage(String[], SortOrder[], Object[], long)
+     */
+    public SelectQuery addKeysetPage(String[] keyFields, Object[] lastKey, long pageSize) throws SQLCreationException {
+        if (keyFields == null) {
+            throw new SQLCreationException("Key fields cannot be null or empty");
+        }
+        return addKeysetPage(keyFields, new SortOrder[keyFields.length], lastKey, pageSize);
+    }
+
+    /**
+     * Makes the query return one page of keyset pagination, with a sort
+     * direction for every key field. Rows come after lastKey in that order.
+     * Key fields are sorted before fields added by addOrderBy. With a
+     * dialect that compares row values and one direction for all fields the
+     * condition is written as <b>(a,b)&gt;(1,2)</b>.
+     * 
+     * @param keyFields Names of key fields, in sort order
+     * @param sortOrders Sort direction of every key field, null items mean ascending
+     * @param lastKey Key values of the last row of the previous page, null for the first page
+     * @param pageSize Maximum number of rows in a page
+     * @return SelectQuery for the page
+     * @throws SQLCreationException When key fields are null or empty, sortOrders or
+     * lastKey have another length, lastKey has null values, or pageSize is not positive
+     * @see #addKeysetPage(String[], Object[], long)
+     */
+    public SelectQuery addKeysetPage(String[] keyFields, SortOrder[] sortOrders, Object[] lastKey, long pageSize) throws SQLCreationException {
+        if (keyFields == null || keyFields.length == 0) {
+            throw new SQLCreationException("Key fields cannot be null or empty");
+        }
+        for (String keyField : keyFields) {
+            if (isStringEmptyOrNull(keyField)) {
+                throw new SQLCreationException(EXCEPTION_NULL_FIELD);
+            }
+        }
+        if (sortOrders == null || sortOrders.length != keyFields.length) {
+            throw new SQLCreationException("Sort orders must be given for all " + keyFields.length + " key fields");
+        }
+        if (lastKey != null) {
+            if (lastKey.length != keyFields.length) {
+                throw new SQLCreationException("Last key has " + lastKey.length + " values, but there are " + keyFields.length + " key fields");
+            }
+            for (Object value : lastKey) {
+                if (value == null) {
+                    throw new SQLCreationException(EXCEPTION_NULL_VALUE);
+                }
+            }
+        }
+        if (pageSize <= 0) {
+            throw new SQLCreationException("Page size must be positive");
         }
-        notLike(name, value);
+        queryChanged();
+        this.keyFields = keyFields.clone();
+        this.keySortOrders = sortOrders.clone();
+        where.setRequired(lastKey == null ? null : new Predicate.Keyset(this.keyFields, keySortOrders, lastKey.clone()));
+        this.limit = pageSize;
+        return this;
+    }
+
+    /**
+     * Removes fields, tables, WHERE predicates, ORDER BY and row limits, so
+     * the object can be used to build another SELECT. Settings are kept.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.setDialect(Dialect.POSTGRESQL);<br>
+     * for (...) {<br>
+     * &nbsp;&nbsp;&nbsp;&nbsp;<b>query.reset();</b><br>
+     * &nbsp;&nbsp;&nbsp;&nbsp;query.addField("name").addFrom("employee").addWhere().isEquals("id", id);<br>
+     * &nbsp;&nbsp;&nbsp;&nbsp;String sql = query.getQueryString();<br>
+     * }<br>
+     * 
+     * @return SelectQuery as after the no-argument constructor
+     */
+    @Override
+    public SelectQuery reset() {
+        queryChanged();
+        fields.clear();
+        tables.clear();
+        fromAdded = false;
+        where.clear();
+        orderFields.clear();
+        sortOrders.clear();
+        keyFields = null;
+        keySortOrders = null;
+        limit = 0;
+        offset = 0;
         return this;
     }
 
+    /**
+     * @return Maximum number of rows to return, 0 if unlimited
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets maximum number of rows the query returns, so the database can stop
+     * early. The clause depends on the dialect: LIMIT, FETCH FIRST or TOP.<br><br>
+     * 
+     * Example: <br>
+     * SelectQuery query = new SelectQuery();<br>
+     * query.setDialect(Dialect.SQL_SERVER);<br>
+     * query.addField("id").addFrom("employee");<br>
+     * <b>query.setLimit(10);</b><br><br>
+     * 
+     * Result: <br>
+     * SELECT TOP (10) id FROM employee
+     * 
+     * @param limit Maximum number of rows, 0 for no limit
+     * @return SelectQuery with changed limit
+     * @throws SQLCreationException When limit is negative
+     */
+    public SelectQuery setLimit(long limit) throws SQLCreationException {
+        queryChanged();
+        if (limit < 0) {
+            throw new SQLCreationException("Limit cannot be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * @return Number of rows to skip, 0 if none
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Sets number of rows to skip before returning rows. Use it with ORDER BY,
+     * otherwise the order of rows, and so the skipped rows, are not defined.
+     * 
+     * @param offset Number of rows to skip, 0 for none
+     * @return SelectQuery with changed offset
+     * @throws SQLCreationException When offset is negative
+     */
+    public SelectQuery setOffset(long offset) throws SQLCreationException {
+        queryChanged();
+        if (offset < 0) {
+            throw new SQLCreationException("Offset cannot be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    void appendQuery(StringBuilder builder, ParameterList sink) {
+        builder.append("SELECT");
+        dialect.appendSelectLimit(builder, limit, offset);
+        if (!fields.isEmpty()) {
+            builder.append(' ');
+            appendIdentifierList(builder, fields);
+        }
+        if (fromAdded || !tables.isEmpty()) {
+            builder.append(" FROM");
+            if (!tables.isEmpty()) {
+                builder.append(' ');
+                appendIdentifierList(builder, tables);
+            }
+        }
+        where.appendTo(this, builder, sink);
+        boolean ordered = keyFields != null || !orderFields.isEmpty();
+        if (ordered) {
+            builder.append(" ORDER BY ");
+            if (keyFields != null) {
+                for (int i = 0; i < keyFields.length; i++) {
+                    appendOrderItem(builder, i, keyFields[i], keySortOrders[i]);
+                }
+            }
+            int start = keyFields == null ? 0 : keyFields.length;
+            for (int i = 0; i < orderFields.size(); i++) {
+                appendOrderItem(builder, start + i, orderFields.get(i), sortOrders.get(i));
+            }
+        }
+        dialect.appendRowLimit(builder, limit, offset, ordered);
+    }
+
+    int estimateLength() {
+        int length = 32 + estimateNamesLength(fields) + estimateNamesLength(tables) + where.estimateLength(this);
+        length += estimateNamesLength(orderFields) + 5 * sortOrders.size();
+        if (keyFields != null) {
+            length += 16 * keyFields.length;
+        }
+        return limit > 0 || offset > 0 ? length + 48 : length;
+    }
+
+    private void appendOrderItem(StringBuilder builder, int index, String name, SortOrder order) {
+        if (index > 0) {
+            builder.append(',');
+        }
+        appendIdentifier(builder, name);
+        if (order != null) {
+            builder.append(' ').append(order);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof SelectQuery) {
             SelectQuery remoteQuery = (SelectQuery) obj;
-            String remoteQueryString = remoteQuery.getQueryString();
-            String localQueryString = getQueryString();
-            return localQueryString.equals(remoteQueryString);
+            return build().equals(remoteQuery.build());
         } else {
             return false;
         }
@@ -929,7 +2182,6 @@ public final class SelectQuery extends CommonQuery {
 
     @Override
     public int hashCode() {
-        String localQueryString = getQueryString();
-        return 5 * localQueryString.length() + localQueryString.hashCode();
+        return build().hashCode();
     }
 }
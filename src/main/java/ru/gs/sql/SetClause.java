@@ -0,0 +1,110 @@
+package ru.gs.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assignments of a SET clause in the order they were added, rendered as
+ * <b>field = value, ...</b>. Used by UPDATE queries and by the conflict
+ * branch of upserts, which can also assign the value the row tried to insert.
+ */
+final class SetClause {
+
+    /**
+     * Value of assignments that take the value of the inserted row.
+     */
+    private static final Object INSERTED = new Object();
+
+    private final List<String> fields = new ArrayList<String>();
+    private final List<Object> values = new ArrayList<Object>();
+    /**
+     * Types of primitive values, null for objects, and their bits.
+     */
+    private final List<PrimitiveType> types = new ArrayList<PrimitiveType>();
+    private long[] bits = new long[8];
+
+    void add(String field, Object value) {
+        fields.add(field);
+        values.add(value);
+        types.add(null);
+    }
+
+    void addPrimitive(String field, PrimitiveType type, long value) {
+        int index = fields.size();
+        if (index == bits.length) {
+            bits = Arrays.copyOf(bits, index * 2);
+        }
+        bits[index] = value;
+        fields.add(field);
+        values.add(null);
+        types.add(type);
+    }
+
+    /**
+     * Adds field = the value the inserted row has for field.
+     */
+    void addInserted(String field) {
+        add(field, INSERTED);
+    }
+
+    void clear() {
+        fields.clear();
+        values.clear();
+        types.clear();
+    }
+
+    boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * @return Number of assignments, each has at most one parameter
+     */
+    int size() {
+        return fields.size();
+    }
+
+    /**
+     * @param insertedPrefix Text before the field name of an inserted value,
+     * like EXCLUDED.
+     * @param insertedSuffix Text after the field name of an inserted value
+     */
+    void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink, String insertedPrefix, String insertedSuffix) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            query.appendIdentifier(builder, fields.get(i));
+            builder.append(" = ");
+            PrimitiveType type = types.get(i);
+            Object value = values.get(i);
+            if (type != null) {
+                query.insertPrimitive(builder, type, bits[i], sink);
+            } else if (value == INSERTED) {
+                builder.append(insertedPrefix);
+                query.appendIdentifier(builder, fields.get(i));
+                builder.append(insertedSuffix);
+            } else {
+                query.insertValueDependsOnClass(builder, value, sink);
+            }
+        }
+    }
+
+    int estimateLength(CommonQuery query) {
+        int length = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            PrimitiveType type = types.get(i);
+            Object value = values.get(i);
+            length += fields.get(i).length() + 5;
+            if (type != null) {
+                length += query.estimatePrimitiveLength(type);
+            } else if (value == INSERTED) {
+                length += fields.get(i).length() + 10;
+            } else {
+                length += query.estimateValueLength(value);
+            }
+        }
+        return length;
+    }
+}
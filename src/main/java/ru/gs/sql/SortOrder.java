@@ -0,0 +1,18 @@
+package ru.gs.sql;
+
+/**
+ * Direction of an ORDER BY item.
+ *
+ * @see SelectQuery#addOrderBy(String, SortOrder)
+ */
+public enum SortOrder {
+
+    /**
+     * Ascending order, smallest values first.
+     */
+    ASC,
+    /**
+     * Descending order, largest values first.
+     */
+    DESC
+}
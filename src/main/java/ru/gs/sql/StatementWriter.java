@@ -0,0 +1,309 @@
+package ru.gs.sql;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Writes queries to a Writer, a WritableByteChannel or any other Appendable
+ * without building their text as Strings, so SQL scripts of any size can be
+ * written in constant memory.<br><br>
+ *
+ * Text is collected in a reusable char buffer. For a channel it is encoded
+ * into a reusable direct byte buffer which is written to the channel each time
+ * it fills up.<br><br>
+ *
+ * Example:<br>
+ * StatementWriter writer = new StatementWriter(FileChannel.open(path, WRITE, CREATE));<br>
+ * for (...) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;insertQuery.addRow(row);<br>
+ * }<br>
+ * insertQuery.writeStatementsTo(writer);<br>
+ * writer.close();<br><br>
+ *
+ * Instances are not thread safe.
+ */
+public class StatementWriter implements Appendable, Flushable, Closeable {
+
+    /**
+     * Default terminator written after each statement.
+     */
+    public static final String DEFAULT_STATEMENT_TERMINATOR = ";\n";
+    /**
+     * Default size of the char and byte buffers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Writer writer;
+    private final WritableByteChannel channel;
+    private final Appendable appendable;
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    private final CharsetEncoder encoder;
+    private String statementTerminator = DEFAULT_STATEMENT_TERMINATOR;
+    private boolean closed;
+
+    /**
+     * Creates a writer that passes text to out as is.
+     *
+     * @param out Target Appendable, for example StringBuilder
+     */
+    public StatementWriter(Appendable out) {
+        this(checkNotNull(out), null, null, null, 0);
+    }
+
+    /**
+     * Creates a writer that writes text to out in chunks of DEFAULT_BUFFER_SIZE chars.
+     *
+     * @param out Target Writer
+     */
+    public StatementWriter(Writer out) {
+        this(null, checkNotNull(out), null, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer that encodes text as UTF-8 and writes it to out.
+     *
+     * @param out Target channel, for example FileChannel or SocketChannel
+     */
+    public StatementWriter(WritableByteChannel out) {
+        this(out, Charset.forName("UTF-8"), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer that encodes text with charset and writes it to out.
+     *
+     * @param out Target channel, for example FileChannel or SocketChannel
+     * @param charset Charset to encode text with
+     * @param bufferSize Size of char and direct byte buffers
+     */
+    public StatementWriter(WritableByteChannel out, Charset charset, int bufferSize) {
+        this(null, null, checkNotNull(out), checkNotNull(charset), bufferSize);
+    }
+
+    private StatementWriter(Appendable appendable, Writer writer, WritableByteChannel channel, Charset charset, int bufferSize) {
+        this.appendable = appendable;
+        this.writer = writer;
+        this.channel = channel;
+        if (appendable != null) {
+            chars = null;
+        } else {
+            if (bufferSize < 16) {
+                throw new IllegalArgumentException("Buffer size cannot be less than 16");
+            }
+            chars = CharBuffer.allocate(bufferSize);
+        }
+        if (charset != null) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            bytes = ByteBuffer.allocateDirect(Math.max(bufferSize, (int) Math.ceil(encoder.maxBytesPerChar())));
+        } else {
+            encoder = null;
+            bytes = null;
+        }
+    }
+
+    private static <T> T checkNotNull(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Output cannot be null");
+        }
+        return value;
+    }
+
+    /**
+     * @return Charset text is encoded with for a channel, null when text is
+     * passed to a Writer or Appendable as chars
+     */
+    public Charset getCharset() {
+        return encoder == null ? null : encoder.charset();
+    }
+
+    /**
+     * @return Text written after each statement
+     */
+    public String getStatementTerminator() {
+        return statementTerminator;
+    }
+
+    /**
+     * Replaces the text written after each statement, <b>;\n</b> by default.
+     *
+     * @param statementTerminator New terminator, can be empty
+     */
+    public void setStatementTerminator(String statementTerminator) {
+        this.statementTerminator = statementTerminator == null ? "" : statementTerminator;
+    }
+
+    /**
+     * Writes query text followed by the statement terminator.
+     *
+     * @param query Query to write
+     * @return This writer
+     * @throws IOException When the underlying output fails
+     */
+    public StatementWriter writeStatement(Query query) throws IOException {
+        query.writeTo(this);
+        append(statementTerminator);
+        return this;
+    }
+
+    /**
+     * Writes ready statement text followed by the statement terminator.
+     *
+     * @param statement Statement text
+     * @return This writer
+     * @throws IOException When the underlying output fails
+     */
+    public StatementWriter writeStatement(CharSequence statement) throws IOException {
+        append(statement);
+        append(statementTerminator);
+        return this;
+    }
+
+    public StatementWriter append(CharSequence csq) throws IOException {
+        if (csq == null) {
+            csq = "null";
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    public StatementWriter append(CharSequence csq, int start, int end) throws IOException {
+        checkOpen();
+        if (csq == null) {
+            csq = "null";
+        }
+        if (appendable != null) {
+            appendable.append(csq, start, end);
+            return this;
+        }
+        char[] array = chars.array();
+        int position = start;
+        while (position < end) {
+            if (!chars.hasRemaining()) {
+                drain(false);
+            }
+            int count = Math.min(chars.remaining(), end - position);
+            int offset = chars.position();
+            if (csq instanceof String) {
+                ((String) csq).getChars(position, position + count, array, offset);
+            } else if (csq instanceof StringBuilder) {
+                ((StringBuilder) csq).getChars(position, position + count, array, offset);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    array[offset + i] = csq.charAt(position + i);
+                }
+            }
+            chars.position(offset + count);
+            position += count;
+        }
+        return this;
+    }
+
+    public StatementWriter append(char c) throws IOException {
+        checkOpen();
+        if (appendable != null) {
+            appendable.append(c);
+            return this;
+        }
+        if (!chars.hasRemaining()) {
+            drain(false);
+        }
+        chars.put(c);
+        return this;
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("StatementWriter is closed");
+        }
+    }
+
+    private void drain(boolean endOfInput) throws IOException {
+        chars.flip();
+        if (writer != null) {
+            writer.write(chars.array(), chars.position(), chars.remaining());
+            chars.clear();
+            return;
+        }
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                writeBytes();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
+            }
+        }
+        // An unpaired high surrogate at the end stays in the buffer until the next drain.
+        chars.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Writes buffered text to the underlying output and flushes it if it is Flushable.
+     *
+     * @throws IOException When the underlying output fails
+     */
+    public void flush() throws IOException {
+        checkOpen();
+        if (appendable != null) {
+            if (appendable instanceof Flushable) {
+                ((Flushable) appendable).flush();
+            }
+            return;
+        }
+        drain(false);
+        if (writer != null) {
+            writer.flush();
+        } else {
+            writeBytes();
+        }
+    }
+
+    /**
+     * Writes buffered text and closes the underlying output if it is Closeable.
+     *
+     * @throws IOException When the underlying output fails
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (appendable != null) {
+                if (appendable instanceof Closeable) {
+                    ((Closeable) appendable).close();
+                }
+            } else if (writer != null) {
+                drain(true);
+                writer.close();
+            } else {
+                drain(true);
+                while (encoder.flush(bytes).isOverflow()) {
+                    writeBytes();
+                }
+                writeBytes();
+                channel.close();
+            }
+        } finally {
+            closed = true;
+        }
+    }
+}
@@ -1,38 +1,492 @@
 package ru.gs.sql;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import ru.gs.sql.dialect.BulkUpdateSyntax;
+import ru.gs.sql.exceptions.SQLCreationException;
+
 /**
  *
  * @author APronchakov <artem.pronchakov@gmail.com>
  */
 public class UpdateQuery extends CommonQuery {
 
+	/**
+	 * Default maximum number of bulk rows in one statement of getQueries().
+	 */
+	public static final int DEFAULT_MAX_ROWS_PER_STATEMENT = 1000;
+
+	private String tableName;
+	private boolean setAdded;
+	private final SetClause set = new SetClause();
+	private String bulkKey;
+	private final List<String> bulkFields = new ArrayList<String>();
+	/**
+	 * Bulk rows, the key first and then values of bulk fields.
+	 */
+	private final List<Object[]> bulkRows = new ArrayList<Object[]>();
+	private int maxRowsPerStatement = DEFAULT_MAX_ROWS_PER_STATEMENT;
+
 	public UpdateQuery() {
-		queryBuilder.append("UPDATE ");
 	}
 
 	public UpdateQuery(String tableName) {
-		queryBuilder.append("UPDATE ");
-		queryBuilder.append(tableName);
-		queryBuilder.append(" SET ");
+		this.tableName = tableName;
+		this.setAdded = true;
 	}
 
 	public UpdateQuery addTableName(String name) {
-		queryBuilder.append(name);
-		queryBuilder.append(" ");
+		queryChanged();
+		tableName = name;
 		return this;
 	}
 
 	public UpdateQuery addSet() {
-		queryBuilder.append("SET ");
+		queryChanged();
+		setAdded = true;
 		return this;
 	}
 
 	public UpdateQuery addSet(String field, Object value) {
-		updateValueDependsOnClass(field, value);
+		queryChanged();
+		set.add(field, value);
+		return this;
+	}
+
+	/**
+	 * Adds field = value with an int value, written without boxing.
+	 */
+	public UpdateQuery addSet(String field, int value) {
+		return addPrimitiveSet(field, PrimitiveType.INT, value);
+	}
+
+	/**
+	 * Adds field = value with a long value, written without boxing.
+	 */
+	public UpdateQuery addSet(String field, long value) {
+		return addPrimitiveSet(field, PrimitiveType.LONG, value);
+	}
+
+	/**
+	 * Adds field = value with a double value, written without boxing.
+	 */
+	public UpdateQuery addSet(String field, double value) {
+		return addPrimitiveSet(field, PrimitiveType.DOUBLE, PrimitiveType.bits(value));
+	}
+
+	/**
+	 * Adds field = value with a float value, written without boxing.
+	 */
+	public UpdateQuery addSet(String field, float value) {
+		return addPrimitiveSet(field, PrimitiveType.FLOAT, PrimitiveType.bits(value));
+	}
+
+	/**
+	 * Adds field = value with a boolean value, written without boxing.
+	 */
+	public UpdateQuery addSet(String field, boolean value) {
+		return addPrimitiveSet(field, PrimitiveType.BOOLEAN, PrimitiveType.bits(value));
+	}
+
+	/**
+	 * Adds field = value with a char value, written without boxing; the char is written as a one char string literal.
+	 */
+	public UpdateQuery addSet(String field, char value) {
+		return addPrimitiveSet(field, PrimitiveType.CHAR, value);
+	}
+
+	private UpdateQuery addPrimitiveSet(String field, PrimitiveType type, long bits) {
+		queryChanged();
+		set.addPrimitive(field, type, bits);
+		return this;
+	}
+
+	/**
+	 * Switches the query to a bulk update that gives each row its own values:
+	 * rows added by addBulkRow are matched on keyField and get their values
+	 * of fields. Assignments of addSet are applied to every row as well. The
+	 * statement is written in the bulk update syntax of the dialect.<br><br>
+	 *
+	 * Example:<br>
+	 * UpdateQuery query = new UpdateQuery("employee");<br>
+	 * query.setBulkFields("id", "name", "salary");<br>
+	 * query.addBulkRow(1, "Ivan", 100).addBulkRow(2, "Anton", 200);<br><br>
+	 *
+	 * Result:<br>
+	 * UPDATE employee SET name = CASE id WHEN 1 THEN 'Ivan' WHEN 2 THEN 'Anton' END,
+	 * salary = CASE id WHEN 1 THEN 100 WHEN 2 THEN 200 END WHERE id IN (1,2)<br><br>
+	 *
+	 * With Dialect.POSTGRESQL:<br>
+	 * UPDATE employee dst SET name = src.name, salary = src.salary
+	 * FROM (VALUES (1,'Ivan',100),(2,'Anton',200)) src (id,name,salary) WHERE dst.id = src.id<br><br>
+	 *
+	 * Keys must be unique within the rows; getQueries() splits the rows into
+	 * statements of getMaxRowsPerStatement() rows.
+	 *
+	 * @param keyField Field that identifies rows
+	 * @param fields Fields to update
+	 * @return UpdateQuery in bulk mode, without rows
+	 * @throws SQLCreationException When the table name is not set, keyField
+	 * or a field is null or empty, or there are no fields
+	 * @see BulkUpdateSyntax
+	 */
+	public UpdateQuery setBulkFields(String keyField, String... fields) throws SQLCreationException {
+		queryChanged();
+		checkBulkTableName();
+		if (isStringEmptyOrNull(keyField)) {
+			throw new SQLCreationException("Key field name cannot be null or empty");
+		}
+		if (fields == null || fields.length == 0) {
+			throw new SQLCreationException("Bulk fields cannot be null or empty");
+		}
+		for (String field : fields) {
+			if (isStringEmptyOrNull(field)) {
+				throw new SQLCreationException("Field name cannot be null or empty");
+			}
+		}
+		bulkKey = keyField;
+		bulkFields.clear();
+		bulkFields.addAll(Arrays.asList(fields));
+		bulkRows.clear();
+		return this;
+	}
+
+	/**
+	 * Adds a row to a bulk update.
+	 *
+	 * @param key Key of the row to update
+	 * @param values New values, in bulk fields order
+	 * @return UpdateQuery with added row
+	 * @throws SQLCreationException When the query is not in bulk mode, key is
+	 * null, or the number of values differs from the number of bulk fields
+	 * @see #setBulkFields(String, String...)
+	 */
+	public UpdateQuery addBulkRow(Object key, Object... values) throws SQLCreationException {
+		queryChanged();
+		if (bulkKey == null) {
+			throw new SQLCreationException("Bulk fields must be set before bulk rows");
+		}
+		if (key == null) {
+			throw new SQLCreationException("Bulk row key cannot be null");
+		}
+		if (values == null || values.length != bulkFields.size()) {
+			throw new SQLCreationException("Bulk row has " + (values == null ? 0 : values.length)
+					+ " values, but there are " + bulkFields.size() + " bulk fields");
+		}
+		Object[] row = new Object[values.length + 1];
+		row[0] = key;
+		System.arraycopy(values, 0, row, 1, values.length);
+		bulkRows.add(row);
+		return this;
+	}
+
+	/**
+	 * @return Number of rows added by addBulkRow
+	 */
+	public int getBulkRowCount() {
+		return bulkRows.size();
+	}
+
+	/**
+	 * Removes all bulk rows, keeping table, key and fields.
+	 *
+	 * @return UpdateQuery without bulk rows
+	 */
+	public UpdateQuery clearBulkRows() {
+		queryChanged();
+		bulkRows.clear();
+		return this;
+	}
+
+	/**
+	 * @return Maximum number of bulk rows in one statement of getQueries(), 0 if unlimited
+	 */
+	public int getMaxRowsPerStatement() {
+		return maxRowsPerStatement;
+	}
+
+	/**
+	 * Sets maximum number of bulk rows in one statement of getQueries(),
+	 * DEFAULT_MAX_ROWS_PER_STATEMENT by default. With CASE syntax the IN list
+	 * limit of the dialect applies too, and with parameters the parameter
+	 * limit of the dialect.
+	 *
+	 * @param maxRowsPerStatement Maximum number of rows, 0 for no limit
+	 * @return UpdateQuery with changed limit
+	 * @throws SQLCreationException When maxRowsPerStatement is negative
+	 */
+	public UpdateQuery setMaxRowsPerStatement(int maxRowsPerStatement) throws SQLCreationException {
+		if (maxRowsPerStatement < 0) {
+			throw new SQLCreationException("Maximum rows per statement cannot be negative");
+		}
+		this.maxRowsPerStatement = maxRowsPerStatement;
 		return this;
 	}
 
-	protected boolean isNotFirstLogicalConstraint() {
-		return !queryBuilder.substring(queryBuilder.length() - 4, queryBuilder.length() - 1).equalsIgnoreCase("SET");
+	/**
+	 * Returns the query split into statements of at most
+	 * getMaxRowsPerStatement() bulk rows each, rendered one by one while
+	 * iterating. With QUESTION_MARK or NUMBERED parameter style each
+	 * statement has its own parameters. A query that is not in bulk mode is
+	 * the only statement; a bulk query without rows has none.
+	 *
+	 * @return Iterable over finished statements
+	 * @throws SQLCreationException When the query is in bulk mode and the
+	 * table name is not set
+	 */
+	public Iterable<BuiltQuery> getQueries() throws SQLCreationException {
+		if (bulkKey == null) {
+			return Collections.singletonList(build());
+		}
+		checkBulkTableName();
+		final int rowCount = bulkRows.size();
+		final int chunk = getBulkChunkSize();
+		return new Iterable<BuiltQuery>() {
+			public Iterator<BuiltQuery> iterator() {
+				return new Iterator<BuiltQuery>() {
+					private int nextRow;
+
+					public boolean hasNext() {
+						return nextRow < rowCount;
+					}
+
+					public BuiltQuery next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						int to = chunk == 0 ? rowCount : Math.min(rowCount, nextRow + chunk);
+						StringBuilder builder = new StringBuilder(estimateBulkLength(to - nextRow) + 32);
+						ParameterList sink = new ParameterList();
+						appendBulk(builder, sink, nextRow, to);
+						nextRow = to;
+						return new BuiltQuery(builder.toString(), sink);
+					}
+
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
+
+	private void checkBulkTableName() throws SQLCreationException {
+		if (isStringEmptyOrNull(tableName)) {
+			throw new SQLCreationException("Table name must be set for a bulk update");
+		}
+	}
+
+	/**
+	 * @return Rows in one statement: at most maxRowsPerStatement, the IN list
+	 * limit of the dialect for CASE syntax, and as many rows as fit into the
+	 * parameter limit of the dialect when values are parameters
+	 */
+	private int getBulkChunkSize() {
+		int chunk = maxRowsPerStatement;
+		boolean caseSyntax = getDialect().getBulkUpdateSyntax() == BulkUpdateSyntax.CASE_WHEN;
+		int maxInList = getDialect().getMaxInListSize();
+		if (caseSyntax && maxInList > 0) {
+			chunk = chunk == 0 ? maxInList : Math.min(chunk, maxInList);
+		}
+		int maxParameters = getDialect().getMaxParameters();
+		if (getParameterStyle() != ParameterStyle.INLINE && maxParameters > 0) {
+			int rowParameters = caseSyntax ? 2 * bulkFields.size() + 1 : bulkFields.size() + 1;
+			int maxRows = Math.max(1, (maxParameters - set.size()) / rowParameters);
+			chunk = chunk == 0 ? maxRows : Math.min(chunk, maxRows);
+		}
+		return chunk;
+	}
+
+	/**
+	 * Removes table name, SET assignments and bulk fields and rows, so the
+	 * object can be used to build another UPDATE. Settings and the statement
+	 * limit are kept.
+	 *
+	 * @return UpdateQuery as after the no-argument constructor
+	 */
+	@Override
+	public UpdateQuery reset() {
+		queryChanged();
+		tableName = null;
+		setAdded = false;
+		set.clear();
+		bulkKey = null;
+		bulkFields.clear();
+		bulkRows.clear();
+		return this;
+	}
+
+	int estimateLength() {
+		int length = 16 + (tableName == null ? 0 : tableName.length());
+		return length + set.estimateLength(this) + (bulkKey == null ? 0 : estimateBulkLength(bulkRows.size()));
+	}
+
+	private int estimateBulkLength(int rowCount) {
+		int length = 48 + 3 * (bulkKey.length() + estimateNamesLength(bulkFields));
+		if (rowCount > 0) {
+			Object[] row = bulkRows.get(0);
+			int rowLength = 0;
+			for (int i = 0; i < row.length; i++) {
+				rowLength += estimateValueLength(row[i]) + bulkKey.length() + 12;
+			}
+			length += rowCount * rowLength;
+		}
+		return length;
+	}
+
+	/**
+	 * Renders the query; in bulk mode all rows in one statement, use
+	 * getQueries() for statements of limited size.
+	 *
+	 * @throws IllegalStateException When the query is in bulk mode and the
+	 * table name was removed after setBulkFields(), or has no rows
+	 */
+	void appendQuery(StringBuilder builder, ParameterList sink) {
+		if (bulkKey != null) {
+			if (isStringEmptyOrNull(tableName)) {
+				throw new IllegalStateException("Table name must be set for a bulk update");
+			}
+			if (bulkRows.isEmpty()) {
+				throw new IllegalStateException("Bulk update has no rows");
+			}
+			appendBulk(builder, sink, 0, bulkRows.size());
+			return;
+		}
+		builder.append("UPDATE");
+		if (tableName != null) {
+			builder.append(' ');
+			appendIdentifier(builder, tableName);
+		}
+		if (setAdded || !set.isEmpty()) {
+			builder.append(" SET");
+		}
+		if (!set.isEmpty()) {
+			builder.append(' ');
+			set.appendTo(this, builder, sink, null, null);
+		}
+	}
+
+	/**
+	 * Renders UPDATE with a VALUES list. Values are cast to the type the
+	 * dialect asks for, taken from the first value of their column that is
+	 * not null. A field that is null in all rows of the statement is set to
+	 * NULL directly, since its VALUES column has no type to assign.
+	 */
+	private void appendBulk(StringBuilder builder, ParameterList sink, int from, int to) {
+		BulkUpdateSyntax syntax = getDialect().getBulkUpdateSyntax();
+		if (syntax == BulkUpdateSyntax.CASE_WHEN) {
+			appendCaseBulk(builder, sink, from, to);
+			return;
+		}
+		int columns = bulkFields.size() + 1;
+		String[] casts = new String[columns];
+		boolean[] typed = new boolean[columns];
+		for (int row = from; row < to; row++) {
+			Object[] values = bulkRows.get(row);
+			for (int i = 0; i < columns; i++) {
+				if (!typed[i] && values[i] != null) {
+					typed[i] = true;
+					casts[i] = getDialect().getValuesCastType(ValueRenderers.sqlTypeOf(values[i]), values[i].getClass());
+				}
+			}
+		}
+		builder.append("UPDATE ");
+		if (syntax == BulkUpdateSyntax.UPDATE_JOIN) {
+			builder.append("dst");
+		} else {
+			appendIdentifier(builder, tableName);
+			builder.append(" dst");
+		}
+		builder.append(" SET ");
+		for (int i = 0; i < bulkFields.size(); i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			appendIdentifier(builder, bulkFields.get(i));
+			if (typed[i + 1]) {
+				builder.append(" = src.");
+				appendIdentifier(builder, bulkFields.get(i));
+			} else {
+				builder.append(" = NULL");
+			}
+		}
+		if (!set.isEmpty()) {
+			builder.append(", ");
+			set.appendTo(this, builder, sink, null, null);
+		}
+		builder.append(" FROM ");
+		if (syntax == BulkUpdateSyntax.UPDATE_JOIN) {
+			appendIdentifier(builder, tableName);
+			builder.append(" dst JOIN ");
+		}
+		builder.append("(VALUES ");
+		for (int row = from; row < to; row++) {
+			if (row > from) {
+				builder.append(',');
+			}
+			Object[] values = bulkRows.get(row);
+			builder.append('(');
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) {
+					builder.append(',');
+				}
+				if (casts[i] != null) {
+					builder.append("CAST(");
+					insertValueDependsOnClass(builder, values[i], sink);
+					builder.append(" AS ").append(casts[i]).append(')');
+				} else {
+					insertValueDependsOnClass(builder, values[i], sink);
+				}
+			}
+			builder.append(')');
+		}
+		builder.append(") src (");
+		appendIdentifier(builder, bulkKey);
+		builder.append(',');
+		appendIdentifierList(builder, bulkFields);
+		builder.append(syntax == BulkUpdateSyntax.UPDATE_JOIN ? ") ON dst." : ") WHERE dst.");
+		appendIdentifier(builder, bulkKey);
+		builder.append(" = src.");
+		appendIdentifier(builder, bulkKey);
+	}
+
+	private void appendCaseBulk(StringBuilder builder, ParameterList sink, int from, int to) {
+		builder.append("UPDATE ");
+		appendIdentifier(builder, tableName);
+		builder.append(" SET ");
+		for (int i = 0; i < bulkFields.size(); i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			appendIdentifier(builder, bulkFields.get(i));
+			builder.append(" = CASE ");
+			appendIdentifier(builder, bulkKey);
+			for (int row = from; row < to; row++) {
+				Object[] values = bulkRows.get(row);
+				builder.append(" WHEN ");
+				insertValueDependsOnClass(builder, values[0], sink);
+				builder.append(" THEN ");
+				insertValueDependsOnClass(builder, values[i + 1], sink);
+			}
+			builder.append(" END");
+		}
+		if (!set.isEmpty()) {
+			builder.append(", ");
+			set.appendTo(this, builder, sink, null, null);
+		}
+		builder.append(" WHERE ");
+		appendIdentifier(builder, bulkKey);
+		builder.append(" IN (");
+		for (int row = from; row < to; row++) {
+			if (row > from) {
+				builder.append(',');
+			}
+			insertValueDependsOnClass(builder, bulkRows.get(row)[0], sink);
+		}
+		builder.append(')');
 	}
 }
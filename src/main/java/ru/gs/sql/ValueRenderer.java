@@ -0,0 +1,52 @@
+package ru.gs.sql;
+
+import java.sql.Types;
+import ru.gs.sql.dialect.Dialect;
+
+/**
+ * Writes values of one class as SQL literals. Register renderers for own
+ * types with ValueRenderers.register().<br><br>
+ *
+ * Example:<br>
+ * ValueRenderers.register(Money.class, new ValueRenderer&lt;Money&gt;() {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;public void appendLiteral(StringBuilder builder, Money value, Dialect dialect) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;builder.append(value.getAmount().toPlainString());<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;}<br>
+ * });<br><br>
+ *
+ * Values are bound as parameters by the setter of getSqlType(), with the
+ * object returned by toJdbcValue(); by default setObject() with the value
+ * itself.
+ *
+ * @param <T> Class of rendered values
+ * @see ValueRenderers
+ */
+public interface ValueRenderer<T> {
+
+    /**
+     * @param builder Query text
+     * @param value Value to write, never null
+     * @param dialect Dialect of the query, for string literals use
+     * dialect.appendStringLiteral()
+     */
+    void appendLiteral(StringBuilder builder, T value, Dialect dialect);
+
+    /**
+     * @return JDBC type the value is bound with when it is a parameter, one
+     * of java.sql.Types; Types.OTHER by default, bound with setObject()
+     */
+    default int getSqlType() {
+        return Types.OTHER;
+    }
+
+    /**
+     * Converts a parameter value to the object given to the JDBC setter of
+     * getSqlType(), for example a String for Types.VARCHAR.
+     *
+     * @param value Value to bind, never null
+     * @return Value for the driver; value itself by default
+     */
+    default Object toJdbcValue(T value) {
+        return value;
+    }
+}
@@ -0,0 +1,304 @@
+package ru.gs.sql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import ru.gs.sql.dialect.Dialect;
+
+/**
+ * Registry of the ways values are written as literals and bound as
+ * parameters, by value class. Resolving a class walks its superclasses and
+ * interfaces once; the result is cached in a ClassValue, so rendering a
+ * value is one lookup instead of a chain of instanceof checks.<br><br>
+ *
+ * Built in: Integer, Long, Short, Byte and BigInteger as digits, Double and
+ * Float, BigDecimal as plain digits, String, any other CharSequence,
+ * Character, UUID and enums as string literals (enums bound by name()), Boolean as a dialect boolean
+ * literal, byte[] as a dialect hex literal, java.util.Date and its java.sql
+ * subclasses and java.time values with the query dateTimeFormat, Object[] as
+ * ARRAY[...]. Values of other classes cannot be rendered until a renderer is
+ * registered.
+ */
+public final class ValueRenderers {
+
+    private static final ConcurrentMap<Class<?>, Renderer> REGISTERED = new ConcurrentHashMap<Class<?>, Renderer>();
+    private static volatile int version;
+
+    private static final ClassValue<Resolved> RESOLVED = new ClassValue<Resolved>() {
+        @Override
+        protected Resolved computeValue(Class<?> type) {
+            return new Resolved(version, find(type));
+        }
+    };
+
+    static final Renderer UNSUPPORTED = new Renderer(Types.OTHER) {
+        void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+            throw new IllegalArgumentException("Values of " + value.getClass().getName()
+                    + " cannot be written as SQL literals, register a ValueRenderer for it");
+        }
+    };
+
+    static {
+        Renderer integer = new Renderer(Types.INTEGER) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                builder.append(((Number) value).longValue());
+            }
+        };
+        REGISTERED.put(Integer.class, integer);
+        REGISTERED.put(Long.class, integer.withSqlType(Types.BIGINT));
+        REGISTERED.put(Short.class, integer.withSqlType(Types.SMALLINT));
+        REGISTERED.put(Byte.class, integer.withSqlType(Types.TINYINT));
+        Renderer decimal = new Renderer(Types.DOUBLE) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                double number = ((Number) value).doubleValue();
+                if (Double.isNaN(number) || Double.isInfinite(number)) {
+                    throw new IllegalArgumentException(value + " cannot be written as SQL literal");
+                }
+                builder.append(value);
+            }
+        };
+        REGISTERED.put(Double.class, decimal);
+        REGISTERED.put(Float.class, decimal.withSqlType(Types.REAL));
+        REGISTERED.put(BigDecimal.class, new Renderer(Types.DECIMAL) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                builder.append(((BigDecimal) value).toPlainString());
+            }
+        });
+        REGISTERED.put(BigInteger.class, new Renderer(Types.NUMERIC) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                builder.append(value);
+            }
+        });
+        Renderer string = new Renderer(Types.VARCHAR) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                dialect.appendStringLiteral(builder, (CharSequence) value);
+            }
+        };
+        REGISTERED.put(String.class, string);
+        REGISTERED.put(CharSequence.class, string);
+        Renderer text = new Renderer(Types.VARCHAR) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                dialect.appendStringLiteral(builder, value.toString());
+            }
+        };
+        REGISTERED.put(Character.class, text);
+        REGISTERED.put(UUID.class, text.withSqlType(Types.OTHER));
+        REGISTERED.put(Enum.class, new Renderer(Types.VARCHAR) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                dialect.appendStringLiteral(builder, ((Enum<?>) value).name());
+            }
+
+            @Override
+            Object toJdbcValue(Object value) {
+                return ((Enum<?>) value).name();
+            }
+        });
+        REGISTERED.put(Boolean.class, new Renderer(Types.BOOLEAN) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                dialect.appendBooleanLiteral(builder, (Boolean) value);
+            }
+        });
+        REGISTERED.put(byte[].class, new Renderer(Types.VARBINARY) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                dialect.appendBinaryLiteral(builder, (byte[]) value);
+            }
+        });
+        Renderer date = new Renderer(Types.TIMESTAMP) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                builder.append(dialect.getTimestampLiteralPrefix());
+                builder.append('\'');
+                format.appendTo(builder, value);
+                builder.append('\'');
+            }
+        };
+        REGISTERED.put(Date.class, date);
+        REGISTERED.put(LocalDateTime.class, date);
+        REGISTERED.put(Instant.class, date);
+        REGISTERED.put(java.sql.Date.class, date.withSqlType(Types.DATE));
+        REGISTERED.put(LocalDate.class, date.withSqlType(Types.DATE));
+        REGISTERED.put(java.sql.Time.class, date.withSqlType(Types.TIME));
+        REGISTERED.put(LocalTime.class, date.withSqlType(Types.TIME));
+        REGISTERED.put(OffsetDateTime.class, date.withSqlType(Types.TIMESTAMP_WITH_TIMEZONE));
+        REGISTERED.put(ZonedDateTime.class, date.withSqlType(Types.TIMESTAMP_WITH_TIMEZONE));
+        REGISTERED.put(OffsetTime.class, date.withSqlType(Types.TIME_WITH_TIMEZONE));
+        REGISTERED.put(Object[].class, new Renderer(Types.ARRAY) {
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                Object[] elements = (Object[]) value;
+                builder.append("ARRAY[");
+                for (int i = 0; i < elements.length; i++) {
+                    if (i > 0) {
+                        builder.append(',');
+                    }
+                    appendLiteral(builder, elements[i], format, dialect);
+                }
+                builder.append(']');
+            }
+        });
+    }
+
+    private ValueRenderers() {
+    }
+
+    /**
+     * Registers the way values of type and its subclasses are written,
+     * replacing the built in or previously registered one. Register renderers
+     * at startup: queries rendered at the same time may still use the old
+     * renderer.
+     *
+     * @param <T> Class of rendered values
+     * @param type Class of values
+     * @param renderer Renderer of the values
+     */
+    public static <T> void register(Class<T> type, final ValueRenderer<? super T> renderer) {
+        if (type == null || renderer == null) {
+            throw new IllegalArgumentException("Type and renderer cannot be null");
+        }
+        REGISTERED.put(type, new Renderer(renderer.getSqlType()) {
+            @SuppressWarnings("unchecked")
+            void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                ((ValueRenderer<Object>) renderer).appendLiteral(builder, value, dialect);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            Object toJdbcValue(Object value) {
+                return ((ValueRenderer<Object>) renderer).toJdbcValue(value);
+            }
+        });
+        version++;
+    }
+
+    /**
+     * @param type Class of values
+     * @return True if values of type can be written as literals
+     */
+    public static boolean isSupported(Class<?> type) {
+        return resolve(type) != UNSUPPORTED;
+    }
+
+    /**
+     * Writes value as a literal, NULL for null.
+     */
+    static void appendLiteral(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+        if (value == null) {
+            builder.append("NULL");
+        } else {
+            resolve(value.getClass()).append(builder, value, format, dialect);
+        }
+    }
+
+    /**
+     * @return JDBC type of value, Types.NULL for null
+     */
+    static int sqlTypeOf(Object value) {
+        return value == null ? Types.NULL : resolve(value.getClass()).sqlType;
+    }
+
+    /**
+     * @return Object to give the JDBC setter for value, null for null
+     * @see ValueRenderer#toJdbcValue(Object)
+     */
+    static Object toJdbcValue(Object value) {
+        return value == null ? null : resolve(value.getClass()).toJdbcValue(value);
+    }
+
+    static Renderer resolve(Class<?> type) {
+        Resolved resolved = RESOLVED.get(type);
+        if (resolved.version != version) {
+            RESOLVED.remove(type);
+            resolved = RESOLVED.get(type);
+        }
+        return resolved.renderer;
+    }
+
+    /**
+     * Finds the renderer of the class itself, then of its superclasses, then
+     * of its interfaces; object arrays use the Object[] renderer.
+     */
+    private static Renderer find(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Renderer renderer = REGISTERED.get(current);
+            if (renderer != null) {
+                return renderer;
+            }
+        }
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Renderer renderer = findInterface(current);
+            if (renderer != null) {
+                return renderer;
+            }
+        }
+        if (type.isArray() && !type.getComponentType().isPrimitive()) {
+            return REGISTERED.get(Object[].class);
+        }
+        return UNSUPPORTED;
+    }
+
+    private static Renderer findInterface(Class<?> type) {
+        for (Class<?> implemented : type.getInterfaces()) {
+            Renderer renderer = REGISTERED.get(implemented);
+            if (renderer == null) {
+                renderer = findInterface(implemented);
+            }
+            if (renderer != null) {
+                return renderer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Renderer with the query date format at hand, which the public
+     * ValueRenderer does not get.
+     */
+    abstract static class Renderer {
+
+        final int sqlType;
+
+        Renderer(int sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        abstract void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect);
+
+        Object toJdbcValue(Object value) {
+            return value;
+        }
+
+        Renderer withSqlType(int sqlType) {
+            final Renderer delegate = this;
+            return new Renderer(sqlType) {
+                void append(StringBuilder builder, Object value, DateLiteralFormat format, Dialect dialect) {
+                    delegate.append(builder, value, format, dialect);
+                }
+
+                @Override
+                Object toJdbcValue(Object value) {
+                    return delegate.toJdbcValue(value);
+                }
+            };
+        }
+    }
+
+    private static final class Resolved {
+
+        final int version;
+        final Renderer renderer;
+
+        Resolved(int version, Renderer renderer) {
+            this.version = version;
+            this.renderer = renderer;
+        }
+    }
+}
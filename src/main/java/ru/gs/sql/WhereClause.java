@@ -0,0 +1,111 @@
+package ru.gs.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WHERE clause of a query: predicates in the order they were added, each
+ * with the logical operator that joins it to the previous one. The operator
+ * of the first predicate is not rendered, so first constraint handling does
+ * not look at the query text.
+ */
+final class WhereClause {
+
+    static final String AND = "AND";
+    static final String OR = "OR";
+
+    private final List<Predicate> predicates = new ArrayList<Predicate>();
+    private Predicate required;
+    private boolean keywordAdded;
+
+    /**
+     * Makes the clause render WHERE even without predicates.
+     */
+    void addKeyword() {
+        keywordAdded = true;
+    }
+
+    /**
+     * @param operator AND, OR or null to join predicate with a space only
+     * @param predicate Predicate to add
+     */
+    void add(String operator, Predicate predicate) {
+        predicate.operator = operator;
+        predicates.add(predicate);
+    }
+
+    /**
+     * Sets predicate that must hold for every row, whatever other predicates
+     * are. It is joined with AND to the whole clause, and other predicates are
+     * put in parentheses when they use OR.
+     *
+     * @param predicate Predicate to add, replaces the previous one, null removes it
+     */
+    void setRequired(Predicate predicate) {
+        required = predicate;
+    }
+
+    /**
+     * Removes all predicates and the WHERE keyword.
+     */
+    void clear() {
+        predicates.clear();
+        required = null;
+        keywordAdded = false;
+    }
+
+    boolean isEmpty() {
+        return predicates.isEmpty() && required == null;
+    }
+
+    void appendTo(CommonQuery query, StringBuilder builder, ParameterList sink) {
+        if (!keywordAdded && isEmpty()) {
+            return;
+        }
+        builder.append(" WHERE");
+        boolean grouped = required != null && hasOr();
+        if (grouped) {
+            builder.append(" (");
+        }
+        for (int i = 0; i < predicates.size(); i++) {
+            if (i > 0 || !grouped) {
+                builder.append(' ');
+            }
+            Predicate predicate = predicates.get(i);
+            if (i > 0 && predicate.operator != null) {
+                builder.append(predicate.operator).append(' ');
+            }
+            predicate.appendTo(query, builder, sink);
+        }
+        if (grouped) {
+            builder.append(')');
+        }
+        if (required != null) {
+            builder.append(predicates.isEmpty() ? " " : " AND ");
+            required.appendTo(query, builder, sink);
+        }
+    }
+
+    int estimateLength(CommonQuery query) {
+        if (!keywordAdded && isEmpty()) {
+            return 0;
+        }
+        int length = 10;
+        for (int i = 0; i < predicates.size(); i++) {
+            length += predicates.get(i).estimateLength(query) + 5;
+        }
+        if (required != null) {
+            length += required.estimateLength(query) + 5;
+        }
+        return length;
+    }
+
+    private boolean hasOr() {
+        for (int i = 1; i < predicates.size(); i++) {
+            if (OR.equals(predicates.get(i).operator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.gs.sql.dialect;
+
+/**
+ * How an engine writes one UPDATE that gives many rows their own values.
+ *
+ * @see Dialect#getBulkUpdateSyntax()
+ */
+public enum BulkUpdateSyntax {
+
+    /**
+     * UPDATE table SET field = CASE key WHEN 1 THEN 'a' WHEN 2 THEN 'b' END
+     * WHERE key IN (1,2), standard SQL.
+     */
+    CASE_WHEN,
+    /**
+     * UPDATE table dst SET field = src.field FROM (VALUES (1,'a'),(2,'b'))
+     * src (key,field) WHERE dst.key = src.key
+     */
+    UPDATE_FROM,
+    /**
+     * UPDATE dst SET field = src.field FROM table dst JOIN (VALUES
+     * (1,'a'),(2,'b')) src (key,field) ON dst.key = src.key
+     */
+    UPDATE_JOIN
+}
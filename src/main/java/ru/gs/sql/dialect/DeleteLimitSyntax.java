@@ -0,0 +1,26 @@
+package ru.gs.sql.dialect;
+
+/**
+ * How an engine writes a DELETE that removes at most n rows, used by chunked
+ * deletes.
+ *
+ * @see Dialect#getDeleteLimitSyntax()
+ */
+public enum DeleteLimitSyntax {
+
+    /**
+     * DELETE FROM table WHERE key IN (SELECT key FROM table WHERE ... ORDER BY
+     * key limited like a SELECT). Without a chunk key the row id column of the
+     * dialect is used, like ctid or ROWID.
+     */
+    SUBQUERY,
+    /**
+     * DELETE FROM table WHERE ... ORDER BY key LIMIT n
+     */
+    LIMIT,
+    /**
+     * DELETE TOP (n) FROM table WHERE ..., or the SUBQUERY form when a chunk
+     * key is set, since TOP does not take ORDER BY.
+     */
+    TOP
+}
@@ -0,0 +1,362 @@
+package ru.gs.sql.dialect;
+
+/**
+ * SQL dialect of a database engine. It renders the parts of a query that
+ * differ between engines: row limiting clauses, quoted identifiers and
+ * literals. This class renders standard SQL:2008 and is used by default,
+ * extend it to support another engine.<br><br>
+ *
+ * Example:<br>
+ * SelectQuery query = new SelectQuery();<br>
+ * query.setDialect(Dialect.POSTGRESQL);<br>
+ * query.addField("name").addFrom("employee").addOrderBy("name");<br>
+ * query.setLimit(10).setOffset(20);<br><br>
+ *
+ * Result:<br>
+ * SELECT name FROM employee ORDER BY name LIMIT 10 OFFSET 20<br><br>
+ *
+ * Dialects have no state and are safe to share between threads.
+ */
+public class Dialect {
+
+    /**
+     * Standard SQL: OFFSET n ROWS FETCH FIRST n ROWS ONLY, identifiers quoted with ".
+     */
+    public static final Dialect ANSI = new Dialect("ANSI", '"', '"');
+    /**
+     * PostgreSQL: LIMIT n OFFSET n, identifiers quoted with ".
+     */
+    public static final Dialect POSTGRESQL = new PostgreSQLDialect();
+    /**
+     * MySQL and MariaDB: LIMIT n OFFSET n, identifiers quoted with `, backslashes escaped in strings.
+     */
+    public static final Dialect MYSQL = new MySQLDialect();
+    /**
+     * H2: LIMIT n OFFSET n, identifiers quoted with ".
+     */
+    public static final Dialect H2 = new H2Dialect();
+    /**
+     * Oracle 12c and later: OFFSET n ROWS FETCH FIRST n ROWS ONLY, dates as TIMESTAMP literals.
+     */
+    public static final Dialect ORACLE = new OracleDialect();
+    /**
+     * SQL Server 2012 and later: TOP (n) or OFFSET n ROWS FETCH NEXT n ROWS ONLY, identifiers quoted with [].
+     */
+    public static final Dialect SQL_SERVER = new SQLServerDialect();
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final String name;
+    private final char openQuote;
+    private final char closeQuote;
+
+    /**
+     * @param name Dialect name, for toString()
+     * @param openQuote Character that starts a quoted identifier
+     * @param closeQuote Character that ends a quoted identifier
+     */
+    protected Dialect(String name, char openQuote, char closeQuote) {
+        this.name = name;
+        this.openQuote = openQuote;
+        this.closeQuote = closeQuote;
+    }
+
+    /**
+     * @return Dialect name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Appends identifier quoted with dialect quotes, each part of a dotted name
+     * separately, like <b>"employee"."name"</b>. Names that are not plain
+     * identifiers, like expressions, * or already quoted names, are written
+     * as is.
+     *
+     * @param builder Target for the identifier
+     * @param identifier Table or field name
+     */
+    public void appendQuotedIdentifier(StringBuilder builder, String identifier) {
+        if (!isIdentifierPath(identifier)) {
+            builder.append(identifier);
+            return;
+        }
+        int start = 0;
+        while (true) {
+            int end = identifier.indexOf('.', start);
+            if (end < 0) {
+                end = identifier.length();
+            }
+            if (end - start == 1 && identifier.charAt(start) == '*') {
+                builder.append('*');
+            } else {
+                builder.append(openQuote);
+                builder.append(identifier, start, end);
+                builder.append(closeQuote);
+            }
+            if (end == identifier.length()) {
+                return;
+            }
+            builder.append('.');
+            start = end + 1;
+        }
+    }
+
+    private static boolean isIdentifierPath(String identifier) {
+        int partLength = 0;
+        for (int i = 0; i < identifier.length(); i++) {
+            char ch = identifier.charAt(i);
+            if (ch == '.') {
+                if (partLength == 0) {
+                    return false;
+                }
+                partLength = 0;
+            } else if (ch == '*') {
+                if (partLength != 0 || i != identifier.length() - 1) {
+                    return false;
+                }
+                partLength++;
+            } else if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '$') {
+                partLength++;
+            } else {
+                return false;
+            }
+        }
+        return partLength > 0;
+    }
+
+    /**
+     * Appends value as a string literal in single quotes.
+     *
+     * @param builder Target for the literal
+     * @param value String value
+     * @see #appendStringContent(StringBuilder, CharSequence, int, int)
+     */
+    public void appendStringLiteral(StringBuilder builder, CharSequence value) {
+        builder.append('\'');
+        appendStringContent(builder, value, 0, value.length());
+        builder.append('\'');
+    }
+
+    /**
+     * Appends chars of value from start to end as they must be written
+     * between the quotes of a string literal: quotes are doubled.
+     *
+     * @param builder Target for the literal text
+     * @param value String value
+     * @param start Index of the first char
+     * @param end Index after the last char
+     */
+    public void appendStringContent(StringBuilder builder, CharSequence value, int start, int end) {
+        appendEscaped(builder, value, start, end, false);
+    }
+
+    /**
+     * Appends chars of value doubling quotes, and backslashes if asked. The
+     * value is scanned first and, when nothing must be escaped, appended in
+     * one bulk copy; otherwise the runs between escaped chars are copied.
+     * Nothing is allocated in either case.
+     *
+     * @param builder Target for the literal text
+     * @param value String value
+     * @param start Index of the first char
+     * @param end Index after the last char
+     * @param escapeBackslash True to double backslashes too
+     */
+    protected static void appendEscaped(StringBuilder builder, CharSequence value, int start, int end, boolean escapeBackslash) {
+        int i = start;
+        while (i < end) {
+            char ch = value.charAt(i);
+            if (ch == '\'' || (escapeBackslash && ch == '\\')) {
+                break;
+            }
+            i++;
+        }
+        if (i == end) {
+            if (start == 0 && end == value.length() && value instanceof String) {
+                builder.append((String) value);
+            } else {
+                builder.append(value, start, end);
+            }
+            return;
+        }
+        int run = start;
+        for (; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '\'' || (escapeBackslash && ch == '\\')) {
+                builder.append(value, run, i + 1);
+                run = i;
+            }
+        }
+        builder.append(value, run, end);
+    }
+
+    /**
+     * Appends boolean literal, TRUE or FALSE by default.
+     *
+     * @param builder Target for the literal
+     * @param value Boolean value
+     */
+    public void appendBooleanLiteral(StringBuilder builder, boolean value) {
+        builder.append(value ? "TRUE" : "FALSE");
+    }
+
+    /**
+     * Appends binary literal, <b>X'0AFF'</b> by default.
+     *
+     * @param builder Target for the literal
+     * @param value Bytes
+     */
+    public void appendBinaryLiteral(StringBuilder builder, byte[] value) {
+        builder.append("X'");
+        appendHex(builder, value);
+        builder.append('\'');
+    }
+
+    /**
+     * Appends bytes as upper case hex digits, two per byte.
+     *
+     * @param builder Target for the digits
+     * @param value Bytes
+     */
+    protected static void appendHex(StringBuilder builder, byte[] value) {
+        for (int i = 0; i < value.length; i++) {
+            builder.append(HEX_DIGITS[(value[i] >> 4) & 0xF]);
+            builder.append(HEX_DIGITS[value[i] & 0xF]);
+        }
+    }
+
+    /**
+     * @return One char string that escapes % and _ in LIKE patterns, written
+     * in an ESCAPE clause when the pattern needs it; backslash by default
+     */
+    public String getLikeEscape() {
+        return "\\";
+    }
+
+    /**
+     * @return Chars besides %, _ and the escape char that are special in LIKE
+     * patterns and escaped when a value is matched literally; none by default
+     */
+    public String getLikeSpecialChars() {
+        return "";
+    }
+
+    /**
+     * @return True if the engine compares row values like <b>(a,b)&gt;(1,2)</b>
+     * and uses an index for it, false by default
+     */
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * @return True if the engine takes a whole list as one array parameter in
+     * <b>name=ANY(?)</b>, false by default
+     */
+    public boolean supportsArrayParameters() {
+        return false;
+    }
+
+    /**
+     * @return Maximum number of values in one IN list, longer lists are split
+     * into several IN groups; 0 if unlimited, by default
+     */
+    public int getMaxInListSize() {
+        return 0;
+    }
+
+    /**
+     * @return Maximum number of parameters in one statement, statements of
+     * bulk updates are split to stay under it; 0 if unlimited, by default
+     */
+    public int getMaxParameters() {
+        return 0;
+    }
+
+    /**
+     * @return Text written before the quoted text of date and time values,
+     * empty by default
+     */
+    public String getTimestampLiteralPrefix() {
+        return "";
+    }
+
+    /**
+     * @return Syntax of INSERT with conflict handling, standard MERGE by default
+     */
+    public UpsertSyntax getUpsertSyntax() {
+        return UpsertSyntax.MERGE;
+    }
+
+    /**
+     * @return Syntax of UPDATE with own values for each row, standard CASE
+     * by default
+     */
+    public BulkUpdateSyntax getBulkUpdateSyntax() {
+        return BulkUpdateSyntax.CASE_WHEN;
+    }
+
+    /**
+     * Type a value of a VALUES list in a bulk update is cast to. Engines that
+     * give untyped VALUES columns a type of their own, like text, need it
+     * for values whose literals are strings, such as dates and UUIDs.
+     *
+     * @param sqlType JDBC type of the value, one of java.sql.Types
+     * @param type Class of the value
+     * @return Type name, null if the value needs no cast; null by default
+     */
+    public String getValuesCastType(int sqlType, Class<?> type) {
+        return null;
+    }
+
+    /**
+     * @return Syntax of DELETE that removes at most n rows, a subquery
+     * limited like SELECT by default
+     */
+    public DeleteLimitSyntax getDeleteLimitSyntax() {
+        return DeleteLimitSyntax.SUBQUERY;
+    }
+
+    /**
+     * @return Pseudo column that identifies a table row, used by chunked
+     * deletes without a chunk key; null by default, when there is none
+     */
+    public String getRowIdColumn() {
+        return null;
+    }
+
+    /**
+     * Appends row limiting written right after SELECT, for engines that use
+     * TOP. Does nothing by default.
+     *
+     * @param builder Query text after SELECT
+     * @param limit Maximum number of rows, 0 if unlimited
+     * @param offset Number of rows to skip, 0 if none
+     */
+    public void appendSelectLimit(StringBuilder builder, long limit, long offset) {
+    }
+
+    /**
+     * Appends row limiting written at the end of the query, after ORDER BY.
+     *
+     * @param builder Query text
+     * @param limit Maximum number of rows, 0 if unlimited
+     * @param offset Number of rows to skip, 0 if none
+     * @param ordered True when the query has ORDER BY
+     */
+    public void appendRowLimit(StringBuilder builder, long limit, long offset, boolean ordered) {
+        if (offset > 0) {
+            builder.append(" OFFSET ").append(offset).append(" ROWS");
+        }
+        if (limit > 0) {
+            builder.append(offset > 0 ? " FETCH NEXT " : " FETCH FIRST ").append(limit).append(" ROWS ONLY");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.gs.sql.dialect;
+
+/**
+ * H2 dialect. Renders like PostgreSQL, but IN lists are not sent as array
+ * parameters, binary values are written as standard X'' literals, upserts
+ * use standard MERGE and bulk updates use CASE.
+ *
+ * @see Dialect#H2
+ */
+public class H2Dialect extends PostgreSQLDialect {
+
+    public H2Dialect() {
+        super("H2");
+    }
+
+    @Override
+    public boolean supportsArrayParameters() {
+        return false;
+    }
+
+    /**
+     * Appends standard binary literal, like <b>X'0AFF'</b>.
+     */
+    @Override
+    public void appendBinaryLiteral(StringBuilder builder, byte[] value) {
+        builder.append("X'");
+        appendHex(builder, value);
+        builder.append('\'');
+    }
+
+    @Override
+    public UpsertSyntax getUpsertSyntax() {
+        return UpsertSyntax.MERGE;
+    }
+
+    @Override
+    public BulkUpdateSyntax getBulkUpdateSyntax() {
+        return BulkUpdateSyntax.CASE_WHEN;
+    }
+
+    @Override
+    public String getRowIdColumn() {
+        return "_ROWID_";
+    }
+}
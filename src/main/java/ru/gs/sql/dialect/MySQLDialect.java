@@ -0,0 +1,52 @@
+package ru.gs.sql.dialect;
+
+/**
+ * MySQL and MariaDB dialect. Rows are limited with LIMIT and OFFSET,
+ * identifiers are quoted with backticks and backslashes in strings are
+ * escaped, as MySQL treats them as escape characters by default.
+ *
+ * @see Dialect#MYSQL
+ */
+public class MySQLDialect extends Dialect {
+
+    /**
+     * MySQL has no OFFSET without LIMIT, this is the documented way to skip rows only.
+     */
+    private static final String NO_LIMIT = "18446744073709551615";
+
+    public MySQLDialect() {
+        super("MySQL", '`', '`');
+    }
+
+    @Override
+    public void appendStringContent(StringBuilder builder, CharSequence value, int start, int end) {
+        appendEscaped(builder, value, start, end, true);
+    }
+
+    @Override
+    public void appendRowLimit(StringBuilder builder, long limit, long offset, boolean ordered) {
+        if (limit > 0) {
+            builder.append(" LIMIT ").append(limit);
+        } else if (offset > 0) {
+            builder.append(" LIMIT ").append(NO_LIMIT);
+        }
+        if (offset > 0) {
+            builder.append(" OFFSET ").append(offset);
+        }
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 65535;
+    }
+
+    @Override
+    public UpsertSyntax getUpsertSyntax() {
+        return UpsertSyntax.ON_DUPLICATE_KEY;
+    }
+
+    @Override
+    public DeleteLimitSyntax getDeleteLimitSyntax() {
+        return DeleteLimitSyntax.LIMIT;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.gs.sql.dialect;
+
+/**
+ * Oracle 12c and later dialect. Rows are limited with standard OFFSET and
+ * FETCH, dates are written as TIMESTAMP literals, so the query date format
+ * must be a timestamp format like the default one. IN lists are split into
+ * groups of 1000 values, the Oracle limit. Booleans are written as 1 and 0.
+ *
+ * @see Dialect#ORACLE
+ */
+public class OracleDialect extends Dialect {
+
+    public OracleDialect() {
+        super("Oracle", '"', '"');
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return 1000;
+    }
+
+    @Override
+    public String getTimestampLiteralPrefix() {
+        return "TIMESTAMP ";
+    }
+
+    /**
+     * Appends 1 or 0, Oracle SQL has no boolean literals.
+     */
+    @Override
+    public void appendBooleanLiteral(StringBuilder builder, boolean value) {
+        builder.append(value ? '1' : '0');
+    }
+
+    /**
+     * Appends RAW value, like <b>HEXTORAW('0AFF')</b>.
+     */
+    @Override
+    public void appendBinaryLiteral(StringBuilder builder, byte[] value) {
+        builder.append("HEXTORAW('");
+        appendHex(builder, value);
+        builder.append("')");
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 65535;
+    }
+
+    @Override
+    public UpsertSyntax getUpsertSyntax() {
+        return UpsertSyntax.MERGE_FROM_DUAL;
+    }
+
+    @Override
+    public String getRowIdColumn() {
+        return "ROWID";
+    }
+}
@@ -0,0 +1,94 @@
+package ru.gs.sql.dialect;
+
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * PostgreSQL dialect. Rows are limited with LIMIT and OFFSET, binary values
+ * are written as bytea literals.
+ *
+ * @see Dialect#POSTGRESQL
+ */
+public class PostgreSQLDialect extends Dialect {
+
+    public PostgreSQLDialect() {
+        super("PostgreSQL", '"', '"');
+    }
+
+    protected PostgreSQLDialect(String name) {
+        super(name, '"', '"');
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsArrayParameters() {
+        return true;
+    }
+
+    @Override
+    public void appendRowLimit(StringBuilder builder, long limit, long offset, boolean ordered) {
+        if (limit > 0) {
+            builder.append(" LIMIT ").append(limit);
+        }
+        if (offset > 0) {
+            builder.append(" OFFSET ").append(offset);
+        }
+    }
+
+    /**
+     * Appends bytea literal, like <b>'\x0AFF'::bytea</b>.
+     */
+    @Override
+    public void appendBinaryLiteral(StringBuilder builder, byte[] value) {
+        builder.append("'\\x");
+        appendHex(builder, value);
+        builder.append("'::bytea");
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 32767;
+    }
+
+    @Override
+    public UpsertSyntax getUpsertSyntax() {
+        return UpsertSyntax.ON_CONFLICT;
+    }
+
+    @Override
+    public BulkUpdateSyntax getBulkUpdateSyntax() {
+        return BulkUpdateSyntax.UPDATE_FROM;
+    }
+
+    /**
+     * Casts date and time values and UUIDs: PostgreSQL makes VALUES columns
+     * of quoted literals and of untyped parameters text, which cannot be
+     * assigned to such columns.
+     */
+    @Override
+    public String getValuesCastType(int sqlType, Class<?> type) {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+                return "timestamp";
+            case Types.DATE:
+                return "date";
+            case Types.TIME:
+                return "time";
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return "timestamptz";
+            case Types.TIME_WITH_TIMEZONE:
+                return "timetz";
+            default:
+                return UUID.class.equals(type) ? "uuid" : null;
+        }
+    }
+
+    @Override
+    public String getRowIdColumn() {
+        return "ctid";
+    }
+}
@@ -0,0 +1,83 @@
+package ru.gs.sql.dialect;
+
+/**
+ * SQL Server 2012 and later dialect. A limit without offset is written as
+ * TOP after SELECT. With an offset OFFSET and FETCH are used, which SQL Server
+ * allows only after ORDER BY, so ORDER BY (SELECT NULL) is added to queries
+ * without one. Identifiers are quoted with square brackets, booleans are
+ * written as 1 and 0.
+ *
+ * @see Dialect#SQL_SERVER
+ */
+public class SQLServerDialect extends Dialect {
+
+    public SQLServerDialect() {
+        super("SQL Server", '[', ']');
+    }
+
+    @Override
+    public void appendSelectLimit(StringBuilder builder, long limit, long offset) {
+        if (limit > 0 && offset == 0) {
+            builder.append(" TOP (").append(limit).append(')');
+        }
+    }
+
+    @Override
+    public void appendRowLimit(StringBuilder builder, long limit, long offset, boolean ordered) {
+        if (offset == 0) {
+            return;
+        }
+        if (!ordered) {
+            builder.append(" ORDER BY (SELECT NULL)");
+        }
+        builder.append(" OFFSET ").append(offset).append(" ROWS");
+        if (limit > 0) {
+            builder.append(" FETCH NEXT ").append(limit).append(" ROWS ONLY");
+        }
+    }
+
+    /**
+     * Appends 1 or 0, bit values; SQL Server has no boolean literals.
+     */
+    @Override
+    public void appendBooleanLiteral(StringBuilder builder, boolean value) {
+        builder.append(value ? '1' : '0');
+    }
+
+    /**
+     * Appends binary constant, like <b>0x0AFF</b>.
+     */
+    @Override
+    public void appendBinaryLiteral(StringBuilder builder, byte[] value) {
+        builder.append("0x");
+        appendHex(builder, value);
+    }
+
+    /**
+     * @return [, which starts a char range like [a-f] in SQL Server patterns
+     */
+    @Override
+    public String getLikeSpecialChars() {
+        return "[";
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 2100;
+    }
+
+    @Override
+    public UpsertSyntax getUpsertSyntax() {
+        return UpsertSyntax.MERGE_TERMINATED;
+    }
+
+    @Override
+    public BulkUpdateSyntax getBulkUpdateSyntax() {
+        return BulkUpdateSyntax.UPDATE_JOIN;
+    }
+
+    @Override
+    public DeleteLimitSyntax getDeleteLimitSyntax() {
+        return DeleteLimitSyntax.TOP;
+    }
+}
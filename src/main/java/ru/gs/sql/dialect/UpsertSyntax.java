@@ -0,0 +1,36 @@
+package ru.gs.sql.dialect;
+
+/**
+ * How an engine writes an INSERT that updates or skips rows that already
+ * exist.
+ *
+ * @see Dialect#getUpsertSyntax()
+ */
+public enum UpsertSyntax {
+
+    /**
+     * INSERT ... ON CONFLICT (keys) DO UPDATE SET field = EXCLUDED.field, or
+     * DO NOTHING.
+     */
+    ON_CONFLICT,
+    /**
+     * INSERT ... ON DUPLICATE KEY UPDATE field = VALUES(field). Any unique
+     * key of the table conflicts, conflict fields are not written.
+     */
+    ON_DUPLICATE_KEY,
+    /**
+     * Standard MERGE INTO table dst USING (VALUES ...) src (fields) ON (keys)
+     * WHEN MATCHED THEN UPDATE ... WHEN NOT MATCHED THEN INSERT ...
+     */
+    MERGE,
+    /**
+     * MERGE like the standard one, terminated with a semicolon, which SQL
+     * Server requires.
+     */
+    MERGE_TERMINATED,
+    /**
+     * MERGE with source rows selected from dual and joined with UNION ALL,
+     * for engines without a VALUES table constructor.
+     */
+    MERGE_FROM_DUAL
+}
@@ -0,0 +1,19 @@
+package ru.gs.sql.exceptions;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps a SQLException thrown where checked exceptions cannot be thrown, for
+ * example while a stream of query results is consumed.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
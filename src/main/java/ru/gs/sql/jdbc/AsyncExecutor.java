@@ -0,0 +1,270 @@
+package ru.gs.sql.jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import ru.gs.sql.ParameterBinder;
+import ru.gs.sql.Query;
+
+/**
+ * Runs queries in the background and returns CompletableFuture results, so
+ * many independent queries can be started at once without blocking the
+ * calling thread.<br><br>
+ *
+ * On Java 21 and later each query runs on its own virtual thread; on older
+ * runtimes a cached pool of daemon threads is used. A semaphore limits the
+ * number of queries that hold a connection at the same time, set it to the
+ * size of the connection pool: waiting queries park their thread, not a
+ * connection.<br><br>
+ *
+ * Example:<br>
+ * AsyncExecutor executor = new AsyncExecutor(dataSource, 10);<br>
+ * CompletableFuture&lt;List&lt;String&gt;&gt; names = executor.query(namesQuery, rs -&gt; rs.getString(1));<br>
+ * CompletableFuture&lt;Integer&gt; updated = executor.update(updateQuery);<br>
+ * CompletableFuture.allOf(names, updated).join();<br><br>
+ *
+ * Failures complete the future exceptionally with the SQLException.
+ * Executors are safe to share between threads; close them to stop the
+ * threads they own.
+ */
+public class AsyncExecutor implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final DataSource dataSource;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final boolean virtualThreads;
+
+    /**
+     * Creates an executor with its own virtual-thread-per-task executor, or
+     * a cached thread pool where virtual threads are not available.
+     *
+     * @param dataSource Source of connections, each query takes its own one
+     * @param maxConcurrency Maximum number of queries that run at the same time
+     */
+    public AsyncExecutor(DataSource dataSource, int maxConcurrency) {
+        this(dataSource, maxConcurrency, null, true);
+    }
+
+    /**
+     * Creates an executor that runs queries on the given executor, which is
+     * not shut down by close().
+     *
+     * @param dataSource Source of connections, each query takes its own one
+     * @param maxConcurrency Maximum number of queries that run at the same time
+     * @param executor Executor to run queries on
+     */
+    public AsyncExecutor(DataSource dataSource, int maxConcurrency, ExecutorService executor) {
+        this(dataSource, maxConcurrency, checkNotNull(executor), false);
+    }
+
+    private AsyncExecutor(DataSource dataSource, int maxConcurrency, ExecutorService executor, boolean ownsExecutor) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum concurrency must be positive");
+        }
+        this.dataSource = dataSource;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.ownsExecutor = ownsExecutor;
+        if (executor != null) {
+            this.executor = executor;
+            this.virtualThreads = false;
+        } else {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            this.virtualThreads = virtual != null;
+            this.executor = virtual != null ? virtual : Executors.newCachedThreadPool(new DaemonThreadFactory());
+        }
+    }
+
+    private static ExecutorService checkNotNull(ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        return executor;
+    }
+
+    /**
+     * @return Executors.newVirtualThreadPerTaskExecutor() when the runtime
+     * has it, otherwise null
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return True if queries run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return Maximum number of queries that run at the same time
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Executes a SELECT query and collects all mapped rows.
+     *
+     * @param <T> Type of mapped rows
+     * @param query Query built with QUESTION_MARK parameter style or with inline values
+     * @param mapper Mapper of one row
+     * @return Future list of rows
+     */
+    public <T> CompletableFuture<List<T>> query(final Query query, final RowMapper<T> mapper) {
+        if (mapper == null) {
+            throw new IllegalArgumentException("Row mapper cannot be null");
+        }
+        return submit(new Work<List<T>>() {
+            public List<T> run(Connection connection) throws SQLException {
+                try (PreparedStatement statement = connection.prepareStatement(query.getQueryString())) {
+                    ParameterBinder.bind(statement, query.getParameters());
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        List<T> rows = new ArrayList<T>();
+                        while (resultSet.next()) {
+                            rows.add(mapper.map(resultSet));
+                        }
+                        return rows;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes an INSERT, UPDATE or DELETE query.
+     *
+     * @param query Query built with QUESTION_MARK parameter style or with inline values
+     * @return Future update count
+     */
+    public CompletableFuture<Integer> update(final Query query) {
+        return submit(new Work<Integer>() {
+            public Integer run(Connection connection) throws SQLException {
+                try (PreparedStatement statement = connection.prepareStatement(query.getQueryString())) {
+                    ParameterBinder.bind(statement, query.getParameters());
+                    return statement.executeUpdate();
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes queries in JDBC batches on one connection.
+     *
+     * @param queries Queries to execute
+     * @param batchSize Maximum number of queries in one batch
+     * @param commitInterval Number of batches between commits, 0 to use the
+     * auto-commit mode of the connection
+     * @return Future report of the batches
+     * @see BatchExecutor
+     */
+    public CompletableFuture<BatchReport> batch(final Iterable<? extends Query> queries, final int batchSize, final int commitInterval) {
+        return submit(new Work<BatchReport>() {
+            public BatchReport run(Connection connection) throws SQLException {
+                return new BatchExecutor(connection).setBatchSize(batchSize).setCommitInterval(commitInterval).execute(queries);
+            }
+        });
+    }
+
+    private <R> CompletableFuture<R> submit(final Work<R> work) {
+        final CompletableFuture<R> future = new CompletableFuture<R>();
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    execute(work, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Runs work holding a permit and a connection. The future is completed
+     * after both are given back, so a caller that sees the result can reuse
+     * the connection at once.
+     */
+    private <R> void execute(Work<R> work, CompletableFuture<R> future) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return;
+        }
+        if (future.isDone()) {
+            permits.release();
+            return;
+        }
+        R result;
+        try (Connection connection = dataSource.getConnection()) {
+            result = work.run(connection);
+        } catch (Throwable e) {
+            permits.release();
+            future.completeExceptionally(e);
+            return;
+        }
+        permits.release();
+        future.complete(result);
+    }
+
+    /**
+     * Stops accepting queries. Running queries are completed. Threads are
+     * only stopped when the executor was created by this object.
+     */
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private interface Work<R> {
+
+        R run(Connection connection) throws SQLException;
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "sql-async-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
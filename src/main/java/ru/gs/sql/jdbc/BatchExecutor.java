@@ -0,0 +1,336 @@
+package ru.gs.sql.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import ru.gs.sql.DeleteQuery;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterBinder;
+import ru.gs.sql.Query;
+
+/**
+ * Runs INSERT and UPDATE queries through JDBC batches instead of executing
+ * them one by one.<br><br>
+ *
+ * Queries built with QUESTION_MARK parameter style that have the same text
+ * share one PreparedStatement: their parameters are bound and added with
+ * addBatch() until the batch size is reached, then executeBatch() sends them
+ * in one round trip. When the text changes, for example for the last shorter
+ * chunk of a multi-row insert, the pending batch is executed and a new
+ * statement is prepared. Queries with inline values are added to a plain
+ * Statement batch, whatever their text is.<br><br>
+ *
+ * With a commit interval the executor turns auto-commit off for the run,
+ * commits after every N batches and at the end, rolls back the uncommitted
+ * part when a batch fails, and restores auto-commit afterwards. Without it
+ * transactions are left to the caller.<br><br>
+ *
+ * Chunked DELETE queries are run by executeInChunks(): the same statement is
+ * executed until it deletes fewer rows than the chunk size, and with a commit
+ * interval every N chunks are committed, so a purge holds its locks only for
+ * short transactions.<br><br>
+ *
+ * Example:<br>
+ * InsertQuery query = new InsertQuery("employee");<br>
+ * query.setParameterStyle(ParameterStyle.QUESTION_MARK);<br>
+ * query.addInsertableFieldNames(new String[]{"name", "family"});<br>
+ * query.setMaxRowsPerStatement(100);<br>
+ * for (...) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;query.addRow(row);<br>
+ * }<br>
+ * BatchReport report = new BatchExecutor(connection).setBatchSize(50).setCommitInterval(10).execute(query);<br><br>
+ *
+ * Instances are not thread safe, and neither is the connection.
+ */
+public class BatchExecutor {
+
+    /**
+     * Default number of queries in one executeBatch() call.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final Connection connection;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int commitInterval;
+
+    /**
+     * @param connection Connection to run queries on, it is not closed by the executor
+     */
+    public BatchExecutor(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        this.connection = connection;
+    }
+
+    /**
+     * @return Maximum number of queries in one executeBatch() call
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize Maximum number of queries in one executeBatch() call
+     * @return This executor
+     * @throws IllegalArgumentException When batchSize is less than 1
+     */
+    public BatchExecutor setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return Number of batches between commits, 0 if the executor does not commit
+     */
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * @param commitInterval Number of batches between commits, 0 to leave
+     * transactions to the caller
+     * @return This executor
+     * @throws IllegalArgumentException When commitInterval is negative
+     */
+    public BatchExecutor setCommitInterval(int commitInterval) {
+        if (commitInterval < 0) {
+            throw new IllegalArgumentException("Commit interval cannot be negative");
+        }
+        this.commitInterval = commitInterval;
+        return this;
+    }
+
+    /**
+     * Executes all statements of a multi-row insert.
+     *
+     * @param query Insert query with rows or values
+     * @return Results of all batches
+     * @throws SQLException When preparing, binding or executing fails
+     * @see InsertQuery#getQueries()
+     */
+    public BatchReport execute(InsertQuery query) throws SQLException {
+        return execute(query.getQueries());
+    }
+
+    /**
+     * Executes queries in batches, in iteration order.
+     *
+     * @param queries Queries to execute, they are read once
+     * @return Results of all batches
+     * @throws SQLException When preparing, binding or executing fails
+     */
+    public BatchReport execute(Iterable<? extends Query> queries) throws SQLException {
+        long start = System.nanoTime();
+        boolean managed = commitInterval > 0;
+        boolean autoCommit = connection.getAutoCommit();
+        if (managed && autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        Run run = new Run(managed);
+        try {
+            for (Query query : queries) {
+                run.add(query);
+            }
+            run.flush();
+            if (managed) {
+                run.commit();
+            }
+        } catch (SQLException e) {
+            run.rollback(e);
+            throw e;
+        } catch (RuntimeException e) {
+            run.rollback(e);
+            throw e;
+        } finally {
+            run.close();
+            if (managed && autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+        return new BatchReport(run.results, run.commitCount, System.nanoTime() - start);
+    }
+
+    /**
+     * Executes a chunked delete again and again until it deletes fewer rows
+     * than its chunk size, that is until no matching rows remain. The
+     * statement is prepared once. Each execution is one result of the report;
+     * with a commit interval it counts as a batch, otherwise each execution
+     * is committed as the connection does it.<br><br>
+     *
+     * Example:<br>
+     * DeleteQuery query = new DeleteQuery("event");<br>
+     * query.setDialect(Dialect.POSTGRESQL);<br>
+     * query.addWhere().between("created", from, to).setChunkSize(5000);<br>
+     * BatchReport report = new BatchExecutor(connection).setCommitInterval(1).executeInChunks(query);
+     *
+     * @param query Delete query with a chunk size
+     * @return Results of all executions
+     * @throws SQLException When preparing, binding or executing fails
+     * @throws IllegalArgumentException When the query has no chunk size
+     * @see DeleteQuery#setChunkSize(long)
+     */
+    public BatchReport executeInChunks(DeleteQuery query) throws SQLException {
+        long chunkSize = query.getChunkSize();
+        if (chunkSize == 0) {
+            throw new IllegalArgumentException("Query has no chunk size");
+        }
+        long start = System.nanoTime();
+        boolean managed = commitInterval > 0;
+        boolean autoCommit = connection.getAutoCommit();
+        if (managed && autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        Run run = new Run(managed);
+        try {
+            int count;
+            do {
+                count = run.update(query);
+            } while (count >= chunkSize);
+            if (managed) {
+                run.commit();
+            }
+        } catch (SQLException e) {
+            run.rollback(e);
+            throw e;
+        } catch (RuntimeException e) {
+            run.rollback(e);
+            throw e;
+        } finally {
+            run.close();
+            if (managed && autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+        return new BatchReport(run.results, run.commitCount, System.nanoTime() - start);
+    }
+
+    /**
+     * State of one execute() call: the open statement and the pending batch.
+     */
+    private final class Run {
+
+        private final boolean managed;
+        private final List<BatchResult> results = new ArrayList<BatchResult>();
+        private Statement statement;
+        private String preparedText;
+        private int pending;
+        private int uncommittedBatches;
+        private int commitCount;
+
+        Run(boolean managed) {
+            this.managed = managed;
+        }
+
+        void add(Query query) throws SQLException {
+            String text = query.getQueryString();
+            if (query.getParameters().isEmpty()) {
+                if (preparedText != null) {
+                    flush();
+                    closeStatement();
+                }
+                if (statement == null) {
+                    statement = connection.createStatement();
+                }
+                statement.addBatch(text);
+            } else {
+                if (!text.equals(preparedText)) {
+                    flush();
+                    closeStatement();
+                    statement = connection.prepareStatement(text);
+                    preparedText = text;
+                }
+                PreparedStatement prepared = (PreparedStatement) statement;
+                ParameterBinder.bind(prepared, query.getParameters());
+                prepared.addBatch();
+            }
+            if (++pending == batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Executes query on its own, reusing the statement while the text
+         * stays the same.
+         *
+         * @return Update count
+         */
+        int update(Query query) throws SQLException {
+            String text = query.getQueryString();
+            long start = System.nanoTime();
+            int count;
+            if (query.getParameters().isEmpty()) {
+                if (statement == null) {
+                    statement = connection.createStatement();
+                }
+                count = statement.executeUpdate(text);
+            } else {
+                if (!text.equals(preparedText)) {
+                    closeStatement();
+                    statement = connection.prepareStatement(text);
+                    preparedText = text;
+                }
+                PreparedStatement prepared = (PreparedStatement) statement;
+                ParameterBinder.bind(prepared, query.getParameters());
+                count = prepared.executeUpdate();
+            }
+            results.add(new BatchResult(text, new int[]{count}, System.nanoTime() - start));
+            if (managed && ++uncommittedBatches == commitInterval) {
+                commit();
+            }
+            return count;
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            long start = System.nanoTime();
+            int[] updateCounts = statement.executeBatch();
+            results.add(new BatchResult(preparedText, updateCounts, System.nanoTime() - start));
+            pending = 0;
+            if (managed && ++uncommittedBatches == commitInterval) {
+                commit();
+            }
+        }
+
+        void commit() throws SQLException {
+            if (uncommittedBatches == 0) {
+                return;
+            }
+            connection.commit();
+            commitCount++;
+            uncommittedBatches = 0;
+        }
+
+        void rollback(Exception cause) {
+            if (!managed) {
+                return;
+            }
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                cause.addSuppressed(e);
+            }
+        }
+
+        void close() throws SQLException {
+            closeStatement();
+        }
+
+        private void closeStatement() throws SQLException {
+            if (statement != null) {
+                Statement closing = statement;
+                statement = null;
+                preparedText = null;
+                closing.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.gs.sql.jdbc;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of all batches run by one BatchExecutor.execute() call, in
+ * execution order.
+ *
+ * @see BatchExecutor
+ */
+public final class BatchReport {
+
+    private final List<BatchResult> batches;
+    private final int commitCount;
+    private final long elapsedNanos;
+
+    BatchReport(List<BatchResult> batches, int commitCount, long elapsedNanos) {
+        this.batches = Collections.unmodifiableList(batches);
+        this.commitCount = commitCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return Result of each batch in execution order
+     */
+    public List<BatchResult> getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return Number of executed queries
+     */
+    public long getQueryCount() {
+        long count = 0;
+        for (BatchResult batch : batches) {
+            count += batch.getSize();
+        }
+        return count;
+    }
+
+    /**
+     * @return Sum of known update counts of all batches
+     */
+    public long getUpdateCount() {
+        long count = 0;
+        for (BatchResult batch : batches) {
+            count += batch.getUpdateCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of commits made by the executor, 0 when it did not
+     * manage transactions
+     */
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * @return Time of the whole run in nanoseconds, with statement preparing
+     * and commits
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return batches.size() + " batches, " + getQueryCount() + " queries, " + getUpdateCount() + " rows, "
+                + commitCount + " commits, " + elapsedNanos / 1000000 + " ms";
+    }
+}
@@ -0,0 +1,68 @@
+package ru.gs.sql.jdbc;
+
+/**
+ * Outcome of one executeBatch() call: statement text, update counts as the
+ * driver returned them and the time it took.
+ *
+ * @see BatchReport
+ */
+public final class BatchResult {
+
+    private final String queryString;
+    private final int[] updateCounts;
+    private final long elapsedNanos;
+
+    BatchResult(String queryString, int[] updateCounts, long elapsedNanos) {
+        this.queryString = queryString;
+        this.updateCounts = updateCounts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return Text of the prepared statement, null for a batch of inline
+     * queries with different texts
+     */
+    public String getQueryString() {
+        return queryString;
+    }
+
+    /**
+     * @return Number of queries in the batch
+     */
+    public int getSize() {
+        return updateCounts.length;
+    }
+
+    /**
+     * @return Update count of each query in batch order, java.sql.Statement.SUCCESS_NO_INFO
+     * where the driver does not know it
+     */
+    public int[] getUpdateCounts() {
+        return updateCounts.clone();
+    }
+
+    /**
+     * @return Sum of known update counts
+     */
+    public long getUpdateCount() {
+        long count = 0;
+        for (int updateCount : updateCounts) {
+            if (updateCount > 0) {
+                count += updateCount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Time of the executeBatch() call in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getSize() + " queries, " + getUpdateCount() + " rows, " + elapsedNanos / 1000000 + " ms";
+    }
+}
@@ -0,0 +1,345 @@
+package ru.gs.sql.jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.ref.SoftReference;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import ru.gs.sql.SelectQuery;
+
+/**
+ * Maps rows to objects of a class with a no-argument constructor, setting a
+ * property for each selected field. Fields are matched to properties by
+ * name, ignoring case and underscores, so <b>first_name</b> and
+ * <b>e.first_name</b> both set firstName; for <b>count(*) AS total</b> the
+ * alias is used. A public setter is preferred, otherwise the field itself is
+ * set; of overloaded setters the one taking the type of the field is used.
+ * Fields without a matching property are skipped.<br><br>
+ *
+ * The mapping plan is made once per field list and class and cached: column
+ * indexes, column readers and MethodHandles of setters are resolved up front,
+ * so mapping a row reads columns by index and calls the handles, without name
+ * lookups or reflection. Cached mappers are held softly: a mapper refers to
+ * its class, so a strong cache entry would keep the class and its class
+ * loader from being unloaded. A cleared mapper is made again on next
+ * use.<br><br>
+ *
+ * Example:<br>
+ * SelectQuery query = new SelectQuery();<br>
+ * query.addField("id").addField("first_name").addFrom("employee");<br>
+ * Stream&lt;Employee&gt; employees = executor.stream(query, BeanRowMapper.of(Employee.class, query));<br><br>
+ *
+ * Mappers are immutable and safe to share between threads.
+ *
+ * @param <T> Type of mapped rows
+ */
+public final class BeanRowMapper<T> implements RowMapper<T> {
+
+    private static final ClassValue<ConcurrentMap<List<String>, SoftReference<BeanRowMapper<?>>>> PLANS =
+            new ClassValue<ConcurrentMap<List<String>, SoftReference<BeanRowMapper<?>>>>() {
+                @Override
+                protected ConcurrentMap<List<String>, SoftReference<BeanRowMapper<?>>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<List<String>, SoftReference<BeanRowMapper<?>>>();
+                }
+            };
+
+    private static final int STRING = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int BOOLEAN = 4;
+    private static final int DECIMAL = 5;
+    private static final int FLOAT = 6;
+    private static final int SHORT = 7;
+    private static final int BYTE = 8;
+    private static final int CHAR = 9;
+    private static final int OBJECT = 10;
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final int[] columns;
+    private final int[] readers;
+    private final boolean[] primitive;
+    private final Class<?>[] valueTypes;
+    private final MethodHandle[] setters;
+
+    private BeanRowMapper(Class<T> type, List<String> fields) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Constructor<T> declared = type.getDeclaredConstructor();
+            declared.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(declared).asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException(type.getName() + " has no accessible no-argument constructor", e);
+        }
+        List<Integer> columnList = new ArrayList<Integer>();
+        List<MethodHandle> setterList = new ArrayList<MethodHandle>();
+        List<Class<?>> typeList = new ArrayList<Class<?>>();
+        for (int i = 0; i < fields.size(); i++) {
+            String property = normalize(columnLabel(fields.get(i)));
+            MethodHandle setter = findSetter(lookup, type, property);
+            if (setter != null) {
+                columnList.add(i + 1);
+                typeList.add(setter.type().parameterType(1));
+                setterList.add(setter.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+            }
+        }
+        int count = columnList.size();
+        this.columns = new int[count];
+        this.readers = new int[count];
+        this.primitive = new boolean[count];
+        this.valueTypes = new Class<?>[count];
+        this.setters = setterList.toArray(new MethodHandle[count]);
+        for (int i = 0; i < count; i++) {
+            columns[i] = columnList.get(i);
+            valueTypes[i] = typeList.get(i);
+            readers[i] = readerOf(valueTypes[i]);
+            primitive[i] = valueTypes[i].isPrimitive();
+        }
+    }
+
+    /**
+     * Returns the cached mapper for the field list of a query.
+     *
+     * @param <T> Type of mapped rows
+     * @param type Class of mapped rows
+     * @param query Query whose fields are mapped, in SELECT order
+     * @return Mapper
+     * @throws IllegalArgumentException When type has no no-argument
+     * constructor, a field is * or a property has several setters and none
+     * takes the type of its field
+     */
+    public static <T> BeanRowMapper<T> of(Class<T> type, SelectQuery query) {
+        return of(type, query.getFields());
+    }
+
+    /**
+     * Returns the cached mapper for a field list, creating it on first use.
+     *
+     * @param <T> Type of mapped rows
+     * @param type Class of mapped rows
+     * @param fields Selected fields, column i+1 of the result set is fields.get(i)
+     * @return Mapper
+     * @throws IllegalArgumentException When type has no no-argument
+     * constructor, a field is * or a property has several setters and none
+     * takes the type of its field
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanRowMapper<T> of(Class<T> type, List<String> fields) {
+        ConcurrentMap<List<String>, SoftReference<BeanRowMapper<?>>> plans = PLANS.get(type);
+        SoftReference<BeanRowMapper<?>> cached = plans.get(fields);
+        BeanRowMapper<?> mapper = cached == null ? null : cached.get();
+        if (mapper == null) {
+            List<String> key = Collections.unmodifiableList(new ArrayList<String>(fields));
+            for (String field : key) {
+                if (field.endsWith("*")) {
+                    throw new IllegalArgumentException("Fields must be listed by name to be mapped, but found " + field);
+                }
+            }
+            mapper = new BeanRowMapper<T>(type, key);
+            plans.put(key, new SoftReference<BeanRowMapper<?>>(mapper));
+        }
+        return (BeanRowMapper<T>) mapper;
+    }
+
+    /**
+     * @return Class of mapped rows
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return Number of fields that are set for each row
+     */
+    public int getMappedColumnCount() {
+        return columns.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet resultSet) throws SQLException {
+        try {
+            Object bean = constructor.invokeExact();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = read(resultSet, i);
+                if (value != null || !primitive[i]) {
+                    setters[i].invokeExact(bean, value);
+                }
+            }
+            return (T) bean;
+        } catch (SQLException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Cannot map row to " + type.getName(), e);
+        }
+    }
+
+    private Object read(ResultSet resultSet, int i) throws SQLException {
+        int column = columns[i];
+        Object value;
+        switch (readers[i]) {
+            case STRING:
+                return resultSet.getString(column);
+            case INT:
+                value = resultSet.getInt(column);
+                break;
+            case LONG:
+                value = resultSet.getLong(column);
+                break;
+            case DOUBLE:
+                value = resultSet.getDouble(column);
+                break;
+            case BOOLEAN:
+                value = resultSet.getBoolean(column);
+                break;
+            case FLOAT:
+                value = resultSet.getFloat(column);
+                break;
+            case SHORT:
+                value = resultSet.getShort(column);
+                break;
+            case BYTE:
+                value = resultSet.getByte(column);
+                break;
+            case CHAR:
+                String text = resultSet.getString(column);
+                return text == null || text.isEmpty() ? null : Character.valueOf(text.charAt(0));
+            case DECIMAL:
+                return resultSet.getBigDecimal(column);
+            default:
+                return resultSet.getObject(column, valueTypes[i]);
+        }
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static int readerOf(Class<?> valueType) {
+        if (valueType == String.class) {
+            return STRING;
+        } else if (valueType == int.class || valueType == Integer.class) {
+            return INT;
+        } else if (valueType == long.class || valueType == Long.class) {
+            return LONG;
+        } else if (valueType == double.class || valueType == Double.class) {
+            return DOUBLE;
+        } else if (valueType == boolean.class || valueType == Boolean.class) {
+            return BOOLEAN;
+        } else if (valueType == float.class || valueType == Float.class) {
+            return FLOAT;
+        } else if (valueType == short.class || valueType == Short.class) {
+            return SHORT;
+        } else if (valueType == byte.class || valueType == Byte.class) {
+            return BYTE;
+        } else if (valueType == char.class || valueType == Character.class) {
+            return CHAR;
+        } else if (valueType == BigDecimal.class) {
+            return DECIMAL;
+        } else {
+            return OBJECT;
+        }
+    }
+
+    /**
+     * Finds a public setter or a field of property, looking in superclasses too.
+     * Of several setters the one taking the type of the field is used.
+     *
+     * @return Handle of type (T, value)void or null
+     * @throws IllegalArgumentException When there are several setters and
+     * none takes the type of the field
+     */
+    private static MethodHandle findSetter(MethodHandles.Lookup lookup, Class<?> type, String property) {
+        Field field = findField(type, property);
+        Method setter = null;
+        int setterCount = 0;
+        for (Method method : type.getMethods()) {
+            if (method.getParameterTypes().length == 1 && !Modifier.isStatic(method.getModifiers()) && !method.isBridge()
+                    && method.getName().startsWith("set") && normalize(method.getName().substring(3)).equals(property)) {
+                setterCount++;
+                if (setter == null || (field != null && method.getParameterTypes()[0] == field.getType())) {
+                    setter = method;
+                }
+            }
+        }
+        if (setterCount > 1 && (field == null || setter.getParameterTypes()[0] != field.getType())) {
+            throw new IllegalArgumentException(type.getName() + " has several setters of " + property
+                    + " and none takes the type of its field");
+        }
+        if (setter != null) {
+            try {
+                setter.setAccessible(true);
+                return lookup.unreflect(setter);
+            } catch (RuntimeException | IllegalAccessException e) {
+                // set the field instead
+            }
+        }
+        if (field == null) {
+            return null;
+        }
+        try {
+            field.setAccessible(true);
+            return lookup.unreflectSetter(field);
+        } catch (RuntimeException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Non-static non-final field of property, nearest to type, or null
+     */
+    private static Field findField(Class<?> type, String property) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())
+                        && normalize(field.getName()).equals(property)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Result column label of a selected field: the alias after AS or
+     * the last part of a dotted name, without quotes
+     */
+    static String columnLabel(String field) {
+        String label = field.trim();
+        int alias = label.toUpperCase(Locale.ROOT).lastIndexOf(" AS ");
+        if (alias >= 0) {
+            label = label.substring(alias + 4).trim();
+        } else {
+            int dot = label.lastIndexOf('.');
+            if (dot >= 0) {
+                label = label.substring(dot + 1);
+            }
+        }
+        return label;
+    }
+
+    private static String normalize(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                builder.append(Character.toLowerCase(ch));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package ru.gs.sql.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import ru.gs.sql.exceptions.UncheckedSQLException;
+
+/**
+ * Iterator over the rows of an open forward-only result set. Rows are read
+ * from the driver as they are requested, so memory use does not depend on
+ * the number of rows. The cursor closes itself after the last row; close it
+ * explicitly when iteration stops early.<br><br>
+ *
+ * SQLExceptions thrown while iterating are wrapped in UncheckedSQLException.
+ *
+ * @param <T> Type of mapped rows
+ * @see SelectExecutor#iterator(ru.gs.sql.Query, RowMapper)
+ */
+public final class ResultCursor<T> implements Iterator<T>, AutoCloseable {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private final boolean restoreAutoCommit;
+    private boolean rowReady;
+    private boolean closed;
+
+    ResultCursor(Connection connection, PreparedStatement statement, ResultSet resultSet, RowMapper<T> mapper, boolean restoreAutoCommit) {
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+        this.restoreAutoCommit = restoreAutoCommit;
+    }
+
+    /**
+     * @return Result set the rows are read from
+     */
+    public ResultSet getResultSet() {
+        return resultSet;
+    }
+
+    /**
+     * @return True if close() was called or all rows were read
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public boolean hasNext() {
+        if (rowReady) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            rowReady = resultSet.next();
+        } catch (SQLException e) {
+            throw closeAfter(e);
+        }
+        if (!rowReady) {
+            close();
+        }
+        return rowReady;
+    }
+
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        rowReady = false;
+        try {
+            return mapper.map(resultSet);
+        } catch (SQLException e) {
+            throw closeAfter(e);
+        }
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Closes the result set, the statement and the connection. The
+     * transaction opened for the cursor is committed before auto-commit is
+     * restored. Calling it again does nothing.
+     *
+     * @throws UncheckedSQLException When closing fails
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        rowReady = false;
+        SQLException failure = null;
+        failure = close(resultSet, failure);
+        failure = close(statement, failure);
+        if (restoreAutoCommit) {
+            try {
+                connection.commit();
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        failure = close(connection, failure);
+        if (failure != null) {
+            throw new UncheckedSQLException(failure);
+        }
+    }
+
+    private UncheckedSQLException closeAfter(SQLException cause) {
+        try {
+            close();
+        } catch (UncheckedSQLException e) {
+            cause.addSuppressed(e.getCause());
+        }
+        return new UncheckedSQLException(cause);
+    }
+
+    private static SQLException close(AutoCloseable resource, SQLException failure) {
+        try {
+            resource.close();
+        } catch (SQLException e) {
+            return addFailure(failure, e);
+        } catch (Exception e) {
+            return addFailure(failure, new SQLException(e));
+        }
+        return failure;
+    }
+
+    private static SQLException addFailure(SQLException failure, SQLException e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+}
@@ -0,0 +1,192 @@
+package ru.gs.sql.jdbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import ru.gs.sql.Query;
+import ru.gs.sql.exceptions.UncheckedSQLException;
+
+/**
+ * Publishes the rows of a SELECT query to Flow subscribers with
+ * backpressure. The query is executed for each subscriber when it first
+ * requests rows, and rows are read from the cursor only as they are
+ * requested: the driver reads them in fetch-size blocks, and the publisher
+ * never reads more rows than the subscriber asked for. Cancelling the
+ * subscription closes the statement and the connection.<br><br>
+ *
+ * Rows are read and signals are sent on the given executor, one task at a
+ * time per subscription, so a slow subscriber holds a connection but no
+ * thread while it has no demand.<br><br>
+ *
+ * Example:<br>
+ * Flow.Publisher&lt;Employee&gt; rows = selectExecutor.publish(query, BeanRowMapper.of(Employee.class, query), executor);<br>
+ * rows.subscribe(httpResponseSubscriber);<br><br>
+ *
+ * SQLExceptions are signalled with onError as they are, without wrapping.
+ *
+ * @param <T> Type of mapped rows
+ * @see SelectExecutor#publish(Query, RowMapper, Executor)
+ */
+public final class ResultPublisher<T> implements Flow.Publisher<T> {
+
+    private final SelectExecutor selectExecutor;
+    private final Query query;
+    private final RowMapper<T> mapper;
+    private final Executor executor;
+
+    ResultPublisher(SelectExecutor selectExecutor, Query query, RowMapper<T> mapper, Executor executor) {
+        if (query == null || mapper == null || executor == null) {
+            throw new IllegalArgumentException("Query, row mapper and executor cannot be null");
+        }
+        this.selectExecutor = selectExecutor;
+        this.query = query;
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        subscriber.onSubscribe(new RowSubscription(subscriber));
+    }
+
+    /**
+     * Demand of one subscriber and its cursor. All signals and cursor calls
+     * happen in drain(), which never runs on two threads at once.
+     */
+    private final class RowSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException badRequest;
+        private ResultCursor<T> cursor;
+        private boolean done;
+
+        RowSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        public void request(long n) {
+            if (n <= 0) {
+                badRequest = new IllegalArgumentException("Subscriber requested " + n + " rows, but must request a positive number");
+            } else {
+                long current;
+                long next;
+                do {
+                    current = demand.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!demand.compareAndSet(current, next));
+            }
+            schedule();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    pendingDrains.set(0);
+                    closeCursor();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (badRequest != null) {
+                finish();
+                subscriber.onError(badRequest);
+                return;
+            }
+            long requested = demand.get();
+            if (requested == 0) {
+                return;
+            }
+            try {
+                if (cursor == null) {
+                    cursor = selectExecutor.iterator(query, mapper);
+                }
+            } catch (SQLException e) {
+                finish();
+                subscriber.onError(e);
+                return;
+            }
+            while (requested != 0) {
+                long emitted = 0;
+                while (emitted != requested) {
+                    if (cancelled) {
+                        finish();
+                        return;
+                    }
+                    T row;
+                    try {
+                        if (!cursor.hasNext()) {
+                            done = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        row = cursor.next();
+                    } catch (UncheckedSQLException e) {
+                        finish();
+                        subscriber.onError(e.getCause());
+                        return;
+                    } catch (RuntimeException e) {
+                        finish();
+                        subscriber.onError(e);
+                        return;
+                    }
+                    try {
+                        subscriber.onNext(row);
+                    } catch (RuntimeException e) {
+                        finish();
+                        return;
+                    }
+                    emitted++;
+                }
+                requested = requested == Long.MAX_VALUE ? Long.MAX_VALUE : demand.addAndGet(-emitted);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            closeCursor();
+        }
+
+        private void closeCursor() {
+            if (cursor != null) {
+                try {
+                    cursor.close();
+                } catch (UncheckedSQLException e) {
+                    // the subscriber is gone or has already got the failure
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.gs.sql.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Turns the current row of a result set into an object. Mappers must not
+ * move the cursor.
+ *
+ * @param <T> Type of mapped rows
+ * @see SelectExecutor
+ */
+public interface RowMapper<T> {
+
+    /**
+     * @param resultSet Result set positioned on the row to map
+     * @return Row object
+     * @throws SQLException When reading a column fails
+     */
+    T map(ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,168 @@
+package ru.gs.sql.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+import ru.gs.sql.ParameterBinder;
+import ru.gs.sql.Query;
+
+/**
+ * Runs SELECT queries and reads their results lazily, one fetch at a time,
+ * so any number of rows is processed in constant memory.<br><br>
+ *
+ * Each call takes a connection from the data source and opens a forward-only,
+ * read-only statement with the configured fetch size. Auto-commit is turned
+ * off while the cursor is open, because PostgreSQL only honours the fetch
+ * size inside a transaction. The statement and the connection are closed when
+ * the stream or the cursor is closed, or when the last row is read.<br><br>
+ *
+ * Example:<br>
+ * SelectQuery query = new SelectQuery();<br>
+ * query.setParameterStyle(ParameterStyle.QUESTION_MARK);<br>
+ * query.addField("id").addField("name").addFrom("employee").addWhere().isEquals("department", "Sales");<br>
+ * try (Stream&lt;String&gt; names = new SelectExecutor(dataSource).stream(query, rs -&gt; rs.getString(2))) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;names.forEach(...);<br>
+ * }<br><br>
+ *
+ * MySQL Connector/J streams rows only with fetch size Integer.MIN_VALUE or
+ * with useCursorFetch=true in the connection URL.<br><br>
+ *
+ * Executors have no state besides their settings and are safe to share
+ * between threads once configured.
+ */
+public class SelectExecutor {
+
+    /**
+     * Default number of rows the driver reads in one round trip.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private volatile int fetchSize = DEFAULT_FETCH_SIZE;
+
+    /**
+     * @param dataSource Source of connections, each query takes its own one
+     */
+    public SelectExecutor(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @return Number of rows the driver reads in one round trip
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * @param fetchSize Number of rows the driver reads in one round trip, 0 for
+     * the driver default or Integer.MIN_VALUE for MySQL row streaming
+     * @return This executor
+     * @throws IllegalArgumentException When fetchSize is negative and not Integer.MIN_VALUE
+     */
+    public SelectExecutor setFetchSize(int fetchSize) {
+        if (fetchSize < 0 && fetchSize != Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Fetch size cannot be negative");
+        }
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Executes the query and returns its rows as a lazy sequential stream.
+     * Close the stream, for example with try-with-resources, when it is not
+     * read to the end.
+     *
+     * @param <T> Type of mapped rows
+     * @param query Query built with QUESTION_MARK parameter style or with inline values
+     * @param mapper Mapper of one row
+     * @return Stream of mapped rows
+     * @throws SQLException When the query cannot be executed
+     */
+    public <T> Stream<T> stream(Query query, RowMapper<T> mapper) throws SQLException {
+        ResultCursor<T> cursor = iterator(query, mapper);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * Returns a publisher that executes the query for each subscriber and
+     * sends rows as they are requested.
+     *
+     * @param <T> Type of mapped rows
+     * @param query Query built with QUESTION_MARK parameter style or with inline values
+     * @param mapper Mapper of one row
+     * @param executor Executor that reads rows and signals subscribers
+     * @return Cold publisher of mapped rows
+     * @see ResultPublisher
+     */
+    public <T> Flow.Publisher<T> publish(Query query, RowMapper<T> mapper, Executor executor) {
+        return new ResultPublisher<T>(this, query, mapper, executor);
+    }
+
+    /**
+     * Executes the query and returns a cursor over its rows.
+     *
+     * @param <T> Type of mapped rows
+     * @param query Query built with QUESTION_MARK parameter style or with inline values
+     * @param mapper Mapper of one row
+     * @return Open cursor
+     * @throws SQLException When the query cannot be executed
+     */
+    public <T> ResultCursor<T> iterator(Query query, RowMapper<T> mapper) throws SQLException {
+        if (mapper == null) {
+            throw new IllegalArgumentException("Row mapper cannot be null");
+        }
+        String text = query.getQueryString();
+        Connection connection = dataSource.getConnection();
+        boolean restoreAutoCommit = false;
+        PreparedStatement statement = null;
+        try {
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+            statement = connection.prepareStatement(text, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            ParameterBinder.bind(statement, query.getParameters());
+            ResultSet resultSet = statement.executeQuery();
+            return new ResultCursor<T>(connection, statement, resultSet, mapper, restoreAutoCommit);
+        } catch (SQLException e) {
+            closeQuietly(connection, statement, restoreAutoCommit, e);
+            throw e;
+        } catch (RuntimeException e) {
+            closeQuietly(connection, statement, restoreAutoCommit, e);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(Connection connection, PreparedStatement statement, boolean restoreAutoCommit, Exception cause) {
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+            if (restoreAutoCommit) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
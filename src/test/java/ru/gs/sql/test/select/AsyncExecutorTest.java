@@ -0,0 +1,99 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+import ru.gs.sql.jdbc.AsyncExecutor;
+import ru.gs.sql.jdbc.RowMapper;
+
+public class AsyncExecutorTest {
+
+    private static final String URL = "jdbc:h2:mem:asyncExecutor";
+
+    private Connection keepAlive;
+    private RecordingDataSource dataSource;
+
+    @Before
+    public void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL);
+        Statement statement = keepAlive.createStatement();
+        statement.execute("CREATE TABLE employee (id INT PRIMARY KEY, name VARCHAR(50))");
+        statement.execute("INSERT INTO employee SELECT X, 'Employee ' || X FROM SYSTEM_RANGE(1, 20)");
+        statement.close();
+        dataSource = new RecordingDataSource(URL);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    public void fanOutTest() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        RowMapper<String> slowMapper = rs -> {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return rs.getString(1);
+        };
+        List<CompletableFuture<List<String>>> futures = new ArrayList<CompletableFuture<List<String>>>();
+        try (AsyncExecutor executor = new AsyncExecutor(dataSource.dataSource, 3)) {
+            for (int i = 1; i <= 20; i++) {
+                SelectQuery query = new SelectQuery();
+                query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+                query.addField("name").addFrom("employee").addWhere().isEquals("id", i);
+                futures.add(executor.query(query, slowMapper));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        for (int i = 1; i <= 20; i++) {
+            assertEquals("[Employee " + i + "]", futures.get(i - 1).get().toString());
+        }
+        assertTrue(maxRunning.get() <= 3);
+        for (Connection connection : dataSource.opened) {
+            assertTrue(connection.isClosed());
+        }
+    }
+
+    @Test
+    public void updateTest() throws Exception {
+        try (AsyncExecutor executor = new AsyncExecutor(dataSource.dataSource, 2)) {
+            int updated = executor.update(new UpdateQuery("employee").addSet().addSet("name", "Anton")).get();
+            assertEquals(20, updated);
+        }
+    }
+
+    @Test
+    public void failureTest() throws InterruptedException, SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addFrom("missing_table");
+        try (AsyncExecutor executor = new AsyncExecutor(dataSource.dataSource, 2)) {
+            executor.query(query, rs -> rs.getInt(1)).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.gs.sql.BuiltQuery;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+import ru.gs.sql.jdbc.BatchExecutor;
+import ru.gs.sql.jdbc.BatchReport;
+
+public class BatchExecutorTest {
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE TABLE employee (id INT PRIMARY KEY, name VARCHAR(50))");
+        statement.close();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private long count(String sql) throws SQLException {
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(sql);
+        resultSet.next();
+        long count = resultSet.getLong(1);
+        statement.close();
+        return count;
+    }
+
+    private InsertQuery employeeInsert(int rows) throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        query.setMaxRowsPerStatement(1);
+        for (int i = 1; i <= rows; i++) {
+            query.addRow(new Object[]{i, "Employee " + i});
+        }
+        return query;
+    }
+
+    @Test
+    public void multiRowInsertTest() throws SQLException, SQLCreationException {
+        InsertQuery query = employeeInsert(25);
+        query.setMaxRowsPerStatement(4);
+
+        BatchReport report = new BatchExecutor(connection).setBatchSize(3).execute(query);
+
+        assertEquals(25, count("SELECT COUNT(*) FROM employee"));
+        assertEquals(7, report.getQueryCount());
+        assertEquals(25, report.getUpdateCount());
+        assertEquals(3, report.getBatches().size());
+        assertEquals(3, report.getBatches().get(0).getSize());
+        assertEquals(3, report.getBatches().get(1).getSize());
+        assertEquals(1, report.getBatches().get(2).getSize());
+        assertEquals("INSERT INTO employee (id,name) VALUES (?,?)", report.getBatches().get(2).getQueryString());
+        assertEquals(0, report.getCommitCount());
+    }
+
+    @Test
+    public void inlineUpdatesTest() throws SQLException, SQLCreationException {
+        new BatchExecutor(connection).execute(employeeInsert(3));
+        List<BuiltQuery> updates = new ArrayList<BuiltQuery>();
+        for (int i = 1; i <= 3; i++) {
+            updates.add(new UpdateQuery("employee").addSet().addSet("name", "Name " + i).build());
+        }
+
+        BatchReport report = new BatchExecutor(connection).execute(updates);
+
+        assertEquals(1, report.getBatches().size());
+        assertNull(report.getBatches().get(0).getQueryString());
+        assertEquals(9, report.getUpdateCount());
+        assertEquals(3, count("SELECT COUNT(*) FROM employee WHERE name='Name 3'"));
+    }
+
+    @Test
+    public void commitIntervalTest() throws SQLException, SQLCreationException {
+        BatchReport report = new BatchExecutor(connection).setBatchSize(2).setCommitInterval(2).execute(employeeInsert(9).getQueries());
+
+        assertEquals(9, count("SELECT COUNT(*) FROM employee"));
+        assertEquals(5, report.getBatches().size());
+        assertEquals(3, report.getCommitCount());
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    public void rollbackTest() throws SQLException, SQLCreationException {
+        InsertQuery query = employeeInsert(6);
+        query.addRow(new Object[]{1, "Duplicate"});
+        try {
+            new BatchExecutor(connection).setBatchSize(2).setCommitInterval(2).execute(query.getQueries());
+            fail();
+        } catch (SQLException e) {
+            assertEquals(4, count("SELECT COUNT(*) FROM employee"));
+            assertTrue(connection.getAutoCommit());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongBatchSizeTest() throws SQLException {
+        new BatchExecutor(connection).setBatchSize(0);
+    }
+}
@@ -0,0 +1,172 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+import ru.gs.sql.jdbc.BeanRowMapper;
+
+public class BeanRowMapperTest {
+
+    public static class Employee {
+
+        private int id;
+        private String firstName;
+        private BigDecimal salary;
+        private LocalDate hired;
+        private Long managerId;
+        private int total;
+
+        public void setFirstName(String firstName) {
+            this.firstName = "set:" + firstName;
+        }
+    }
+
+    public static class Measure {
+
+        private float rate;
+        private short level;
+        private byte grade;
+        private char mark;
+        private Float bonus;
+        private Short rank;
+        private Byte flags;
+        private Character code;
+    }
+
+    public static class Account {
+
+        private long balance;
+        private String owner;
+
+        public void setBalance(String balance) {
+            this.balance = Long.parseLong(balance.trim());
+        }
+
+        public void setBalance(long balance) {
+            this.balance = balance;
+        }
+
+        public void setName(String name) {
+            this.owner = name;
+        }
+
+        public void setName(StringBuilder name) {
+            this.owner = name.toString();
+        }
+    }
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE TABLE employee (id INT, first_name VARCHAR(50), salary DECIMAL(10,2), hired DATE, manager_id BIGINT)");
+        statement.execute("INSERT INTO employee VALUES (1, 'Ivan', 1500.50, DATE '2011-09-15', NULL)");
+        statement.close();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private Employee mapFirst(SelectQuery query) throws SQLException {
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(query.getQueryString());
+        resultSet.next();
+        Employee employee = BeanRowMapper.of(Employee.class, query).map(resultSet);
+        statement.close();
+        return employee;
+    }
+
+    @Test
+    public void mapTest() throws SQLException, SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("e.id").addField("e.first_name").addField("salary").addField("hired").addField("manager_id")
+                .addField("id + 1 AS total").addField("'unmapped' AS other").addFrom("employee e");
+
+        Employee employee = mapFirst(query);
+
+        assertEquals(1, employee.id);
+        assertEquals("set:Ivan", employee.firstName);
+        assertEquals(new BigDecimal("1500.50"), employee.salary);
+        assertEquals(LocalDate.of(2011, 9, 15), employee.hired);
+        assertNull(employee.managerId);
+        assertEquals(2, employee.total);
+        assertEquals(6, BeanRowMapper.of(Employee.class, query).getMappedColumnCount());
+    }
+
+    @Test
+    public void smallTypesTest() throws SQLException, SQLCreationException {
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE TABLE measure (rate REAL, level SMALLINT, grade TINYINT, mark CHAR(1),"
+                + " bonus REAL, rank SMALLINT, flags TINYINT, code CHAR(1))");
+        statement.execute("INSERT INTO measure VALUES (0.5, 300, 7, 'A', NULL, NULL, NULL, NULL), (1.5, 2, 3, 'B', 2.5, 4, 5, 'C')");
+        SelectQuery query = new SelectQuery();
+        query.addField("rate").addField("level").addField("grade").addField("mark").addField("bonus")
+                .addField("rank").addField("flags").addField("code").addFrom("measure").addOrderBy("rate");
+        ResultSet resultSet = statement.executeQuery(query.getQueryString());
+        BeanRowMapper<Measure> mapper = BeanRowMapper.of(Measure.class, query);
+
+        resultSet.next();
+        Measure measure = mapper.map(resultSet);
+        assertEquals(0.5f, measure.rate, 0f);
+        assertEquals(300, measure.level);
+        assertEquals(7, measure.grade);
+        assertEquals('A', measure.mark);
+        assertNull(measure.bonus);
+        assertNull(measure.rank);
+        assertNull(measure.flags);
+        assertNull(measure.code);
+
+        resultSet.next();
+        measure = mapper.map(resultSet);
+        assertEquals(Float.valueOf(2.5f), measure.bonus);
+        assertEquals(Short.valueOf((short) 4), measure.rank);
+        assertEquals(Byte.valueOf((byte) 5), measure.flags);
+        assertEquals(Character.valueOf('C'), measure.code);
+        statement.close();
+    }
+
+    @Test
+    public void cachedPlanTest() {
+        BeanRowMapper<Employee> first = BeanRowMapper.of(Employee.class, Arrays.asList("id", "first_name"));
+        BeanRowMapper<Employee> second = BeanRowMapper.of(Employee.class, Arrays.asList("id", "first_name"));
+        BeanRowMapper<Employee> other = BeanRowMapper.of(Employee.class, Arrays.asList("first_name", "id"));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    public void overloadedSetterTest() throws SQLException {
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT CAST(42 AS BIGINT) AS balance");
+        resultSet.next();
+
+        assertEquals(42L, BeanRowMapper.of(Account.class, Arrays.asList("balance")).map(resultSet).balance);
+        statement.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ambiguousSetterTest() {
+        BeanRowMapper.of(Account.class, Arrays.asList("name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void starTest() {
+        BeanRowMapper.of(Employee.class, Arrays.asList("e.*"));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.gs.sql.test.select;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import ru.gs.sql.BuiltQuery;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class BuiltQueryTest {
+
+    private SelectQuery select(String department) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("name").addFrom("employee").addWhere();
+        query.isEquals("department", department);
+        return query;
+    }
+
+    private SelectQuery selectIn(Object... ids) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.POSTGRESQL);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addField("name").addFrom("employee").addWhere();
+        query.in("id", Arrays.asList(ids));
+        return query;
+    }
+
+    private SelectQuery selectPhoto(byte[] photo) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addField("name").addFrom("employee").addWhere();
+        query.isEquals("photo", photo);
+        return query;
+    }
+
+    @Test
+    public void buildIsCachedTest() throws SQLCreationException {
+        SelectQuery query = select("Sales");
+        BuiltQuery built = query.build();
+        assertSame(built, query.build());
+        assertSame(query.getQueryString(), query.getQueryString());
+        assertEquals("SELECT name FROM employee WHERE department='Sales'", built.getQueryString());
+    }
+
+    @Test
+    public void buildIsInvalidatedTest() throws SQLCreationException {
+        SelectQuery query = select("Sales");
+        BuiltQuery before = query.build();
+        query.andIsEquals("id", 5);
+        BuiltQuery after = query.build();
+        assertNotSame(before, after);
+        assertEquals("SELECT name FROM employee WHERE department='Sales'", before.getQueryString());
+        assertEquals("SELECT name FROM employee WHERE department='Sales' AND id=5", after.getQueryString());
+
+        UpdateQuery update = new UpdateQuery();
+        update.addTableName("employee").addSet().addSet("name", "Petr");
+        String first = update.getQueryString();
+        update.addSet("id", 5);
+        assertFalse(first.equals(update.getQueryString()));
+
+        InsertQuery insert = new InsertQuery("employee");
+        insert.addInsertableFieldNames(new String[]{"id"});
+        insert.addRow(new Object[]{1});
+        String one = insert.build().getQueryString();
+        insert.addRow(new Object[]{2});
+        assertEquals("INSERT INTO employee (id) VALUES (1)", one);
+        assertEquals("INSERT INTO employee (id) VALUES (1),(2)", insert.build().getQueryString());
+    }
+
+    @Test
+    public void builtEqualsTest() throws SQLCreationException {
+        BuiltQuery first = select("Sales").build();
+        BuiltQuery second = select("Sales").build();
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertFalse(first.equals(select("IT").build()));
+
+        SelectQuery inline = select("Sales");
+        SelectQuery parameterized = new SelectQuery();
+        parameterized.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        parameterized.addField("name").addFrom("employee").addWhere();
+        parameterized.isEquals("department", "Sales");
+        assertFalse(inline.build().equals(parameterized.build()));
+
+        SelectQuery other = new SelectQuery();
+        other.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        other.addField("name").addFrom("employee").addWhere();
+        other.isEquals("department", "IT");
+        assertEquals(parameterized.build().getQueryString(), other.build().getQueryString());
+        assertFalse(parameterized.build().equals(other.build()));
+
+        assertEquals("SELECT name FROM employee WHERE id=ANY(?)", selectIn(1, 2, 3).getQueryString());
+        assertEquals(selectIn(1, 2, 3).build(), selectIn(1, 2, 3).build());
+        assertEquals(selectIn(1, 2, 3).build().hashCode(), selectIn(1, 2, 3).build().hashCode());
+        assertFalse(selectIn(1, 2, 3).build().equals(selectIn(1, 2, 4).build()));
+        assertEquals(selectPhoto(new byte[]{1, 2}).build(), selectPhoto(new byte[]{1, 2}).build());
+        assertFalse(selectPhoto(new byte[]{1, 2}).build().equals(selectPhoto(new byte[]{1, 3}).build()));
+    }
+
+    @Test
+    public void hashKeyTest() throws SQLCreationException {
+        Map<BuiltQuery, String> map = new HashMap<BuiltQuery, String>();
+        map.put(select("Sales").build(), "sales");
+        map.put(select("IT").build(), "it");
+        assertEquals("sales", map.get(select("Sales").build()));
+        assertEquals("it", map.get(select("IT").build()));
+        map.put(selectIn(1, 2, 3).build(), "in");
+        map.put(selectPhoto(new byte[]{1, 2}).build(), "photo");
+        assertEquals("in", map.get(selectIn(1, 2, 3).build()));
+        assertEquals("photo", map.get(selectPhoto(new byte[]{1, 2}).build()));
+
+        Set<SelectQuery> set = new HashSet<SelectQuery>();
+        set.add(select("Sales"));
+        set.add(select("Sales"));
+        assertEquals(1, set.size());
+    }
+}
@@ -0,0 +1,132 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import org.junit.Test;
+import ru.gs.sql.BulkLoadFormat;
+import ru.gs.sql.BulkLoadWriter;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.StatementWriter;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class BulkLoadWriterTest {
+
+    private static final LocalDateTime HIRED = LocalDateTime.of(2011, 5, 17, 9, 30);
+
+    private InsertQuery employeeQuery() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.addInsertableFieldNames(new String[]{"name", "salary", "hired", "active"});
+        return query;
+    }
+
+    private String write(InsertQuery query, BulkLoadFormat format, Object[]... rows) throws IOException {
+        StringBuilder data = new StringBuilder();
+        BulkLoadWriter writer = new BulkLoadWriter(query, format, new StatementWriter(data));
+        for (Object[] row : rows) {
+            writer.writeRow(row);
+        }
+        assertEquals(rows.length, writer.getRowCount());
+        return data.toString();
+    }
+
+    @Test
+    public void copyTextTest() throws IOException, SQLCreationException {
+        assertEquals("Ivan\\tthe\\\\first\\n\t100.50\t2011-05-17 09:30:00.000\tt\n"
+                + "\\N\t\\N\t\\N\tf\n",
+                write(employeeQuery(), BulkLoadFormat.COPY_TEXT,
+                        new Object[]{"Ivan\tthe\\first\n", new BigDecimal("100.50"), HIRED, true},
+                        new Object[]{null, null, null, false}));
+    }
+
+    @Test
+    public void copyCsvTest() throws IOException, SQLCreationException {
+        assertEquals("\"Ivan, \"\"the first\"\"\",100,2011-05-17 09:30:00.000,t\n"
+                + "\"\",,,f\n"
+                + "\"\\.\",1,,t\n",
+                write(employeeQuery(), BulkLoadFormat.COPY_CSV,
+                        new Object[]{"Ivan, \"the first\"", 100, HIRED, true},
+                        new Object[]{"", null, null, false},
+                        new Object[]{"\\.", 1L, null, true}));
+    }
+
+    @Test
+    public void loadDataTest() throws IOException, SQLCreationException {
+        InsertQuery query = employeeQuery();
+        query.setDateTimeFormat("dd.MM.yyyy");
+        assertEquals("Iv\\0an\\r\t-3\t17.05.2011\t1\n",
+                write(query, BulkLoadFormat.LOAD_DATA, new Object[]{"Iv\0an\r", -3, HIRED, true}));
+    }
+
+    @Test
+    public void writeRowsTest() throws IOException, SQLCreationException {
+        InsertQuery query = new InsertQuery("point");
+        query.addInsertableFieldNames(new String[]{"x", "y"});
+        query.addRow(new long[]{1, 2}).addRow(new long[]{3, 4});
+        StringBuilder data = new StringBuilder();
+        BulkLoadWriter writer = new BulkLoadWriter(query, BulkLoadFormat.COPY_CSV, new StatementWriter(data));
+        writer.writeRows();
+        query.clearRows().addRow(new long[]{5, 6});
+        writer.writeRows().writeRow(new int[]{7, 8});
+        assertEquals("1,2\n3,4\n5,6\n7,8\n", data.toString());
+        assertEquals(4, writer.getRowCount());
+    }
+
+    @Test
+    public void binaryTest() throws IOException, SQLCreationException {
+        InsertQuery query = new InsertQuery("file");
+        query.addInsertableFieldNames(new String[]{"content"});
+        byte[] content = new byte[]{0x0A, (byte) 0xFF};
+        assertEquals("\\\\x0aff\n", write(query, BulkLoadFormat.COPY_TEXT, new Object[]{content}));
+        assertEquals("\\x0aff\n", write(query, BulkLoadFormat.COPY_CSV, new Object[]{content}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void binaryLoadDataTest() throws IOException, SQLCreationException {
+        InsertQuery query = new InsertQuery("file");
+        write(query, BulkLoadFormat.LOAD_DATA, new Object[]{new byte[]{1}});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rowLengthTest() throws IOException, SQLCreationException {
+        write(employeeQuery(), BulkLoadFormat.COPY_TEXT, new Object[]{"Ivan"});
+    }
+
+    @Test
+    public void loadStatementTest() throws SQLCreationException {
+        InsertQuery query = employeeQuery();
+        StatementWriter out = new StatementWriter(new StringBuilder());
+        assertEquals("COPY employee (name,salary,hired,active) FROM STDIN WITH (ENCODING 'UTF8')",
+                new BulkLoadWriter(query, BulkLoadFormat.COPY_TEXT, out).getLoadStatement(null));
+        assertEquals("COPY employee (name,salary,hired,active) FROM 'C:\\data\\o''neil.csv' WITH (FORMAT csv, ENCODING 'UTF8')",
+                new BulkLoadWriter(query, BulkLoadFormat.COPY_CSV, out).getLoadStatement("C:\\data\\o'neil.csv"));
+        assertEquals("LOAD DATA LOCAL INFILE 'C:\\\\data\\\\employee.txt' INTO TABLE employee CHARACTER SET utf8mb4"
+                + " (name,salary,hired,active)",
+                new BulkLoadWriter(query, BulkLoadFormat.LOAD_DATA, out).getLoadStatement("C:\\data\\employee.txt"));
+        query.setDialect(Dialect.MYSQL);
+        query.setQuoteIdentifiers(true);
+        assertEquals("LOAD DATA LOCAL INFILE '/tmp/employee.txt' INTO TABLE `employee` CHARACTER SET cp1251"
+                + " (`name`,`salary`,`hired`,`active`)",
+                new BulkLoadWriter(query, BulkLoadFormat.LOAD_DATA, out)
+                        .getLoadStatement("/tmp/employee.txt", Charset.forName("windows-1251")));
+    }
+
+    @Test
+    public void writerCharsetTest() throws SQLCreationException {
+        StatementWriter out = new StatementWriter(Channels.newChannel(new ByteArrayOutputStream()),
+                Charset.forName("KOI8-R"), StatementWriter.DEFAULT_BUFFER_SIZE);
+        assertEquals("COPY employee (name,salary,hired,active) FROM STDIN WITH (ENCODING 'KOI8R')",
+                new BulkLoadWriter(employeeQuery(), BulkLoadFormat.COPY_TEXT, out).getLoadStatement(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownCharsetTest() throws SQLCreationException {
+        StatementWriter out = new StatementWriter(new StringBuilder());
+        new BulkLoadWriter(employeeQuery(), BulkLoadFormat.LOAD_DATA, out).getLoadStatement("x.txt", Charset.forName("UTF-16"));
+    }
+}
@@ -0,0 +1,249 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import ru.gs.sql.BuiltQuery;
+import ru.gs.sql.ParameterBinder;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class BulkUpdateTest {
+
+    private UpdateQuery employeeUpdate(Dialect dialect) throws SQLCreationException {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setDialect(dialect);
+        query.setBulkFields("id", "name", "salary");
+        query.addBulkRow(1, "Ivan", 100).addBulkRow(2, "Anton", 200);
+        return query;
+    }
+
+    private List<String> queryStrings(UpdateQuery query) throws SQLCreationException {
+        List<String> statements = new ArrayList<String>();
+        for (BuiltQuery statement : query.getQueries()) {
+            statements.add(statement.getQueryString());
+        }
+        return statements;
+    }
+
+    @Test
+    public void caseWhenTest() throws SQLCreationException {
+        assertEquals("UPDATE employee SET name = CASE id WHEN 1 THEN 'Ivan' WHEN 2 THEN 'Anton' END,"
+                + " salary = CASE id WHEN 1 THEN 100 WHEN 2 THEN 200 END WHERE id IN (1,2)",
+                employeeUpdate(Dialect.ANSI).getQueryString());
+    }
+
+    @Test
+    public void updateFromTest() throws SQLCreationException {
+        assertEquals("UPDATE employee dst SET name = src.name, salary = src.salary"
+                + " FROM (VALUES (1,'Ivan',100),(2,'Anton',200)) src (id,name,salary) WHERE dst.id = src.id",
+                employeeUpdate(Dialect.POSTGRESQL).getQueryString());
+    }
+
+    @Test
+    public void updateJoinTest() throws SQLCreationException {
+        assertEquals("UPDATE dst SET name = src.name, salary = src.salary FROM employee dst"
+                + " JOIN (VALUES (1,'Ivan',100),(2,'Anton',200)) src (id,name,salary) ON dst.id = src.id",
+                employeeUpdate(Dialect.SQL_SERVER).getQueryString());
+    }
+
+    @Test
+    public void commonSetTest() throws SQLCreationException {
+        UpdateQuery query = employeeUpdate(Dialect.POSTGRESQL);
+        query.addSet("version", 2L);
+        assertEquals("UPDATE employee dst SET name = src.name, salary = src.salary, version = 2"
+                + " FROM (VALUES (1,'Ivan',100),(2,'Anton',200)) src (id,name,salary) WHERE dst.id = src.id",
+                query.getQueryString());
+    }
+
+    @Test
+    public void chunkTest() throws SQLCreationException {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setBulkFields("id", "name").setMaxRowsPerStatement(2);
+        for (int i = 1; i <= 5; i++) {
+            query.addBulkRow(i, "Employee " + i);
+        }
+        List<String> statements = queryStrings(query);
+        assertEquals(3, statements.size());
+        assertEquals("UPDATE employee SET name = CASE id WHEN 5 THEN 'Employee 5' END WHERE id IN (5)", statements.get(2));
+        query.clearBulkRows();
+        assertTrue(queryStrings(query).isEmpty());
+    }
+
+    @Test
+    public void dialectChunkTest() throws SQLCreationException {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setDialect(Dialect.ORACLE);
+        query.setBulkFields("id", "name").setMaxRowsPerStatement(0);
+        for (int i = 0; i < 2500; i++) {
+            query.addBulkRow(i, "Employee " + i);
+        }
+        assertEquals(3, queryStrings(query).size());
+    }
+
+    @Test
+    public void typedValuesTest() throws SQLCreationException {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setDialect(Dialect.POSTGRESQL);
+        query.setBulkFields("id", "hired", "manager", "note");
+        UUID manager = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+        query.addBulkRow(1, null, manager, null).addBulkRow(2, LocalDate.of(2011, 5, 17), null, null);
+        assertEquals("UPDATE employee dst SET hired = src.hired, manager = src.manager, note = NULL"
+                + " FROM (VALUES (1,CAST(NULL AS date),CAST('3f2504e0-4f89-11d3-9a0c-0305e82c3301' AS uuid),NULL),"
+                + "(2,CAST('2011-05-17 00:00:00.000' AS date),CAST(NULL AS uuid),NULL)) src (id,hired,manager,note)"
+                + " WHERE dst.id = src.id", query.getQueryString());
+
+        query.setParameterStyle(ParameterStyle.NUMBERED);
+        assertEquals("UPDATE employee dst SET hired = src.hired, manager = src.manager, note = NULL"
+                + " FROM (VALUES ($1,CAST($2 AS date),CAST($3 AS uuid),$4),($5,CAST($6 AS date),CAST($7 AS uuid),$8))"
+                + " src (id,hired,manager,note)"
+                + " WHERE dst.id = src.id", query.getQueryString());
+    }
+
+    @Test
+    public void nullColumnJoinTest() throws SQLCreationException {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setDialect(Dialect.SQL_SERVER);
+        query.setBulkFields("id", "name", "fired");
+        query.addBulkRow(1, "Ivan", null).addBulkRow(2, "Anton", null);
+        assertEquals("UPDATE dst SET name = src.name, fired = NULL FROM employee dst"
+                + " JOIN (VALUES (1,'Ivan',NULL),(2,'Anton',NULL)) src (id,name,fired) ON dst.id = src.id",
+                query.getQueryString());
+    }
+
+    @Test
+    public void h2NullAndDateTest() throws SQLException, SQLCreationException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE employee (id INT PRIMARY KEY, hired DATE, salary INT)");
+            statement.execute("INSERT INTO employee VALUES (1, NULL, 10), (2, DATE '2001-01-01', 20)");
+
+            UpdateQuery query = new UpdateQuery("employee");
+            query.setDialect(Dialect.H2);
+            query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+            query.setBulkFields("id", "hired", "salary");
+            query.addBulkRow(1, LocalDate.of(2011, 5, 17), null).addBulkRow(2, null, null);
+            for (BuiltQuery built : query.getQueries()) {
+                PreparedStatement update = connection.prepareStatement(built.getQueryString());
+                ParameterBinder.bind(update, built.getParameters());
+                assertEquals(2, update.executeUpdate());
+                update.close();
+            }
+
+            ResultSet resultSet = statement.executeQuery("SELECT hired, salary FROM employee ORDER BY id");
+            assertTrue(resultSet.next());
+            assertEquals(java.sql.Date.valueOf("2011-05-17"), resultSet.getDate(1));
+            assertNull(resultSet.getObject(2));
+            assertTrue(resultSet.next());
+            assertNull(resultSet.getObject(1));
+            assertNull(resultSet.getObject(2));
+            statement.close();
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void parameterLimitTest() throws SQLCreationException {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setDialect(Dialect.SQL_SERVER);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.setBulkFields("id", "name", "family", "salary").addSet("updated", true);
+        for (int i = 0; i < 1000; i++) {
+            query.addBulkRow(i, "Employee", "Number " + i, i);
+        }
+        int statements = 0;
+        for (BuiltQuery statement : query.getQueries()) {
+            assertTrue(statement.getParameters().size() <= 2100);
+            statements++;
+        }
+        assertEquals(2, statements);
+
+        query.setParameterStyle(ParameterStyle.INLINE);
+        assertEquals(1, queryStrings(query).size());
+    }
+
+    @Test
+    public void parameterTest() throws SQLCreationException {
+        UpdateQuery query = employeeUpdate(Dialect.ANSI);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        BuiltQuery statement = query.getQueries().iterator().next();
+        assertEquals("UPDATE employee SET name = CASE id WHEN ? THEN ? WHEN ? THEN ? END,"
+                + " salary = CASE id WHEN ? THEN ? WHEN ? THEN ? END WHERE id IN (?,?)", statement.getQueryString());
+        assertEquals(10, statement.getParameters().size());
+        assertEquals("Anton", statement.getParameters().get(3).getValue());
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void rowWithoutFieldsTest() throws SQLCreationException {
+        new UpdateQuery("employee").addBulkRow(1, "Ivan");
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void bulkWithoutTableTest() throws SQLCreationException {
+        new UpdateQuery().setBulkFields("id", "x");
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void queriesWithoutTableTest() throws SQLCreationException {
+        UpdateQuery query = employeeUpdate(Dialect.ANSI);
+        query.addTableName(null);
+        query.getQueries();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bulkWithoutRowsTest() throws SQLCreationException {
+        new UpdateQuery("employee").setBulkFields("id", "name").getQueryString();
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void rowLengthTest() throws SQLCreationException {
+        new UpdateQuery("employee").setBulkFields("id", "name").addBulkRow(1, "Ivan", 100);
+    }
+
+    @Test
+    public void h2BulkUpdateTest() throws SQLException, SQLCreationException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE employee (id INT PRIMARY KEY, name VARCHAR(50), salary INT)");
+            statement.execute("INSERT INTO employee VALUES (1, 'Petr', 10), (2, 'Oleg', 20), (3, 'Olga', 30)");
+
+            UpdateQuery query = employeeUpdate(Dialect.H2);
+            query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+            query.setMaxRowsPerStatement(1);
+            int updated = 0;
+            for (BuiltQuery built : query.getQueries()) {
+                PreparedStatement update = connection.prepareStatement(built.getQueryString());
+                ParameterBinder.bind(update, built.getParameters());
+                updated += update.executeUpdate();
+                update.close();
+            }
+            assertEquals(2, updated);
+
+            ResultSet resultSet = statement.executeQuery("SELECT name, salary FROM employee ORDER BY id");
+            assertTrue(resultSet.next());
+            assertEquals("Ivan", resultSet.getString(1));
+            assertEquals(100, resultSet.getInt(2));
+            assertTrue(resultSet.next());
+            assertEquals("Anton", resultSet.getString(1));
+            assertTrue(resultSet.next());
+            assertEquals("Olga", resultSet.getString(1));
+            statement.close();
+        } finally {
+            connection.close();
+        }
+    }
+}
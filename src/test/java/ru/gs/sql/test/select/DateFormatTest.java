@@ -0,0 +1,88 @@
+package ru.gs.sql.test.select;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class DateFormatTest {
+
+    private static final String[] PATTERNS = new String[]{
+        "yyyy-MM-dd HH:mm:ss.SSS",
+        "dd.MM.yy H:m:s.S",
+        "yyyyMMdd'T'hh:mm:ss k K",
+        "'at' yyyy-MMM-dd HH:mm a"
+    };
+
+    private String equalsQuery(String pattern, Object value) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDateTimeFormat(pattern);
+        query.addField("name").addFrom("employee").addWhere();
+        query.isEquals("birth", value);
+        return query.getQueryString();
+    }
+
+    @Test
+    public void dateMatchesSimpleDateFormatTest() throws SQLCreationException {
+        Random random = new Random(42);
+        for (String pattern : PATTERNS) {
+            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+            for (int i = 0; i < 500; i++) {
+                Date date = new Date(random.nextLong() % 20000000000000L);
+                assertEquals("SELECT name FROM employee WHERE birth='" + sdf.format(date) + "'", equalsQuery(pattern, date));
+            }
+        }
+    }
+
+    @Test
+    public void localDateTimeTest() throws SQLCreationException {
+        LocalDateTime dateTime = LocalDateTime.of(2011, 9, 15, 0, 22, 13, 870123456);
+
+        assertEquals("SELECT name FROM employee WHERE birth='2011-09-15 00:22:13.870'", equalsQuery(SelectQuery.DEFAULT_SQL_DATE_TIME_FORMAT, dateTime));
+    }
+
+    @Test
+    public void localDateAndTimeTest() throws SQLCreationException {
+        assertEquals("SELECT name FROM employee WHERE birth='2011-09-15 00:00:00.000'", equalsQuery(SelectQuery.DEFAULT_SQL_DATE_TIME_FORMAT, LocalDate.of(2011, 9, 15)));
+        assertEquals("SELECT name FROM employee WHERE birth='00:22:13'", equalsQuery("HH:mm:ss", LocalTime.of(0, 22, 13)));
+    }
+
+    @Test
+    public void offsetDateTimeKeepsLocalFieldsTest() throws SQLCreationException {
+        OffsetDateTime dateTime = OffsetDateTime.of(2011, 9, 15, 23, 59, 0, 0, ZoneOffset.ofHours(-11));
+
+        assertEquals("SELECT name FROM employee WHERE birth='15.09.2011 23:59'", equalsQuery("dd.MM.yyyy HH:mm", dateTime));
+    }
+
+    @Test
+    public void instantUsesDefaultTimeZoneTest() throws SQLCreationException {
+        Date date = new Date(1316031733870L);
+        String expected = new SimpleDateFormat(SelectQuery.DEFAULT_SQL_DATE_TIME_FORMAT).format(date);
+
+        assertEquals("SELECT name FROM employee WHERE birth='" + expected + "'", equalsQuery(SelectQuery.DEFAULT_SQL_DATE_TIME_FORMAT, Instant.ofEpochMilli(1316031733870L)));
+    }
+
+    @Test
+    public void updateJavaTimeTest() {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setDateTimeFormat("yyyy-MM-dd");
+        query.addSet("birth", LocalDate.of(1984, 2, 29));
+
+        assertEquals("UPDATE employee SET birth = '1984-02-29'", query.getQueryString());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void invalidPatternTest() {
+        new UpdateQuery("employee").setDateTimeFormat("yyyy-MM-dd 'unterminated");
+    }
+}
@@ -0,0 +1,129 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import org.junit.Test;
+import ru.gs.sql.DeleteQuery;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+import ru.gs.sql.jdbc.BatchExecutor;
+import ru.gs.sql.jdbc.BatchReport;
+
+public class DeleteQueryTest {
+
+    private DeleteQuery chunkedDelete(Dialect dialect) throws SQLCreationException {
+        DeleteQuery query = new DeleteQuery("event");
+        query.setDialect(dialect);
+        query.addWhere().isEquals("kind", "log").setChunkSize(1000);
+        return query;
+    }
+
+    @Test
+    public void whereTest() throws SQLCreationException {
+        DeleteQuery query = new DeleteQuery("employee");
+        query.addWhere().isEquals("department", "Sales").andIn("id", new long[]{1, 2})
+                .orLike("name", "Iv%").andBetween("age", 20, 30);
+        assertEquals("DELETE FROM employee WHERE department='Sales' AND id IN (1,2) OR name LIKE 'Iv%'"
+                + " AND age BETWEEN 20 AND 30", query.getQueryString());
+    }
+
+    @Test
+    public void withoutWhereTest() throws SQLCreationException {
+        assertEquals("DELETE FROM employee", new DeleteQuery("employee").getQueryString());
+        assertEquals("DELETE FROM employee", new DeleteQuery().addTableName("employee").getQueryString());
+    }
+
+    @Test
+    public void parametersTest() throws SQLCreationException {
+        DeleteQuery query = new DeleteQuery("employee");
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.isEquals("id", 7L).andIn("name", Arrays.asList("Ivan", "Anton"));
+        assertEquals("DELETE FROM employee WHERE id=? AND name IN (?,?)", query.getQueryString());
+        assertEquals(3, query.getParameters().size());
+    }
+
+    @Test
+    public void chunkKeyTest() throws SQLCreationException {
+        assertEquals("DELETE FROM event WHERE id IN (SELECT id FROM event WHERE kind='log'"
+                + " ORDER BY id FETCH FIRST 1000 ROWS ONLY)",
+                chunkedDelete(Dialect.ANSI).setChunkKey("id").getQueryString());
+    }
+
+    @Test
+    public void rowIdTest() throws SQLCreationException {
+        assertEquals("DELETE FROM event WHERE ctid IN (SELECT ctid FROM event WHERE kind='log' LIMIT 1000)",
+                chunkedDelete(Dialect.POSTGRESQL).getQueryString());
+        assertEquals("DELETE FROM event WHERE ROWID IN (SELECT ROWID FROM event WHERE kind='log'"
+                + " FETCH FIRST 1000 ROWS ONLY)", chunkedDelete(Dialect.ORACLE).getQueryString());
+    }
+
+    @Test
+    public void limitTest() throws SQLCreationException {
+        assertEquals("DELETE FROM event WHERE kind='log' LIMIT 1000",
+                chunkedDelete(Dialect.MYSQL).getQueryString());
+        assertEquals("DELETE FROM event WHERE kind='log' ORDER BY id LIMIT 1000",
+                chunkedDelete(Dialect.MYSQL).setChunkKey("id").getQueryString());
+    }
+
+    @Test
+    public void topTest() throws SQLCreationException {
+        assertEquals("DELETE TOP (1000) FROM event WHERE kind='log'",
+                chunkedDelete(Dialect.SQL_SERVER).getQueryString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void chunkWithoutKeyTest() throws SQLCreationException {
+        chunkedDelete(Dialect.ANSI).getQueryString();
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void negativeChunkSizeTest() throws SQLCreationException {
+        new DeleteQuery("event").setChunkSize(-1);
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void nullValueTest() throws SQLCreationException {
+        new DeleteQuery("event").isEquals("kind", null);
+    }
+
+    @Test
+    public void resetTest() throws SQLCreationException {
+        DeleteQuery query = chunkedDelete(Dialect.MYSQL);
+        query.reset().addTableName("employee");
+        assertEquals("DELETE FROM employee", query.getQueryString());
+    }
+
+    @Test
+    public void executeInChunksTest() throws SQLException, SQLCreationException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE event (id INT PRIMARY KEY, kind VARCHAR(10))");
+            for (int i = 1; i <= 25; i++) {
+                statement.execute("INSERT INTO event VALUES (" + i + ", '" + (i % 5 == 0 ? "keep" : "log") + "')");
+            }
+            DeleteQuery query = new DeleteQuery("event");
+            query.setDialect(Dialect.H2);
+            query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+            query.addWhere().isEquals("kind", "log").setChunkSize(6);
+
+            BatchReport report = new BatchExecutor(connection).setCommitInterval(2).executeInChunks(query);
+            assertEquals(4, report.getBatches().size());
+            assertEquals(20, report.getUpdateCount());
+            assertEquals(2, report.getCommitCount());
+            assertTrue(connection.getAutoCommit());
+
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM event");
+            rs.next();
+            assertEquals(5, rs.getInt(1));
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ru.gs.sql.test.select;
+
+import java.util.Calendar;
+import java.util.Date;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.SortOrder;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.WildcardPosition;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class DialectTest {
+
+    private static Date testDate;
+
+    @BeforeClass
+    public static void init() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2011, Calendar.SEPTEMBER, 15, 0, 22, 13);
+        calendar.set(Calendar.MILLISECOND, 870);
+        testDate = calendar.getTime();
+    }
+
+    private SelectQuery pagedQuery(Dialect dialect, long limit, long offset, boolean ordered) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(dialect);
+        query.addField("id").addField("name").addFrom("employee");
+        if (ordered) {
+            query.addOrderBy("name").addOrderBy("id", SortOrder.DESC);
+        }
+        query.setLimit(limit).setOffset(offset);
+        return query;
+    }
+
+    @Test
+    public void ansiTest() throws SQLCreationException {
+        assertEquals("SELECT id,name FROM employee ORDER BY name,id DESC OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY",
+                pagedQuery(Dialect.ANSI, 10, 20, true).getQueryString());
+        assertEquals("SELECT id,name FROM employee FETCH FIRST 10 ROWS ONLY",
+                pagedQuery(Dialect.ANSI, 10, 0, false).getQueryString());
+        assertEquals("SELECT id,name FROM employee", pagedQuery(Dialect.ANSI, 0, 0, false).getQueryString());
+    }
+
+    @Test
+    public void postgreSQLAndH2Test() throws SQLCreationException {
+        assertEquals("SELECT id,name FROM employee ORDER BY name,id DESC LIMIT 10 OFFSET 20",
+                pagedQuery(Dialect.POSTGRESQL, 10, 20, true).getQueryString());
+        assertEquals("SELECT id,name FROM employee OFFSET 20", pagedQuery(Dialect.POSTGRESQL, 0, 20, false).getQueryString());
+        assertEquals("SELECT id,name FROM employee LIMIT 10", pagedQuery(Dialect.H2, 10, 0, false).getQueryString());
+    }
+
+    @Test
+    public void mySQLTest() throws SQLCreationException {
+        assertEquals("SELECT id,name FROM employee LIMIT 10 OFFSET 20", pagedQuery(Dialect.MYSQL, 10, 20, false).getQueryString());
+        assertEquals("SELECT id,name FROM employee LIMIT 18446744073709551615 OFFSET 20",
+                pagedQuery(Dialect.MYSQL, 0, 20, false).getQueryString());
+
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.MYSQL);
+        query.setQuoteIdentifiers(true);
+        query.addField("name").addFrom("order").addWhere().isEquals("path", "C:\\temp\\'x'");
+        assertEquals("SELECT `name` FROM `order` WHERE `path`='C:\\\\temp\\\\''x'''", query.getQueryString());
+    }
+
+    @Test
+    public void oracleTest() throws SQLCreationException {
+        assertEquals("SELECT id,name FROM employee ORDER BY name,id DESC OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY",
+                pagedQuery(Dialect.ORACLE, 10, 20, true).getQueryString());
+
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.ORACLE);
+        query.addField("name").addFrom("employee").addWhere().isEquals("birth", testDate);
+        assertEquals("SELECT name FROM employee WHERE birth=TIMESTAMP '2011-09-15 00:22:13.870'", query.getQueryString());
+    }
+
+    @Test
+    public void sqlServerTest() throws SQLCreationException {
+        assertEquals("SELECT TOP (10) id,name FROM employee", pagedQuery(Dialect.SQL_SERVER, 10, 0, false).getQueryString());
+        assertEquals("SELECT id,name FROM employee ORDER BY name,id DESC OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY",
+                pagedQuery(Dialect.SQL_SERVER, 10, 20, true).getQueryString());
+        assertEquals("SELECT id,name FROM employee ORDER BY (SELECT NULL) OFFSET 20 ROWS",
+                pagedQuery(Dialect.SQL_SERVER, 0, 20, false).getQueryString());
+    }
+
+    @Test
+    public void quoteIdentifiersTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.SQL_SERVER);
+        query.setQuoteIdentifiers(true);
+        query.addField("e.*").addField("count(id)").addField("dbo.employee.name").addFrom("dbo.employee e");
+        query.addWhere().isEquals("user", 1);
+        assertEquals("SELECT [e].*,count(id),[dbo].[employee].[name] FROM dbo.employee e WHERE [user]=1", query.getQueryString());
+
+        UpdateQuery update = new UpdateQuery("employee");
+        update.setQuoteIdentifiers(true);
+        update.addSet("name", "Anton");
+        assertEquals("UPDATE \"employee\" SET \"name\" = 'Anton'", update.getQueryString());
+
+        InsertQuery insert = new InsertQuery("employee");
+        insert.setDialect(Dialect.MYSQL);
+        insert.setQuoteIdentifiers(true);
+        insert.addInsertableFieldNames(new String[]{"id", "name"});
+        insert.addValues(new Object[]{1, "Anton"});
+        assertEquals("INSERT INTO `employee` (`id`,`name`) VALUES (1,'Anton')", insert.getQueryString());
+    }
+
+    @Test
+    public void stringLiteralTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("name").addFrom("employee").addWhere().isEquals("family", "O'Brien");
+        query.andLike("name", "D'", '%', WildcardPosition.AT_END);
+        assertEquals("SELECT name FROM employee WHERE family='O''Brien' AND name LIKE 'D''%'", query.getQueryString());
+    }
+
+    @Test
+    public void templateUsesDialectTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.MYSQL);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addField("name").addFrom("employee").addWhere().isEquals("family", "");
+        query.setLimit(5);
+
+        assertEquals("SELECT name FROM employee WHERE family=? LIMIT 5", query.getQueryString());
+        assertEquals("SELECT name FROM employee WHERE family='a\\\\b' LIMIT 5", query.compileTemplate().render("a\\b"));
+    }
+
+    @Test(expected=SQLCreationException.class)
+    public void negativeLimitTest() throws SQLCreationException {
+        new SelectQuery().setLimit(-1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void nullDialectTest() {
+        new SelectQuery().setDialect(null);
+    }
+
+    @Test
+    public void likeEscapeTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("name").addFrom("product").addWhere().like("name", "50%_off", '%', WildcardPosition.AT_END);
+        query.orLike("code", "A%");
+        assertEquals("SELECT name FROM product WHERE name LIKE '50\\%\\_off%' ESCAPE '\\' OR code LIKE 'A%'", query.getQueryString());
+    }
+
+    @Test
+    public void mysqlLikeEscapeTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.MYSQL);
+        query.addField("name").addFrom("employee").addWhere().like("family", "O'Brien%", '%', WildcardPosition.AT_END);
+        assertEquals("SELECT name FROM employee WHERE family LIKE 'O''Brien\\\\%%' ESCAPE '\\\\'", query.getQueryString());
+    }
+
+    @Test
+    public void sqlServerLikeEscapeTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.SQL_SERVER);
+        query.addField("name").addFrom("product").addWhere().like("name", "[new]", '%', WildcardPosition.AT_END);
+        assertEquals("SELECT name FROM product WHERE name LIKE '\\[new]%' ESCAPE '\\'", query.getQueryString());
+
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.orLike("code", "[A]", '%', WildcardPosition.AT_START);
+        assertEquals("SELECT name FROM product WHERE name LIKE ? ESCAPE '\\' OR code LIKE ? ESCAPE '\\'", query.getQueryString());
+        assertEquals("%\\[A]", query.getParameters().get(1).getValue());
+
+        query = new SelectQuery();
+        query.addField("name").addFrom("product").addWhere().like("name", "[new]", '%', WildcardPosition.AT_END);
+        assertEquals("SELECT name FROM product WHERE name LIKE '[new]%'", query.getQueryString());
+    }
+
+    @Test
+    public void parameterLikeEscapeTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addField("name").addFrom("employee").addWhere().like("login", "a_b", '%', WildcardPosition.AT_START);
+        query.andLike("family", "Petr", '%', WildcardPosition.AT_END);
+        assertEquals("SELECT name FROM employee WHERE login LIKE ? ESCAPE '\\' AND family LIKE ?", query.getQueryString());
+        assertEquals("%a\\_b", query.getParameters().get(0).getValue());
+        assertEquals("Petr%", query.getParameters().get(1).getValue());
+    }
+
+    @Test
+    public void backslashLiteralTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("name").addFrom("file").addWhere().isEquals("path", "C:\\temp");
+        assertEquals("SELECT name FROM file WHERE path='C:\\temp'", query.getQueryString());
+        query.setDialect(Dialect.MYSQL);
+        assertEquals("SELECT name FROM file WHERE path='C:\\\\temp'", query.getQueryString());
+    }
+}
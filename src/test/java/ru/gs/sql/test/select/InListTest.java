@@ -0,0 +1,129 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Test;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class InListTest {
+
+    private SelectQuery employeeQuery(Dialect dialect) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(dialect);
+        query.addField("name").addFrom("employee").addWhere();
+        return query;
+    }
+
+    private List<Integer> range(int count) {
+        List<Integer> values = new ArrayList<Integer>(count);
+        for (int i = count; i > 0; i--) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    @Test
+    public void sortedAndDistinctTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.ANSI);
+        query.in("id", Arrays.asList(3, 1, 2, 3, 1));
+
+        assertEquals("SELECT name FROM employee WHERE id IN (1,2,3)", query.getQueryString());
+    }
+
+    @Test
+    public void primitiveArraysTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.ANSI);
+        query.in("id", new int[]{2, 1}).andNotIn("dept", new long[]{7L});
+
+        assertEquals("SELECT name FROM employee WHERE id IN (1,2) AND dept NOT IN (7)", query.getQueryString());
+    }
+
+    @Test
+    public void primitiveParametersTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.ANSI);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.in("id", new long[]{9000000000L, 3, 3, 5}).andIn("dept", new int[0]);
+
+        assertEquals("SELECT name FROM employee WHERE id IN (?,?,?,?) AND 1=0", query.getQueryString());
+        assertEquals(Types.BIGINT, query.getParameters().get(0).getSqlType());
+        assertEquals(Arrays.<Object>asList(3L, 5L, 9000000000L, 9000000000L), Arrays.asList(
+                query.getParameters().get(0).getValue(), query.getParameters().get(1).getValue(),
+                query.getParameters().get(2).getValue(), query.getParameters().get(3).getValue()));
+    }
+
+    @Test
+    public void emptyListTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.ANSI);
+        query.in("id", Collections.emptyList()).orNotIn("dept", new int[0]);
+
+        assertEquals("SELECT name FROM employee WHERE 1=0 OR 1=1", query.getQueryString());
+    }
+
+    @Test
+    public void oracleChunksTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.ORACLE);
+        query.in("id", range(2500));
+
+        String sql = query.getQueryString();
+        assertTrue(sql.startsWith("SELECT name FROM employee WHERE (id IN (1,2,"));
+        assertTrue(sql.contains(",1000) OR id IN (1001,"));
+        assertTrue(sql.contains(",2000) OR id IN (2001,"));
+        assertTrue(sql.endsWith(",2500))"));
+    }
+
+    @Test
+    public void oracleNotInChunksTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.ORACLE);
+        query.notIn("id", range(1001));
+
+        assertTrue(query.getQueryString().endsWith(",1000) AND id NOT IN (1001))"));
+    }
+
+    @Test
+    public void arrayParameterTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.POSTGRESQL);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.isEquals("city", "London").andIn("id", Arrays.asList(5L, 3L)).andNotIn("dept", new int[]{1});
+
+        assertEquals("SELECT name FROM employee WHERE city=? AND id=ANY(?) AND dept<>ALL(?)", query.getQueryString());
+        assertEquals(3, query.getParameters().size());
+        assertEquals(Types.ARRAY, query.getParameters().get(1).getSqlType());
+        assertArrayEquals(new Object[]{3L, 5L}, (Object[]) query.getParameters().get(1).getValue());
+        assertArrayEquals(new Object[]{1}, (Object[]) query.getParameters().get(2).getValue());
+    }
+
+    @Test
+    public void arrayTypeFallbackTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.POSTGRESQL);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.in("token", Arrays.asList(UUID.fromString("00000000-0000-0000-0000-000000000001")))
+                .andIn("photo", Arrays.asList(new byte[]{1}, new byte[]{2}))
+                .andIn("code", Arrays.<Object>asList(1, "A"));
+
+        assertEquals("SELECT name FROM employee WHERE token=ANY(?) AND photo IN (?,?) AND code IN (?,?)",
+                query.getQueryString());
+    }
+
+    @Test
+    public void paddedPlaceholdersTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery(Dialect.ANSI);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.in("id", Arrays.asList(1, 2, 3));
+
+        assertEquals("SELECT name FROM employee WHERE id IN (?,?,?,?)", query.getQueryString());
+        assertEquals(3, query.getParameters().get(3).getValue());
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void nullItemTest() throws SQLCreationException {
+        employeeQuery(Dialect.ANSI).in("id", Arrays.asList(1, null));
+    }
+}
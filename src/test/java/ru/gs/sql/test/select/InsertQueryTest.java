@@ -54,4 +54,104 @@ public class InsertQueryTest {
         
         assertEquals("INSERT INTO employee (name,family) VALUES ('Ivan','Petrov')", query.getQueryString());
     }
+
+    private InsertQuery initMultiRowQuery(int rowCount) throws SQLCreationException {
+        query = new InsertQuery("employee");
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        for (int i = 1; i <= rowCount; i++) {
+            query.addRow(new Object[]{i, "Ivan"});
+        }
+        return query;
+    }
+
+    private List<String> statements() {
+        List<String> statements = new ArrayList<String>();
+        for (String statement : query.getQueryStrings()) {
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    @Test
+    public void multiRowInsertTest() throws SQLCreationException {
+        initMultiRowQuery(3);
+
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Ivan'),(3,'Ivan')", query.getQueryString());
+        assertEquals(1, statements().size());
+        assertEquals(3, query.getRowCount());
+    }
+
+    @Test
+    public void multiRowInsertWithDateTest() throws SQLCreationException {
+        query = new InsertQuery("employee");
+        query.addInsertableFieldNames(new String[]{"name", "birth"});
+        query.addRow(new Object[]{"Ivan", testDate});
+        query.addRow(new Object[]{"Anton", testDate});
+
+        assertEquals("INSERT INTO employee (name,birth) VALUES ('Ivan','" + testDateString + "'),('Anton','" + testDateString + "')", query.getQueryString());
+    }
+
+    @Test
+    public void chunkByRowCountTest() throws SQLCreationException {
+        initMultiRowQuery(5);
+        query.setMaxRowsPerStatement(2);
+
+        List<String> statements = statements();
+        assertEquals(3, statements.size());
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Ivan')", statements.get(0));
+        assertEquals("INSERT INTO employee (id,name) VALUES (3,'Ivan'),(4,'Ivan')", statements.get(1));
+        assertEquals("INSERT INTO employee (id,name) VALUES (5,'Ivan')", statements.get(2));
+    }
+
+    @Test
+    public void chunkByStatementLengthTest() throws SQLCreationException {
+        initMultiRowQuery(5);
+        // 38 bytes of "INSERT INTO employee (id,name) VALUES ", 10 bytes per row and 1 per comma
+        query.setMaxStatementLength(60);
+
+        List<String> statements = statements();
+        assertEquals(3, statements.size());
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Ivan')", statements.get(0));
+        assertEquals("INSERT INTO employee (id,name) VALUES (5,'Ivan')", statements.get(2));
+        for (String statement : statements) {
+            assertTrue(statement.length() <= 60);
+        }
+    }
+
+    @Test
+    public void chunkByStatementLengthCountsUtf8BytesTest() throws SQLCreationException {
+        query = new InsertQuery("employee");
+        query.addInsertableFieldNames(new String[]{"name"});
+        query.addRow(new Object[]{"Иван"});
+        query.addRow(new Object[]{"Иван"});
+        // 35 bytes of "INSERT INTO employee (name) VALUES ", 12 bytes per row and 1 per comma
+        query.setMaxStatementLength(59);
+
+        assertEquals(2, statements().size());
+
+        query.setMaxStatementLength(60);
+
+        assertEquals(1, statements().size());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void rowLongerThanStatementLengthTest() throws SQLCreationException {
+        initMultiRowQuery(1);
+        query.setMaxStatementLength(40);
+
+        statements();
+    }
+
+    @Test(expected=SQLCreationException.class)
+    public void rowSizeMismatchTest() throws SQLCreationException {
+        initMultiRowQuery(1);
+        query.addRow(new Object[]{1});
+    }
+
+    @Test(expected=SQLCreationException.class)
+    public void rowsAfterValuesTest() throws SQLCreationException {
+        query = new InsertQuery("employee");
+        query.addValues(new Object[]{1});
+        query.addRow(new Object[]{2});
+    }
 }
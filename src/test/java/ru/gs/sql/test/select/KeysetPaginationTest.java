@@ -0,0 +1,80 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.QueryParameter;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.SortOrder;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class KeysetPaginationTest {
+
+    private SelectQuery auditQuery(Dialect dialect) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(dialect);
+        query.addField("id").addField("action").addFrom("audit");
+        return query;
+    }
+
+    @Test
+    public void firstPageTest() throws SQLCreationException {
+        SelectQuery query = auditQuery(Dialect.POSTGRESQL);
+        query.addKeysetPage(new String[]{"created", "id"}, null, 50);
+
+        assertEquals("SELECT id,action FROM audit ORDER BY created,id LIMIT 50", query.getQueryString());
+    }
+
+    @Test
+    public void expandedTest() throws SQLCreationException {
+        SelectQuery query = auditQuery(Dialect.MYSQL);
+        query.addKeysetPage(new String[]{"a", "b", "c"}, new Object[]{1, 2, 3}, 10);
+
+        assertEquals("SELECT id,action FROM audit WHERE (a>=1 AND (a>1 OR (a=1 AND (b>2 OR (b=2 AND c>3))))) ORDER BY a,b,c LIMIT 10",
+                query.getQueryString());
+    }
+
+    @Test
+    public void rowValueTest() throws SQLCreationException {
+        SelectQuery query = auditQuery(Dialect.POSTGRESQL);
+        query.setParameterStyle(ParameterStyle.NUMBERED);
+        query.addKeysetPage(new String[]{"created", "id"}, new Object[]{"2011-09-15", 1042}, 50);
+
+        assertEquals("SELECT id,action FROM audit WHERE (created,id)>($1,$2) ORDER BY created,id LIMIT 50", query.getQueryString());
+        assertEquals(QueryParameter.of(1042), query.getParameters().get(1));
+    }
+
+    @Test
+    public void mixedDirectionsTest() throws SQLCreationException {
+        SelectQuery query = auditQuery(Dialect.POSTGRESQL);
+        query.addKeysetPage(new String[]{"created", "id"}, new SortOrder[]{SortOrder.DESC, null}, new Object[]{5, 7}, 20);
+
+        assertEquals("SELECT id,action FROM audit WHERE (created<=5 AND (created<5 OR (created=5 AND id>7))) ORDER BY created DESC,id LIMIT 20",
+                query.getQueryString());
+    }
+
+    @Test
+    public void singleKeyAndWhereTest() throws SQLCreationException {
+        SelectQuery query = auditQuery(Dialect.SQL_SERVER);
+        query.addWhere().isEquals("action", "login").orIsEquals("action", "logout");
+        query.addKeysetPage(new String[]{"id"}, new Object[]{1042}, 100);
+
+        assertEquals("SELECT TOP (100) id,action FROM audit WHERE (action='login' OR action='logout') AND id>1042 ORDER BY id",
+                query.getQueryString());
+
+        query.addKeysetPage(new String[]{"id"}, new Object[]{1142}, 100);
+        assertEquals("SELECT TOP (100) id,action FROM audit WHERE (action='login' OR action='logout') AND id>1142 ORDER BY id",
+                query.getQueryString());
+    }
+
+    @Test(expected=SQLCreationException.class)
+    public void wrongKeyLengthTest() throws SQLCreationException {
+        auditQuery(Dialect.ANSI).addKeysetPage(new String[]{"a", "b"}, new Object[]{1}, 10);
+    }
+
+    @Test(expected=SQLCreationException.class)
+    public void wrongPageSizeTest() throws SQLCreationException {
+        auditQuery(Dialect.ANSI).addKeysetPage(new String[]{"a"}, null, 0);
+    }
+}
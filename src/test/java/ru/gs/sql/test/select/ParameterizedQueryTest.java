@@ -0,0 +1,186 @@
+package ru.gs.sql.test.select;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import ru.gs.sql.BuiltQuery;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterBinder;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.QueryParameter;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.WildcardPosition;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class ParameterizedQueryTest {
+
+    private static Date testDate;
+
+    @BeforeClass
+    public static void init() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2011, Calendar.SEPTEMBER, 15, 0, 22, 13);
+        calendar.set(Calendar.MILLISECOND, 870);
+        testDate = calendar.getTime();
+    }
+
+    private SelectQuery selectQuery(ParameterStyle style) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setParameterStyle(style);
+        query.addField("name").addField("family");
+        query.addFrom("employee");
+        query.addWhere();
+        return query;
+    }
+
+    private List<Object> values(List<QueryParameter> parameters) {
+        List<Object> values = new ArrayList<Object>();
+        for (QueryParameter parameter : parameters) {
+            values.add(parameter.getValue());
+        }
+        return values;
+    }
+
+    @Test
+    public void selectQuestionMarkTest() throws SQLCreationException {
+        SelectQuery query = selectQuery(ParameterStyle.QUESTION_MARK);
+        query.isEquals("name", "Petrov").andBetween("birth", testDate, testDate);
+        query.orLike("family", "Petr", '%', WildcardPosition.AT_END).andNotLike("family", "Ivanov");
+
+        assertEquals("SELECT name,family FROM employee WHERE name=? AND birth BETWEEN ? AND ? OR family LIKE ? AND family NOT LIKE ?", query.getQueryString());
+        assertEquals(Arrays.<Object>asList("Petrov", testDate, testDate, "Petr%", "Ivanov"), values(query.getParameters()));
+        assertEquals(Types.VARCHAR, query.getParameters().get(0).getSqlType());
+        assertEquals(Types.TIMESTAMP, query.getParameters().get(1).getSqlType());
+    }
+
+    @Test
+    public void selectNumberedTest() throws SQLCreationException {
+        SelectQuery query = selectQuery(ParameterStyle.NUMBERED);
+        query.isEquals("id", 143).orIsEquals("id", 12345678912345L);
+
+        assertEquals("SELECT name,family FROM employee WHERE id=$1 OR id=$2", query.getQueryString());
+        assertEquals(Types.INTEGER, query.getParameters().get(0).getSqlType());
+        assertEquals(Types.BIGINT, query.getParameters().get(1).getSqlType());
+    }
+
+    @Test
+    public void sameShapeHasSameTextTest() throws SQLCreationException {
+        SelectQuery first = selectQuery(ParameterStyle.QUESTION_MARK);
+        first.isEquals("id", 1);
+        SelectQuery second = selectQuery(ParameterStyle.QUESTION_MARK);
+        second.isEquals("id", 2);
+
+        assertEquals(first.getQueryString(), second.getQueryString());
+        assertFalse(first.equals(second));
+    }
+
+    @Test
+    public void updateTest() {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addSet("name", "Anton").addSet("age", 45);
+
+        assertEquals("UPDATE employee SET name = ?, age = ?", query.getQueryString());
+        assertEquals(Arrays.<Object>asList("Anton", 45), values(query.getParameters()));
+    }
+
+    @Test
+    public void insertValuesTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addInsertableFieldNames(new String[]{"name", "birth"});
+        query.addValues(new Object[]{"Ivan", testDate});
+
+        assertEquals("INSERT INTO employee (name,birth) VALUES (?,?)", query.getQueryString());
+        assertEquals(Arrays.<Object>asList("Ivan", testDate), values(query.getParameters()));
+    }
+
+    @Test
+    public void insertChunksHaveOwnParametersTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.setParameterStyle(ParameterStyle.NUMBERED);
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        query.addRow(new Object[]{1, "Ivan"}).addRow(new Object[]{2, "Anton"}).addRow(new Object[]{3, "Oleg"});
+        query.setMaxRowsPerStatement(2);
+
+        assertEquals("INSERT INTO employee (id,name) VALUES ($1,$2),($3,$4),($5,$6)", query.getQueryString());
+        assertEquals(6, query.getParameters().size());
+
+        List<BuiltQuery> queries = new ArrayList<BuiltQuery>();
+        for (BuiltQuery built : query.getQueries()) {
+            queries.add(built);
+        }
+        assertEquals(2, queries.size());
+        assertEquals("INSERT INTO employee (id,name) VALUES ($1,$2),($3,$4)", queries.get(0).getQueryString());
+        assertEquals(Arrays.<Object>asList(1, "Ivan", 2, "Anton"), values(queries.get(0).getParameters()));
+        assertEquals("INSERT INTO employee (id,name) VALUES ($1,$2)", queries.get(1).getQueryString());
+        assertEquals(Arrays.<Object>asList(3, "Oleg"), values(queries.get(1).getParameters()));
+    }
+
+    @Test
+    public void bindTest() throws SQLException, SQLCreationException {
+        SelectQuery query = selectQuery(ParameterStyle.QUESTION_MARK);
+        query.isEquals("id", 143).andIsEquals("code", 12345678912345L).andIsEquals("name", "Petrov").andIsEquals("birth", testDate);
+        final List<String> calls = new ArrayList<String>();
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        calls.add(method.getName() + Arrays.asList(args));
+                        return null;
+                    }
+                });
+
+        ParameterBinder.bind(statement, query);
+        ParameterBinder.bind(statement, 5, QueryParameter.of(null));
+
+        assertEquals(Arrays.asList("setInt[1, 143]", "setLong[2, 12345678912345]", "setString[3, Petrov]",
+                "setTimestamp[4, " + new Timestamp(testDate.getTime()) + "]", "setNull[5, " + Types.NULL + "]"), calls);
+    }
+
+    private enum Grade {
+        JUNIOR, SENIOR
+    }
+
+    @Test
+    public void bindArrayTest() throws SQLException, SQLCreationException {
+        SelectQuery query = selectQuery(ParameterStyle.QUESTION_MARK);
+        query.setDialect(Dialect.POSTGRESQL);
+        UUID token = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        query.in("grade", Arrays.asList(Grade.SENIOR, Grade.JUNIOR)).andIn("token", Arrays.asList(token));
+        final List<String> calls = new ArrayList<String>();
+        final Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        calls.add(method.getName() + "[" + args[0] + ", " + Arrays.asList((Object[]) args[1]) + "]");
+                        return null;
+                    }
+                });
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return method.getName().equals("getConnection") ? connection : null;
+                    }
+                });
+
+        ParameterBinder.bind(statement, query);
+
+        assertEquals(Arrays.asList("createArrayOf[varchar, [JUNIOR, SENIOR]]", "createArrayOf[uuid, [" + token + "]]"),
+                calls);
+    }
+}
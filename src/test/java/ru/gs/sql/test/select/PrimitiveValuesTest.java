@@ -0,0 +1,114 @@
+package ru.gs.sql.test.select;
+
+import java.sql.Types;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class PrimitiveValuesTest {
+
+    private SelectQuery employeeQuery() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addFrom("employee").addWhere();
+        return query;
+    }
+
+    @Test
+    public void equalsTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery();
+        long id = 9000000000L;
+        query.isEquals("id", id).andIsEquals("age", 45).andIsEquals("rate", 0.25d).orIsEquals("active", true);
+        assertEquals("SELECT id FROM employee WHERE id=9000000000 AND age=45 AND rate=0.25 OR active=TRUE", query.getQueryString());
+    }
+
+    @Test
+    public void charTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery();
+        query.isEquals("grade", 'A').andIsEquals("mark", '\'');
+        assertEquals("SELECT id FROM employee WHERE grade='A' AND mark=''''", query.getQueryString());
+    }
+
+    @Test
+    public void booleanDialectTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery();
+        query.setDialect(Dialect.ORACLE);
+        query.isEquals("active", false);
+        assertEquals("SELECT id FROM employee WHERE active=0", query.getQueryString());
+    }
+
+    @Test
+    public void betweenTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery();
+        query.between("age", 12, 18).andNotBetween("id", 1L, 100L).orBetween("rate", 0.5d, 1.5d);
+        assertEquals("SELECT id FROM employee WHERE age BETWEEN 12 AND 18 AND id NOT BETWEEN 1 AND 100 OR rate BETWEEN 0.5 AND 1.5",
+                query.getQueryString());
+    }
+
+    @Test
+    public void parameterTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery();
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.isEquals("id", 7L).andIsEquals("age", 45).andBetween("rate", 0.5d, 1.5d);
+        assertEquals("SELECT id FROM employee WHERE id=? AND age=? AND rate BETWEEN ? AND ?", query.getQueryString());
+        assertEquals(Long.valueOf(7), query.getParameters().get(0).getValue());
+        assertEquals(Types.BIGINT, query.getParameters().get(0).getSqlType());
+        assertEquals(Integer.valueOf(45), query.getParameters().get(1).getValue());
+        assertEquals(Types.INTEGER, query.getParameters().get(1).getSqlType());
+        assertEquals(Double.valueOf(1.5d), query.getParameters().get(3).getValue());
+    }
+
+    @Test
+    public void floatTest() throws SQLCreationException {
+        SelectQuery query = employeeQuery();
+        query.isEquals("rate", 0.1f).orBetween("bonus", 0.1f, 0.2f);
+        assertEquals("SELECT id FROM employee WHERE rate=0.1 OR bonus BETWEEN 0.1 AND 0.2", query.getQueryString());
+        assertEquals("UPDATE employee SET rate = 0.1", new UpdateQuery("employee").addSet("rate", 0.1f).getQueryString());
+
+        query = employeeQuery();
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.isEquals("rate", 0.1f);
+        assertEquals(Float.valueOf(0.1f), query.getParameters().get(0).getValue());
+        assertEquals(Types.REAL, query.getParameters().get(0).getSqlType());
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void emptyNameTest() throws SQLCreationException {
+        employeeQuery().isEquals("", 1L);
+    }
+
+    @Test
+    public void updateTest() {
+        UpdateQuery query = new UpdateQuery("employee");
+        query.addSet("name", "Anton").addSet("id", 9000000000L).addSet("rate", 0.5d).addSet("active", true).addSet("age", 45);
+        assertEquals("UPDATE employee SET name = 'Anton', id = 9000000000, rate = 0.5, active = TRUE, age = 45", query.getQueryString());
+        query.reset().addTableName("department").addSet("id", 1L);
+        assertEquals("UPDATE department SET id = 1", query.getQueryString());
+    }
+
+    @Test
+    public void insertRowsTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee_role");
+        query.addInsertableFieldNames(new String[]{"employee_id", "role_id"});
+        query.addRow(new long[]{9000000000L, 1}).addRow(new int[]{2, 3}).addRow(new Object[]{4, "5"});
+        assertEquals("INSERT INTO employee_role (employee_id,role_id) VALUES (9000000000,1),(2,3),(4,'5')", query.getQueryString());
+    }
+
+    @Test
+    public void insertValuesTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee_role");
+        query.addInsertableFieldNames(new String[]{"employee_id", "role_id"});
+        query.addValues(new int[]{1, 2});
+        assertEquals("INSERT INTO employee_role (employee_id,role_id) VALUES (1,2)", query.getQueryString());
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void rowLengthTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee_role");
+        query.addRow(new long[]{1, 2}).addRow(new long[]{3});
+    }
+}
@@ -0,0 +1,154 @@
+package ru.gs.sql.test.select;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import ru.gs.sql.BuiltQuery;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.QueryParameter;
+import ru.gs.sql.QueryTemplate;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.WildcardPosition;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class QueryTemplateTest {
+
+    private static Date testDate;
+    private static final String testDateString = "2011-09-15 00:22:13.870";
+
+    @BeforeClass
+    public static void init() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2011, Calendar.SEPTEMBER, 15, 0, 22, 13);
+        calendar.set(Calendar.MILLISECOND, 870);
+        testDate = calendar.getTime();
+    }
+
+    private QueryTemplate selectTemplate(ParameterStyle style) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setParameterStyle(style);
+        query.addField("name").addField("family");
+        query.addFrom("employee");
+        query.addWhere();
+        query.isEquals("id", 0).andBetween("birth", testDate, testDate).andLike("family", "", '%', WildcardPosition.AT_END);
+        return query.compileTemplate();
+    }
+
+    @Test
+    public void renderTest() throws SQLCreationException {
+        QueryTemplate template = selectTemplate(ParameterStyle.QUESTION_MARK);
+
+        assertEquals(4, template.getParameterCount());
+        assertEquals(Integer.class, template.getSlotType(0));
+        assertEquals("SELECT name,family FROM employee WHERE id=? AND birth BETWEEN ? AND ? AND family LIKE ?", template.getQueryString());
+        assertEquals("SELECT name,family FROM employee WHERE id=143 AND birth BETWEEN '" + testDateString + "' AND '" + testDateString + "' AND family LIKE 'Petr%'",
+                template.render(143, testDate, testDate, "Petr%"));
+        assertEquals("SELECT name,family FROM employee WHERE id=7 AND birth BETWEEN '" + testDateString + "' AND '" + testDateString + "' AND family LIKE 'Iv%'",
+                template.render(7, testDate, testDate, "Iv%"));
+    }
+
+    @Test
+    public void renderNumberedTest() throws SQLCreationException {
+        QueryTemplate template = selectTemplate(ParameterStyle.NUMBERED);
+
+        assertEquals("SELECT name,family FROM employee WHERE id=$1 AND birth BETWEEN $2 AND $3 AND family LIKE $4", template.getQueryString());
+        assertEquals(selectTemplate(ParameterStyle.QUESTION_MARK).render(1, testDate, testDate, "A%"), template.render(1, testDate, testDate, "A%"));
+    }
+
+    @Test
+    public void writeToTest() throws Exception {
+        QueryTemplate template = selectTemplate(ParameterStyle.QUESTION_MARK);
+        StringBuilder out = new StringBuilder();
+        template.writeTo(out, 143, testDate, testDate, "Petr%");
+
+        assertEquals(template.render(143, testDate, testDate, "Petr%"), out.toString());
+    }
+
+    @Test
+    public void bindTest() throws SQLCreationException {
+        QueryTemplate template = selectTemplate(ParameterStyle.QUESTION_MARK);
+        BuiltQuery query = template.bind(143, testDate, testDate, "Petr%");
+
+        assertSame(template.getQueryString(), query.getQueryString());
+        List<Object> values = new ArrayList<Object>();
+        for (QueryParameter parameter : query.getParameters()) {
+            values.add(parameter.getValue());
+        }
+        assertEquals(Arrays.<Object>asList(143, testDate, testDate, "Petr%"), values);
+    }
+
+    @Test
+    public void updateAndInsertTemplateTest() throws SQLCreationException {
+        UpdateQuery update = new UpdateQuery("employee");
+        update.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        update.addSet("name", "").addSet("age", 0);
+
+        assertEquals("UPDATE employee SET name = 'Anton', age = 45", update.compileTemplate().render("Anton", 45));
+
+        InsertQuery insert = new InsertQuery("employee");
+        insert.setParameterStyle(ParameterStyle.NUMBERED);
+        insert.addInsertableFieldNames(new String[]{"id", "name"});
+        for (int i = 0; i < 12; i++) {
+            insert.addRow(new Object[]{0, ""});
+        }
+        Object[] values = new Object[24];
+        for (int i = 0; i < 12; i++) {
+            values[2 * i] = i;
+            values[2 * i + 1] = "n" + i;
+        }
+        String rendered = insert.compileTemplate().render(values);
+
+        assertTrue(rendered.startsWith("INSERT INTO employee (id,name) VALUES (0,'n0'),(1,'n1'),"));
+        assertTrue(rendered.endsWith(",(10,'n10'),(11,'n11')"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void wrongValueCountTest() throws SQLCreationException {
+        selectTemplate(ParameterStyle.QUESTION_MARK).render(1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void wrongValueTypeTest() throws SQLCreationException {
+        selectTemplate(ParameterStyle.QUESTION_MARK).render("1", testDate, testDate, "A%");
+    }
+
+    @Test
+    public void sharedBetweenThreadsTest() throws Exception {
+        final QueryTemplate template = selectTemplate(ParameterStyle.QUESTION_MARK);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        for (int i = 0; i < 1000; i++) {
+                            String expected = "SELECT name,family FROM employee WHERE id=" + (thread * 1000 + i) + " AND birth BETWEEN '"
+                                    + testDateString + "' AND '" + testDateString + "' AND family LIKE 'P" + thread + "%'";
+                            if (!expected.equals(template.render(thread * 1000 + i, testDate, testDate, "P" + thread + "%"))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
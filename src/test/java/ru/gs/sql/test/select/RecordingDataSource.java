@@ -0,0 +1,29 @@
+package ru.gs.sql.test.select;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+
+/**
+ * DataSource over DriverManager that remembers every connection it opened.
+ */
+final class RecordingDataSource {
+
+    final List<Connection> opened = new CopyOnWriteArrayList<Connection>();
+    final DataSource dataSource;
+
+    RecordingDataSource(final String url) {
+        dataSource = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Connection connection = DriverManager.getConnection(url);
+                    opened.add(connection);
+                    return connection;
+                });
+    }
+}
@@ -0,0 +1,83 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+import ru.gs.sql.BuilderPool;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class ResetTest {
+
+    @After
+    public void tearDown() {
+        BuilderPool.setMaxCapacity(BuilderPool.DEFAULT_MAX_CAPACITY);
+    }
+
+    @Test
+    public void selectResetTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(Dialect.POSTGRESQL);
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addField("name").addFrom("employee").addWhere().isEquals("id", 1).addOrderBy("name").setLimit(10);
+        query.getQueryString();
+
+        query.reset().addField("id").addFrom("department").addWhere().isEquals("name", "Sales");
+
+        assertEquals("SELECT id FROM department WHERE name=?", query.getQueryString());
+        assertEquals(1, query.getParameters().size());
+        assertSame(Dialect.POSTGRESQL, query.getDialect());
+    }
+
+    @Test
+    public void keysetResetTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addFrom("audit").addKeysetPage(new String[]{"id"}, new Object[]{5}, 20);
+
+        query.reset().addField("id").addFrom("audit");
+
+        assertEquals("SELECT id FROM audit", query.getQueryString());
+    }
+
+    @Test
+    public void insertResetTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.addInsertableFieldNames(new String[]{"id"});
+        query.addRow(new Object[]{1}).addRow(new Object[]{2});
+        query.getQueryString();
+
+        query.reset().addTableName("department").addInsertableFieldNames(new String[]{"name"}).addValues(new Object[]{"Sales"});
+
+        assertEquals("INSERT INTO department (name) VALUES ('Sales')", query.getQueryString());
+    }
+
+    @Test
+    public void updateResetTest() {
+        UpdateQuery query = new UpdateQuery("employee").addSet("name", "Ivan");
+        query.getQueryString();
+
+        query.reset().addTableName("department").addSet().addSet("name", "Sales");
+
+        assertEquals("UPDATE department SET name = 'Sales'", query.getQueryString());
+    }
+
+    @Test
+    public void poolingOffTest() throws SQLCreationException {
+        BuilderPool.setMaxCapacity(0);
+        SelectQuery query = new SelectQuery();
+        query.addField("name").addFrom("employee");
+
+        assertEquals("SELECT name FROM employee", query.getQueryString());
+        query.addField("id");
+        assertEquals("SELECT name,id FROM employee", query.getQueryString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeCapacityTest() {
+        BuilderPool.setMaxCapacity(-1);
+    }
+}
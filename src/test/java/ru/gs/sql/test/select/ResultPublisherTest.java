@@ -0,0 +1,156 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+import ru.gs.sql.jdbc.SelectExecutor;
+
+public class ResultPublisherTest {
+
+    private static final String URL = "jdbc:h2:mem:resultPublisher";
+
+    private Connection keepAlive;
+    private RecordingDataSource dataSource;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL);
+        Statement statement = keepAlive.createStatement();
+        statement.execute("CREATE TABLE employee (id INT PRIMARY KEY)");
+        statement.execute("INSERT INTO employee SELECT X FROM SYSTEM_RANGE(1, 100)");
+        statement.close();
+        dataSource = new RecordingDataSource(URL);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        executor.shutdown();
+        keepAlive.close();
+    }
+
+    private Flow.Publisher<Integer> publisher(String table) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addFrom(table).addOrderBy("id");
+        return new SelectExecutor(dataSource.dataSource).publish(query, rs -> rs.getInt(1), executor);
+    }
+
+    /**
+     * Requests rows one batch at a time, only after the previous batch arrived.
+     */
+    private static class BatchSubscriber implements Flow.Subscriber<Integer> {
+
+        final List<Integer> rows = new CopyOnWriteArrayList<Integer>();
+        final CountDownLatch finished = new CountDownLatch(1);
+        final int batch;
+        final int cancelAfter;
+        volatile Throwable error;
+        volatile boolean completed;
+        Flow.Subscription subscription;
+
+        BatchSubscriber(int batch, int cancelAfter) {
+            this.batch = batch;
+            this.cancelAfter = cancelAfter;
+        }
+
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batch);
+        }
+
+        public void onNext(Integer row) {
+            rows.add(row);
+            if (rows.size() == cancelAfter) {
+                subscription.cancel();
+                finished.countDown();
+            } else if (rows.size() % batch == 0) {
+                subscription.request(batch);
+            }
+        }
+
+        public void onError(Throwable throwable) {
+            error = throwable;
+            finished.countDown();
+        }
+
+        public void onComplete() {
+            completed = true;
+            finished.countDown();
+        }
+    }
+
+    @Test
+    public void backpressureTest() throws Exception {
+        BatchSubscriber subscriber = new BatchSubscriber(7, -1);
+        publisher("employee").subscribe(subscriber);
+
+        assertTrue(subscriber.finished.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.completed);
+        assertEquals(100, subscriber.rows.size());
+        assertEquals(Integer.valueOf(100), subscriber.rows.get(99));
+        assertTrue(dataSource.opened.get(0).isClosed());
+    }
+
+    @Test
+    public void noDemandTest() throws Exception {
+        BatchSubscriber subscriber = new BatchSubscriber(5, 5) {
+            @Override
+            public void onNext(Integer row) {
+                rows.add(row);
+            }
+        };
+        publisher("employee").subscribe(subscriber);
+        Thread.sleep(100);
+
+        assertEquals(5, subscriber.rows.size());
+        assertFalse(subscriber.completed);
+        subscriber.subscription.cancel();
+        executor.submit(() -> null).get();
+        assertTrue(dataSource.opened.get(0).isClosed());
+    }
+
+    @Test
+    public void cancelTest() throws Exception {
+        BatchSubscriber subscriber = new BatchSubscriber(10, 15);
+        publisher("employee").subscribe(subscriber);
+
+        assertTrue(subscriber.finished.await(10, TimeUnit.SECONDS));
+        executor.submit(() -> null).get();
+        assertEquals(15, subscriber.rows.size());
+        assertFalse(subscriber.completed);
+        assertTrue(dataSource.opened.get(0).isClosed());
+    }
+
+    @Test
+    public void errorTest() throws Exception {
+        BatchSubscriber subscriber = new BatchSubscriber(10, -1);
+        publisher("missing_table").subscribe(subscriber);
+
+        assertTrue(subscriber.finished.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.error instanceof SQLException);
+    }
+
+    @Test
+    public void badRequestTest() throws Exception {
+        BatchSubscriber subscriber = new BatchSubscriber(0, -1);
+        publisher("employee").subscribe(subscriber);
+
+        assertTrue(subscriber.finished.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+import ru.gs.sql.exceptions.UncheckedSQLException;
+import ru.gs.sql.jdbc.ResultCursor;
+import ru.gs.sql.jdbc.RowMapper;
+import ru.gs.sql.jdbc.SelectExecutor;
+
+public class SelectExecutorTest {
+
+    private static final String URL = "jdbc:h2:mem:selectExecutor";
+
+    private List<Connection> opened;
+    private Connection keepAlive;
+    private DataSource dataSource;
+
+    @Before
+    public void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL);
+        Statement statement = keepAlive.createStatement();
+        statement.execute("CREATE TABLE employee (id INT PRIMARY KEY, name VARCHAR(50))");
+        statement.execute("INSERT INTO employee SELECT X, 'Employee ' || X FROM SYSTEM_RANGE(1, 5000)");
+        statement.close();
+        RecordingDataSource recording = new RecordingDataSource(URL);
+        opened = recording.opened;
+        dataSource = recording.dataSource;
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    private SelectQuery employeeQuery() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+        query.addField("id").addField("name").addFrom("employee").addWhere().between("id", 1, 1000000);
+        query.addOrderBy("id");
+        return query;
+    }
+
+    @Test
+    public void streamAllRowsTest() throws SQLException, SQLCreationException {
+        SelectExecutor executor = new SelectExecutor(dataSource).setFetchSize(100);
+        Stream<Integer> ids = executor.stream(employeeQuery(), rs -> rs.getInt(1));
+
+        assertEquals(5000, ids.mapToLong(Integer::longValue).count());
+        assertEquals(1, opened.size());
+        assertTrue(opened.get(0).isClosed());
+    }
+
+    @Test
+    public void earlyCloseTest() throws SQLException, SQLCreationException {
+        List<String> names;
+        try (Stream<String> stream = new SelectExecutor(dataSource).stream(employeeQuery(), rs -> rs.getString("name"))) {
+            names = stream.limit(3).collect(Collectors.toList());
+            assertFalse(opened.get(0).isClosed());
+        }
+
+        assertEquals("[Employee 1, Employee 2, Employee 3]", names.toString());
+        assertTrue(opened.get(0).isClosed());
+    }
+
+    @Test
+    public void cursorTest() throws SQLException, SQLCreationException {
+        ResultCursor<Integer> cursor = new SelectExecutor(dataSource).iterator(employeeQuery(), rs -> rs.getInt(1));
+        int count = 0;
+        while (cursor.hasNext()) {
+            cursor.next();
+            count++;
+        }
+
+        assertEquals(5000, count);
+        assertTrue(cursor.isClosed());
+        assertTrue(opened.get(0).isClosed());
+    }
+
+    @Test
+    public void mapperFailureClosesTest() throws SQLException, SQLCreationException {
+        RowMapper<Object> mapper = rs -> rs.getObject("missing");
+        try {
+            new SelectExecutor(dataSource).stream(employeeQuery(), mapper).findFirst();
+            fail();
+        } catch (UncheckedSQLException e) {
+            assertTrue(opened.get(0).isClosed());
+        }
+    }
+
+    @Test(expected = SQLException.class)
+    public void wrongQueryTest() throws SQLException, SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addFrom("missing_table");
+        try {
+            new SelectExecutor(dataSource).stream(query, rs -> rs.getInt(1));
+        } finally {
+            assertTrue(opened.get(0).isClosed());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ru.gs.sql.test.select;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.StatementWriter;
+import ru.gs.sql.UpdateQuery;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class StatementWriterTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private SelectQuery selectQuery() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("name").addField("family");
+        query.addFrom("employee");
+        query.addWhere();
+        query.isEquals("id", 143);
+        return query;
+    }
+
+    private InsertQuery insertQuery(int rowCount) throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        for (int i = 1; i <= rowCount; i++) {
+            query.addRow(new Object[]{i, "Иван"});
+        }
+        return query;
+    }
+
+    @Test
+    public void writeToAppendableTest() throws SQLCreationException, IOException {
+        StringBuilder out = new StringBuilder();
+        selectQuery().writeTo(out);
+
+        assertEquals("SELECT name,family FROM employee WHERE id=143", out.toString());
+    }
+
+    @Test
+    public void writeToWithoutStringTest() throws SQLCreationException, IOException {
+        final StringBuilder out = new StringBuilder();
+        Appendable noStrings = new Appendable() {
+            public Appendable append(CharSequence csq) {
+                assertFalse(csq instanceof String);
+                out.append(csq);
+                return this;
+            }
+
+            public Appendable append(CharSequence csq, int start, int end) {
+                return append(csq.subSequence(start, end));
+            }
+
+            public Appendable append(char c) {
+                out.append(c);
+                return this;
+            }
+        };
+        SelectQuery query = selectQuery();
+        query.writeTo(noStrings);
+
+        assertEquals(query.getQueryString(), out.toString());
+    }
+
+    @Test
+    public void writeStatementsToWriterTest() throws SQLCreationException, IOException {
+        StringWriter out = new StringWriter();
+        StatementWriter writer = new StatementWriter(out);
+        writer.writeStatement(selectQuery());
+        writer.writeStatement(new UpdateQuery("employee").addSet("age", 45));
+        writer.close();
+
+        assertEquals("SELECT name,family FROM employee WHERE id=143;\nUPDATE employee SET age = 45;\n", out.toString());
+    }
+
+    @Test
+    public void writeChunkedInsertToChannelTest() throws SQLCreationException, IOException {
+        InsertQuery query = insertQuery(1000);
+        query.setMaxRowsPerStatement(300);
+        StringBuilder expected = new StringBuilder();
+        for (String statement : query.getQueryStrings()) {
+            expected.append(statement).append(";\n");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // A small buffer makes multi-byte characters cross buffer boundaries.
+        StatementWriter writer = new StatementWriter(Channels.newChannel(out), UTF_8, 17);
+        query.writeStatementsTo(writer);
+        writer.close();
+
+        assertEquals(expected.toString(), new String(out.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void writeInsertRowsInConstantMemoryTest() throws SQLCreationException, IOException {
+        InsertQuery query = insertQuery(0);
+        StringWriter out = new StringWriter();
+        StatementWriter writer = new StatementWriter(out);
+        writer.setStatementTerminator(";");
+        for (int i = 1; i <= 5; i++) {
+            query.addRow(new Object[]{i, "Ivan"});
+            if (query.getRowCount() == 2) {
+                query.writeStatementsTo(writer);
+                query.clearRows();
+            }
+        }
+        query.writeStatementsTo(writer);
+        query.clearRows();
+        query.writeStatementsTo(writer);
+        writer.flush();
+
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Ivan');"
+                + "INSERT INTO employee (id,name) VALUES (3,'Ivan'),(4,'Ivan');"
+                + "INSERT INTO employee (id,name) VALUES (5,'Ivan');", out.toString());
+    }
+
+    @Test
+    public void insertWriteToMatchesQueryStringTest() throws SQLCreationException, IOException {
+        InsertQuery query = insertQuery(3);
+        StringBuilder out = new StringBuilder();
+        query.writeTo(out);
+
+        assertEquals(query.getQueryString(), out.toString());
+    }
+}
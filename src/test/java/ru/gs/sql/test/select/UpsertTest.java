@@ -0,0 +1,128 @@
+package ru.gs.sql.test.select;
+
+import static org.junit.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import org.junit.Test;
+import ru.gs.sql.BuiltQuery;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterBinder;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class UpsertTest {
+
+    private InsertQuery employeeUpsert(Dialect dialect) throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.setDialect(dialect);
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        query.addRow(new Object[]{1, "Ivan"}).addRow(new Object[]{2, "Anton"});
+        query.onConflict("id").addConflictUpdate("name");
+        return query;
+    }
+
+    @Test
+    public void onConflictTest() throws SQLCreationException {
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Anton') ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name",
+                employeeUpsert(Dialect.POSTGRESQL).getQueryString());
+    }
+
+    @Test
+    public void onConflictDoNothingTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.setDialect(Dialect.POSTGRESQL);
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        query.addValues(new Object[]{1, "Ivan"});
+        query.onConflictDoNothing();
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan') ON CONFLICT DO NOTHING", query.getQueryString());
+    }
+
+    @Test
+    public void onDuplicateKeyTest() throws SQLCreationException {
+        InsertQuery query = employeeUpsert(Dialect.MYSQL);
+        query.addConflictSet("version", 2);
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Anton') ON DUPLICATE KEY UPDATE name = VALUES(name), version = 2",
+                query.getQueryString());
+        query.onConflictDoNothing();
+        assertEquals("INSERT INTO employee (id,name) VALUES (1,'Ivan'),(2,'Anton') ON DUPLICATE KEY UPDATE id = id",
+                query.getQueryString());
+    }
+
+    @Test
+    public void mergeTest() throws SQLCreationException {
+        assertEquals("MERGE INTO employee dst USING (VALUES (1,'Ivan'),(2,'Anton')) src (id,name) ON (dst.id = src.id)"
+                + " WHEN MATCHED THEN UPDATE SET name = src.name WHEN NOT MATCHED THEN INSERT (id,name) VALUES (src.id,src.name)",
+                employeeUpsert(Dialect.ANSI).getQueryString());
+        assertEquals("MERGE INTO employee dst USING (VALUES (1,'Ivan'),(2,'Anton')) src (id,name) ON (dst.id = src.id)"
+                + " WHEN MATCHED THEN UPDATE SET name = src.name WHEN NOT MATCHED THEN INSERT (id,name) VALUES (src.id,src.name);",
+                employeeUpsert(Dialect.SQL_SERVER).getQueryString());
+        assertEquals("MERGE INTO employee dst USING (SELECT 1 id,'Ivan' name FROM dual UNION ALL SELECT 2,'Anton' FROM dual) src ON (dst.id = src.id)"
+                + " WHEN MATCHED THEN UPDATE SET name = src.name WHEN NOT MATCHED THEN INSERT (id,name) VALUES (src.id,src.name)",
+                employeeUpsert(Dialect.ORACLE).getQueryString());
+    }
+
+    @Test
+    public void splitStatementsTest() throws SQLCreationException {
+        InsertQuery query = employeeUpsert(Dialect.POSTGRESQL);
+        query.setParameterStyle(ParameterStyle.NUMBERED);
+        query.addConflictSet("version", 2);
+        query.setMaxRowsPerStatement(1);
+        Iterator<BuiltQuery> statements = query.getQueries().iterator();
+        BuiltQuery first = statements.next();
+        assertEquals("INSERT INTO employee (id,name) VALUES ($1,$2) ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, version = $3",
+                first.getQueryString());
+        assertEquals(3, first.getParameters().size());
+        assertEquals(Integer.valueOf(2), first.getParameters().get(2).getValue());
+        assertTrue(statements.hasNext());
+        statements.next();
+        assertFalse(statements.hasNext());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void mergeWithoutKeysTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("employee");
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        query.addRow(new Object[]{1, "Ivan"});
+        query.onConflictDoNothing();
+        query.getQueryString();
+    }
+
+    @Test(expected = SQLCreationException.class)
+    public void emptyConflictFieldsTest() throws SQLCreationException {
+        new InsertQuery("employee").onConflict();
+    }
+
+    @Test
+    public void h2MergeTest() throws SQLException, SQLCreationException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE employee (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("INSERT INTO employee VALUES (1, 'Petr')");
+
+            InsertQuery query = employeeUpsert(Dialect.H2);
+            query.setParameterStyle(ParameterStyle.QUESTION_MARK);
+            BuiltQuery built = query.build();
+            PreparedStatement merge = connection.prepareStatement(built.getQueryString());
+            ParameterBinder.bind(merge, built.getParameters());
+            merge.executeUpdate();
+            merge.close();
+
+            ResultSet resultSet = statement.executeQuery("SELECT id, name FROM employee ORDER BY id");
+            assertTrue(resultSet.next());
+            assertEquals("Ivan", resultSet.getString(2));
+            assertTrue(resultSet.next());
+            assertEquals("Anton", resultSet.getString(2));
+            assertFalse(resultSet.next());
+            statement.close();
+        } finally {
+            connection.close();
+        }
+    }
+}
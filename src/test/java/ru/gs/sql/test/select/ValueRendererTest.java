@@ -0,0 +1,195 @@
+package ru.gs.sql.test.select;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import ru.gs.sql.InsertQuery;
+import ru.gs.sql.ParameterBinder;
+import ru.gs.sql.ParameterStyle;
+import ru.gs.sql.QueryParameter;
+import ru.gs.sql.SelectQuery;
+import ru.gs.sql.SortOrder;
+import ru.gs.sql.ValueRenderer;
+import ru.gs.sql.ValueRenderers;
+import ru.gs.sql.dialect.Dialect;
+import ru.gs.sql.exceptions.SQLCreationException;
+
+public class ValueRendererTest {
+
+    private String equalsQuery(Dialect dialect, Object value) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setDialect(dialect);
+        query.addField("id").addFrom("item").addWhere().isEquals("value", value);
+        return query.getQueryString();
+    }
+
+    @Test
+    public void numberTest() throws SQLCreationException {
+        assertEquals("SELECT id FROM item WHERE value=12.50", equalsQuery(Dialect.ANSI, new BigDecimal("12.50")));
+        assertEquals("SELECT id FROM item WHERE value=10000000000", equalsQuery(Dialect.ANSI, new BigDecimal("1E+10")));
+        assertEquals("SELECT id FROM item WHERE value=0.5", equalsQuery(Dialect.ANSI, 0.5d));
+        assertEquals("SELECT id FROM item WHERE value=7", equalsQuery(Dialect.ANSI, (short) 7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nanTest() throws SQLCreationException {
+        equalsQuery(Dialect.ANSI, Double.NaN);
+    }
+
+    @Test
+    public void booleanTest() throws SQLCreationException {
+        assertEquals("SELECT id FROM item WHERE value=TRUE", equalsQuery(Dialect.POSTGRESQL, Boolean.TRUE));
+        assertEquals("SELECT id FROM item WHERE value=0", equalsQuery(Dialect.ORACLE, Boolean.FALSE));
+        assertEquals("SELECT id FROM item WHERE value=1", equalsQuery(Dialect.SQL_SERVER, Boolean.TRUE));
+    }
+
+    @Test
+    public void binaryTest() throws SQLCreationException {
+        byte[] bytes = new byte[]{0x0A, (byte) 0xFF};
+        assertEquals("SELECT id FROM item WHERE value=X'0AFF'", equalsQuery(Dialect.ANSI, bytes));
+        assertEquals("SELECT id FROM item WHERE value=X'0AFF'", equalsQuery(Dialect.H2, bytes));
+        assertEquals("SELECT id FROM item WHERE value='\\x0AFF'::bytea", equalsQuery(Dialect.POSTGRESQL, bytes));
+        assertEquals("SELECT id FROM item WHERE value=HEXTORAW('0AFF')", equalsQuery(Dialect.ORACLE, bytes));
+        assertEquals("SELECT id FROM item WHERE value=0x0AFF", equalsQuery(Dialect.SQL_SERVER, bytes));
+    }
+
+    @Test
+    public void textTest() throws SQLCreationException {
+        UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+        assertEquals("SELECT id FROM item WHERE value='123e4567-e89b-12d3-a456-426614174000'", equalsQuery(Dialect.ANSI, uuid));
+        assertEquals("SELECT id FROM item WHERE value='it''s'", equalsQuery(Dialect.ANSI, new StringBuilder("it's")));
+        assertEquals("SELECT id FROM item WHERE value='DESC'", equalsQuery(Dialect.ANSI, SortOrder.DESC));
+    }
+
+    @Test
+    public void betweenStringsTest() throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.addField("id").addFrom("item").addWhere().between("name", "A", "M");
+        assertEquals("SELECT id FROM item WHERE name BETWEEN 'A' AND 'M'", query.getQueryString());
+    }
+
+    @Test
+    public void nullValueTest() throws SQLCreationException {
+        InsertQuery query = new InsertQuery("item");
+        query.addInsertableFieldNames(new String[]{"id", "name"});
+        query.addRow(new Object[]{1, null});
+        assertEquals("INSERT INTO item (id,name) VALUES (1,NULL)", query.getQueryString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedTypeTest() throws SQLCreationException {
+        equalsQuery(Dialect.ANSI, new Object());
+    }
+
+    @Test
+    public void registerTest() throws SQLCreationException {
+        assertFalse(ValueRenderers.isSupported(Point.class));
+        ValueRenderers.register(Point.class, new ValueRenderer<Point>() {
+            public void appendLiteral(StringBuilder builder, Point value, Dialect dialect) {
+                builder.append("POINT(").append(value.x).append(' ').append(value.y).append(')');
+            }
+
+            public int getSqlType() {
+                return Types.VARCHAR;
+            }
+        });
+        assertTrue(ValueRenderers.isSupported(Point.class));
+        assertEquals("SELECT id FROM item WHERE value=POINT(1 2)", equalsQuery(Dialect.ANSI, new Point(1, 2)));
+        assertEquals(Types.VARCHAR, QueryParameter.of(new Point(1, 2)).getSqlType());
+    }
+
+    @Test
+    public void parameterTypeTest() {
+        assertEquals(Types.DECIMAL, QueryParameter.of(BigDecimal.ONE).getSqlType());
+        assertEquals(Types.BOOLEAN, QueryParameter.of(Boolean.TRUE).getSqlType());
+        assertEquals(Types.VARBINARY, QueryParameter.of(new byte[0]).getSqlType());
+        assertEquals(Types.ARRAY, QueryParameter.of(new String[0]).getSqlType());
+        assertEquals(Types.OTHER, QueryParameter.of(new Object()).getSqlType());
+    }
+
+    @Test
+    public void enumParameterTest() throws SQLException, SQLCreationException {
+        assertEquals(Types.VARCHAR, QueryParameter.of(Dept.SALES).getSqlType());
+        assertEquals("SELECT name FROM employee WHERE dept='SALES'", deptQuery(ParameterStyle.INLINE, Dept.SALES).getQueryString());
+        assertEquals("Ivan", selectFromEmployees(deptQuery(ParameterStyle.QUESTION_MARK, Dept.SALES)));
+    }
+
+    @Test
+    public void jdbcValueTest() throws SQLException, SQLCreationException {
+        ValueRenderers.register(Code.class, new ValueRenderer<Code>() {
+            public void appendLiteral(StringBuilder builder, Code value, Dialect dialect) {
+                dialect.appendStringLiteral(builder, value.text);
+            }
+
+            public int getSqlType() {
+                return Types.VARCHAR;
+            }
+
+            public Object toJdbcValue(Code value) {
+                return value.text;
+            }
+        });
+        assertEquals("Ivan", selectFromEmployees(deptQuery(ParameterStyle.QUESTION_MARK, new Code("SALES"))));
+    }
+
+    private SelectQuery deptQuery(ParameterStyle style, Object dept) throws SQLCreationException {
+        SelectQuery query = new SelectQuery();
+        query.setParameterStyle(style);
+        query.addField("name").addFrom("employee").addWhere().isEquals("dept", dept);
+        return query;
+    }
+
+    private String selectFromEmployees(SelectQuery query) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            connection.createStatement().execute("CREATE TABLE employee (name VARCHAR(20), dept VARCHAR(10))");
+            connection.createStatement().execute("INSERT INTO employee VALUES ('Ivan', 'SALES'), ('Anton', 'IT')");
+            PreparedStatement statement = connection.prepareStatement(query.getQueryString());
+            ParameterBinder.bind(statement, query);
+            ResultSet rs = statement.executeQuery();
+            assertTrue(rs.next());
+            String name = rs.getString(1);
+            assertFalse(rs.next());
+            return name;
+        } finally {
+            connection.close();
+        }
+    }
+
+    private enum Dept {
+        SALES {
+            @Override
+            public String toString() {
+                return "Sales department";
+            }
+        },
+        IT
+    }
+
+    private static final class Code {
+
+        final String text;
+
+        Code(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Point {
+
+        final int x;
+        final int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
@@ -317,4 +317,33 @@ public class WhereTest {
 
         assertEquals("SELECT name,family,sex FROM employee WHERE name LIKE 'Petrov%'", query.getQueryString());
     }
+
+    @Test
+    public void firstOperatorIsIgnoredTest() throws SQLCreationException {
+        initQuery();
+
+        query.orIsEquals("name", "Petrov").andIsEquals("family", "Ivanov");
+
+        assertEquals("SELECT name,family,sex FROM employee WHERE name='Petrov' AND family='Ivanov'", query.getQueryString());
+    }
+
+    @Test
+    public void readAndContinueTest() throws SQLCreationException {
+        initQuery();
+        query.isEquals("name", "Petrov,");
+        assertEquals("SELECT name,family,sex FROM employee WHERE name='Petrov,'", query.getQueryString());
+
+        query.andIsEquals("family", "Ivanov");
+
+        assertEquals("SELECT name,family,sex FROM employee WHERE name='Petrov,' AND family='Ivanov'", query.getQueryString());
+    }
+
+    @Test
+    public void clauseOrderTest() throws SQLCreationException {
+        query = new SelectQuery();
+        query.addField("name").addWhere().isEquals("id", 1);
+        query.addFrom("employee").addField("family");
+
+        assertEquals("SELECT name,family FROM employee WHERE id=1", query.getQueryString());
+    }
 }